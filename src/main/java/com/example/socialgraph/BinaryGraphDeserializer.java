@@ -0,0 +1,92 @@
+package com.example.socialgraph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+
+/**
+ * Класс для десериализации графов из двоичного формата {@code .sgb}.
+ * Структура формата описана в {@link BinaryGraphSerializer}.
+ */
+public class BinaryGraphDeserializer {
+
+    /**
+     * Больше этого количества узлов память заранее не выделяется: количество берется из файла,
+     * и поврежденный заголовок не должен приводить к огромному выделению.
+     */
+    private static final int MAX_PRESIZED_NODES = 1 << 22;
+
+    /**
+     * Десериализует граф из двоичного формата. Поток не закрывается.
+     *
+     * @param in входной поток (не может быть null)
+     * @return граф SocialGraph<Node>
+     * @throws IOException если произошла ошибка чтения или данные повреждены
+     * @throws IllegalArgumentException если поток равен null
+     */
+    public static SocialGraph<Node> deserialize(InputStream in) throws IOException {
+        return read(in).build();
+    }
+
+    /**
+     * Десериализует граф из двоичного формата сразу в компактный неизменяемый снимок.
+     * Поток не закрывается.
+     *
+     * @param in входной поток (не может быть null)
+     * @return граф CsrGraph<Node>
+     * @throws IOException если произошла ошибка чтения или данные повреждены
+     * @throws IllegalArgumentException если поток равен null
+     */
+    public static CsrGraph<Node> deserializeCsr(InputStream in) throws IOException {
+        return read(in).buildCsr();
+    }
+
+    private static GraphBuilder<Node> read(InputStream in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Поток не может быть null");
+        }
+
+        VarintReader reader = new VarintReader(in);
+        int n = readHeader(reader);
+
+        GraphBuilder<Node> builder = new GraphBuilder<Node>().expectedNodes(Math.min(n, MAX_PRESIZED_NODES));
+        for (int v = 0; v < n; v++) {
+            if (builder.addNode(readNode(reader)) != v) {
+                throw new StreamCorruptedException("Повторяющийся идентификатор узла");
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            int count = reader.readInt();
+            if (count > n - 1 - v) {
+                throw new StreamCorruptedException("Слишком много соседей у узла " + v + ": " + count);
+            }
+            int neighbor = v;
+            for (int i = 0; i < count; i++) {
+                // Соседи строго возрастают: разность положительна, и следующий индекс меньше n
+                long delta = reader.readVarint();
+                if (delta <= 0 || delta >= n - neighbor) {
+                    throw new StreamCorruptedException("Индекс соседа вне диапазона: " + neighbor + " + " + Long.toUnsignedString(delta));
+                }
+                neighbor += (int) delta;
+                builder.addEdgeByIndex(v, neighbor);
+            }
+        }
+        return builder;
+    }
+
+    static int readHeader(VarintReader reader) throws IOException {
+        byte[] magic = new byte[BinaryGraphSerializer.MAGIC.length];
+        reader.readRaw(magic);
+        if (!Arrays.equals(magic, BinaryGraphSerializer.MAGIC)) {
+            throw new StreamCorruptedException("Неверный формат: ожидался заголовок SGB");
+        }
+        return reader.readInt();
+    }
+
+    static Node readNode(VarintReader reader) throws IOException {
+        String id = reader.readString();
+        String name = reader.readString();
+        return new Node(id, name);
+    }
+}
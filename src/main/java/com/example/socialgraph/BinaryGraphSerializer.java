@@ -0,0 +1,82 @@
+package com.example.socialgraph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Класс для сериализации графов в компактный двоичный формат {@code .sgb}.
+ *
+ * @description Структура файла:
+ * 1. Заголовок: байты 'S', 'G', 'B' и номер версии формата
+ * 2. Количество узлов (varint)
+ * 3. Словарь узлов в порядке индексов: id и name (длина varint + байты UTF-8)
+ * 4. Для каждого узла i по порядку: количество соседей j > i (varint), затем
+ *    разности j - i для первого соседа и j - j_prev для остальных (varint).
+ *    Каждое неориентированное ребро хранится один раз, соседи отсортированы.
+ *
+ * Числа записываются в формате unsigned LEB128: по 7 бит на байт, поэтому
+ * небольшие разности между соседними индексами занимают один байт.
+ */
+public class BinaryGraphSerializer {
+
+    static final byte[] MAGIC = {'S', 'G', 'B', 1};
+
+    /**
+     * Сериализует граф в двоичный формат. Поток не закрывается, но данные сбрасываются в него.
+     *
+     * @param graph граф для сериализации (не может быть null)
+     * @param out выходной поток (не может быть null)
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если граф или поток равны null
+     */
+    public static void serialize(Graph<Node> graph, OutputStream out) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("Поток не может быть null");
+        }
+
+        CsrGraph<Node> csr = CsrGraph.of(graph);
+        int n = csr.nodeCount();
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+
+        VarintWriter writer = new VarintWriter(out);
+        writeHeader(writer, n);
+        for (int v = 0; v < n; v++) {
+            writeNode(writer, csr.nodeAt(v));
+        }
+        for (int v = 0; v < n; v++) {
+            // Соседи отсортированы: пропускаем те, что меньше v, — они записаны у них самих
+            int from = offsets[v];
+            int to = offsets[v + 1];
+            while (from < to && targets[from] < v) from++;
+            writeAdjacency(writer, v, targets, from, to);
+        }
+        writer.flush();
+    }
+
+    static void writeHeader(VarintWriter writer, int nodeCount) throws IOException {
+        writer.writeRaw(MAGIC);
+        writer.writeVarint(nodeCount);
+    }
+
+    static void writeNode(VarintWriter writer, Node node) throws IOException {
+        writer.writeString(node.getId());
+        writer.writeString(node.getName());
+    }
+
+    /**
+     * Записывает отсортированный по возрастанию список соседей {@code neighbors[from, to)},
+     * каждый из которых больше {@code node}.
+     */
+    static void writeAdjacency(VarintWriter writer, int node, int[] neighbors, int from, int to) throws IOException {
+        writer.writeVarint(to - from);
+        int previous = node;
+        for (int i = from; i < to; i++) {
+            writer.writeVarint(neighbors[i] - previous);
+            previous = neighbors[i];
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.socialgraph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Потокобезопасная реализация неориентированного социального графа.
+ * Узлы хранятся в {@link ConcurrentHashMap}, а списки смежности защищены набором
+ * блокировок-полос (lock striping): каждый узел относится к одной полосе по своему хеш-коду.
+ *
+ * <p>{@link #addEdge} захватывает блокировки полос обоих концов ребра в фиксированном порядке,
+ * поэтому обе стороны неориентированного ребра появляются атомарно: читатель, вызвавший
+ * {@link #getConnections} или {@link #hasEdge}, никогда не увидит ребро, добавленное только в одну сторону.
+ * Записи в разные полосы выполняются параллельно.</p>
+ *
+ * @param <T> тип элементов в графе (должен быть неизменяемым и правильно реализовывать equals и hashCode)
+ */
+public class ConcurrentSocialGraph<T> implements Graph<T> {
+
+    private final ConcurrentHashMap<T, Set<T>> adjacencyList;
+    private final ReadWriteLock[] stripes;
+    private final int stripeMask;
+
+    /**
+     * Создает пустой граф с количеством полос, пропорциональным числу процессоров.
+     */
+    public ConcurrentSocialGraph() {
+        this(16, Runtime.getRuntime().availableProcessors() * 8);
+    }
+
+    /**
+     * Создает пустой граф.
+     *
+     * @param expectedNodes ожидаемое количество узлов
+     * @param stripeCount желаемое количество полос блокировок (округляется вверх до степени двойки)
+     * @throws IllegalArgumentException если expectedNodes отрицательно или stripeCount не положительно
+     */
+    public ConcurrentSocialGraph(int expectedNodes, int stripeCount) {
+        if (expectedNodes < 0 || stripeCount <= 0) {
+            throw new IllegalArgumentException("Invalid parameters");
+        }
+        int size = Integer.highestOneBit(Math.min(stripeCount, 1 << 16) - 1) << 1;
+        if (size == 0) size = 1;
+        adjacencyList = new ConcurrentHashMap<>(CsrGraph.capacityFor(expectedNodes));
+        stripes = new ReadWriteLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+        stripeMask = size - 1;
+    }
+
+    /**
+     * Добавляет узел в граф. Безопасно вызывать из нескольких потоков. Повторное добавление
+     * существующего узла (например, концов каждого ребра при загрузке файла) обходится
+     * одним поиском в таблице без выделения памяти.
+     *
+     * @param node узел для добавления
+     * @return true если узел был добавлен, false если узел уже существует или равен null
+     */
+    @Override
+    public boolean addNode(T node) {
+        if (node == null || adjacencyList.containsKey(node)) return false;
+        return adjacencyList.putIfAbsent(node, new HashSet<>()) == null;
+    }
+
+    /**
+     * Добавляет ребро между двумя узлами в графе (неориентированное ребро).
+     * Обе стороны ребра добавляются под блокировками полос обоих узлов.
+     *
+     * @param from начальный узел
+     * @param to конечный узел
+     * @return true если ребро было добавлено, false если:
+     *         - любой из узлов равен null
+     *         - любой из узлов отсутствует в графе
+     *         - узлы совпадают (петли не допускаются)
+     *         - ребро уже существует
+     */
+    @Override
+    public boolean addEdge(T from, T to) {
+        if (from == null || to == null) return false;
+        Set<T> fromSet = adjacencyList.get(from);
+        Set<T> toSet = adjacencyList.get(to);
+        if (fromSet == null || toSet == null) return false;
+        if (from.equals(to)) return false;
+
+        int first = stripeOf(from);
+        int second = stripeOf(to);
+        if (first > second) {
+            int tmp = first;
+            first = second;
+            second = tmp;
+        }
+
+        stripes[first].writeLock().lock();
+        if (second != first) stripes[second].writeLock().lock();
+        try {
+            if (!fromSet.add(to)) return false;
+            toSet.add(from);
+            return true;
+        } finally {
+            if (second != first) stripes[second].writeLock().unlock();
+            stripes[first].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает снимок множества узлов, связанных с заданным узлом.
+     *
+     * <p>Каждый вызов копирует список смежности под блокировкой чтения: это O(степени узла)
+     * по времени и памяти, зато снимок согласован и не меняется при параллельной записи.
+     * Для проверки одного ребра используйте {@link #hasEdge}, который ничего не копирует,
+     * а при многократном обходе соседей одного узла сохраняйте полученный снимок.</p>
+     *
+     * @param node узел, для которого запрашиваются связи
+     * @return неизменяемая копия множества связанных узлов, или пустое множество если
+     *         узел равен null или отсутствует в графе
+     */
+    @Override
+    public Set<T> getConnections(T node) {
+        if (node == null) return Collections.emptySet();
+        Set<T> neighbors = adjacencyList.get(node);
+        if (neighbors == null) return Collections.emptySet();
+
+        ReadWriteLock lock = stripes[stripeOf(node)];
+        lock.readLock().lock();
+        try {
+            return Set.copyOf(neighbors);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Проверяет наличие ребра между двумя узлами.
+     *
+     * @param from начальный узел
+     * @param to конечный узел
+     * @return true если ребро существует, false если:
+     *         - любой из узлов равен null
+     *         - начальный узел отсутствует в графе
+     */
+    @Override
+    public boolean hasEdge(T from, T to) {
+        if (from == null || to == null) return false;
+        Set<T> neighbors = adjacencyList.get(from);
+        if (neighbors == null) return false;
+
+        ReadWriteLock lock = stripes[stripeOf(from)];
+        lock.readLock().lock();
+        try {
+            return neighbors.contains(to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает все узлы графа. Представление слабо согласовано:
+     * узлы, добавленные во время обхода, могут как попасть в него, так и нет.
+     *
+     * @return неизменяемое множество всех узлов графа
+     */
+    @Override
+    public Set<T> getAllNodes() {
+        return Collections.unmodifiableSet(adjacencyList.keySet());
+    }
+
+    private int stripeOf(T node) {
+        int h = node.hashCode();
+        return (h ^ (h >>> 16)) & stripeMask;
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.socialgraph;
+
+import java.util.*;
+
+/**
+ * Неизменяемый снимок неориентированного графа в формате CSR (compressed sparse row).
+ * Узлы получают плотные целочисленные индексы, а списки смежности хранятся в двух массивах:
+ * {@code offsets} (начало списка соседей каждого узла) и {@code targets} (индексы соседей).
+ * Соседи каждого узла отсортированы по возрастанию индекса, поэтому проверка ребра
+ * выполняется бинарным поиском.
+ *
+ * <p>Предназначен для аналитических задач, где граф только читается: занимает в разы меньше памяти,
+ * чем {@link SocialGraph}, и обходится без разыменования указателей.</p>
+ *
+ * @param <T> тип элементов графа (должен корректно реализовывать equals() и hashCode())
+ */
+public final class CsrGraph<T> implements Graph<T> {
+
+    private final Object[] nodes;
+    private final Map<T, Integer> indexByNode;
+    private final int[] offsets;
+    private final int[] targets;
+
+    /**
+     * Создает снимок из уже подготовленных массивов. Массивы не копируются.
+     *
+     * @param nodes узлы в порядке их индексов
+     * @param indexByNode отображение узла в его индекс
+     * @param offsets массив длины {@code nodes.length + 1}
+     * @param targets отсортированные по возрастанию списки соседей
+     */
+    CsrGraph(Object[] nodes, Map<T, Integer> indexByNode, int[] offsets, int[] targets) {
+        this.nodes = nodes;
+        this.indexByNode = indexByNode;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Строит CSR-снимок произвольного графа.
+     *
+     * @param <T> тип узлов графа
+     * @param graph исходный граф (не может быть null)
+     * @return неизменяемый снимок графа
+     * @throws IllegalArgumentException если граф равен null
+     */
+    public static <T> CsrGraph<T> of(Graph<T> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (graph instanceof CsrGraph<T> csr) {
+            return csr;
+        }
+
+        Set<T> all = graph.getAllNodes();
+        int n = all.size();
+        Object[] nodes = new Object[n];
+        Map<T, Integer> indexByNode = new HashMap<>(capacityFor(n));
+        int i = 0;
+        for (T node : all) {
+            nodes[i] = node;
+            indexByNode.put(node, i);
+            i++;
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            @SuppressWarnings("unchecked")
+            T node = (T) nodes[v];
+            offsets[v + 1] = offsets[v] + graph.getConnections(node).size();
+        }
+
+        int[] targets = new int[offsets[n]];
+        for (int v = 0; v < n; v++) {
+            @SuppressWarnings("unchecked")
+            T node = (T) nodes[v];
+            int pos = offsets[v];
+            for (T neighbor : graph.getConnections(node)) {
+                targets[pos++] = indexByNode.get(neighbor);
+            }
+            Arrays.sort(targets, offsets[v], pos);
+        }
+
+        return new CsrGraph<>(nodes, indexByNode, offsets, targets);
+    }
+
+    /**
+     * Возвращает начальную емкость HashMap, при которой {@code expected} элементов
+     * помещаются без перехеширования.
+     */
+    static int capacityFor(int expected) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(expected / 0.75));
+    }
+
+    /**
+     * Снимок неизменяем, поэтому добавление узлов не поддерживается.
+     *
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public boolean addNode(T node) {
+        throw new UnsupportedOperationException("CsrGraph неизменяем");
+    }
+
+    /**
+     * Снимок неизменяем, поэтому добавление ребер не поддерживается.
+     *
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public boolean addEdge(T from, T to) {
+        throw new UnsupportedOperationException("CsrGraph неизменяем");
+    }
+
+    /**
+     * Возвращает множество узлов, связанных с заданным узлом.
+     *
+     * @param node узел, для которого запрашиваются связи
+     * @return неизменяемое представление соседей, или пустое множество если
+     *         узел равен null или отсутствует в графе
+     */
+    @Override
+    public Set<T> getConnections(T node) {
+        int v = indexOf(node);
+        if (v < 0) {
+            return Collections.emptySet();
+        }
+        return new NeighborSet(v);
+    }
+
+    /**
+     * Проверяет наличие ребра бинарным поиском по отсортированному списку соседей.
+     *
+     * @param from начальный узел
+     * @param to конечный узел
+     * @return true если ребро существует, false если его нет или любой из узлов отсутствует
+     */
+    @Override
+    public boolean hasEdge(T from, T to) {
+        int u = indexOf(from);
+        int v = indexOf(to);
+        return u >= 0 && v >= 0 && hasEdgeByIndex(u, v);
+    }
+
+    /**
+     * Возвращает все узлы графа.
+     *
+     * @return неизменяемое множество всех узлов графа
+     */
+    @Override
+    public Set<T> getAllNodes() {
+        return Collections.unmodifiableSet(indexByNode.keySet());
+    }
+
+    /**
+     * Возвращает количество узлов в снимке.
+     *
+     * @return количество узлов
+     */
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Возвращает количество неориентированных ребер в снимке.
+     *
+     * @return количество ребер
+     */
+    public long edgeCount() {
+        return targets.length / 2;
+    }
+
+    /**
+     * Возвращает плотный индекс узла.
+     *
+     * @param node узел
+     * @return индекс в диапазоне [0, nodeCount()), или -1 если узел равен null или отсутствует
+     */
+    public int indexOf(T node) {
+        if (node == null) return -1;
+        Integer index = indexByNode.get(node);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Возвращает узел по его индексу.
+     *
+     * @param index индекс узла
+     * @return узел
+     * @throws IndexOutOfBoundsException если индекс вне диапазона
+     */
+    @SuppressWarnings("unchecked")
+    public T nodeAt(int index) {
+        return (T) nodes[index];
+    }
+
+    /**
+     * Возвращает степень узла по индексу.
+     *
+     * @param index индекс узла
+     * @return количество соседей
+     */
+    public int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Возвращает копию отсортированного списка индексов соседей.
+     *
+     * @param index индекс узла
+     * @return массив индексов соседей
+     */
+    public int[] neighbors(int index) {
+        return Arrays.copyOfRange(targets, offsets[index], offsets[index + 1]);
+    }
+
+    /**
+     * Проверяет наличие ребра между узлами, заданными индексами.
+     *
+     * @param from индекс начального узла
+     * @param to индекс конечного узла
+     * @return true если ребро существует
+     */
+    public boolean hasEdgeByIndex(int from, int to) {
+        return Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to) >= 0;
+    }
+
+    /** Массив смещений; не копируется, изменять нельзя. */
+    int[] offsets() {
+        return offsets;
+    }
+
+    /** Массив соседей; не копируется, изменять нельзя. */
+    int[] targets() {
+        return targets;
+    }
+
+    /**
+     * Неизменяемое представление соседей узла поверх отсортированного участка {@code targets}.
+     */
+    private final class NeighborSet extends AbstractSet<T> {
+        private final int node;
+
+        NeighborSet(int node) {
+            this.node = node;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private int pos = offsets[node];
+
+                @Override
+                public boolean hasNext() {
+                    return pos < offsets[node + 1];
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return nodeAt(targets[pos++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return degree(node);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer other = indexByNode.get(o);
+            return other != null && hasEdgeByIndex(node, other);
+        }
+    }
+}
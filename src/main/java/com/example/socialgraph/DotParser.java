@@ -0,0 +1,382 @@
+package com.example.socialgraph;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Потоковый разборщик формата DOT (Graphviz) без регулярных выражений.
+ * Читает символы из {@link Reader} блоками фиксированного размера и сообщает
+ * найденные узлы и ребра обработчику по мере разбора, поэтому потребление памяти
+ * не зависит от размера входных данных.
+ *
+ * @description Поддерживается следующее подмножество DOT:
+ * - заголовок: [strict] graph|digraph [имя] {
+ * - объявление узла: "node_id" [label="...", ...];
+ * - объявление ребра и цепочки ребер: "a" -- "b" -- "c" [...];
+ * - идентификаторы в кавычках (с экранированием \", \\ и \n) и без кавычек
+ * - комментарии //, /* ... *&#47; и строки, начинающиеся с #
+ * Атрибуты графа (a=b), атрибуты по умолчанию (node [...], edge [...]) и фигурные скобки
+ * подграфов пропускаются; точки с запятой необязательны.
+ */
+public class DotParser {
+
+    /**
+     * Обработчик разобранных инструкций DOT.
+     */
+    public interface Handler {
+        /**
+         * Вызывается для каждого объявления узла.
+         *
+         * @param id идентификатор узла
+         * @param label значение атрибута label, или null если атрибут не задан
+         */
+        void node(String id, String label);
+
+        /**
+         * Вызывается для каждого ребра (в том числе для каждого звена цепочки).
+         *
+         * @param from идентификатор начального узла
+         * @param to идентификатор конечного узла
+         */
+        void edge(String from, String to);
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Типы лексем
+    private static final int EOF = 0;
+    private static final int ID = 1;
+    private static final int EDGE_OP = 2;
+    private static final int LBRACE = 3;
+    private static final int RBRACE = 4;
+    private static final int LBRACKET = 5;
+    private static final int RBRACKET = 6;
+    private static final int SEMI = 7;
+    private static final int COMMA = 8;
+    private static final int EQUALS = 9;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private int line = 1;
+
+    private final StringBuilder text = new StringBuilder();
+    private boolean quoted;
+    private int pushedBack = -1;
+
+    /**
+     * Создает разборщик, читающий символы из указанного источника.
+     * Источник не закрывается разборщиком.
+     *
+     * @param reader источник символов (не может быть null)
+     * @throws IllegalArgumentException если reader равен null
+     */
+    public DotParser(Reader reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Источник не может быть null");
+        }
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+    }
+
+    /**
+     * Создает разборщик над уже загруженным фрагментом текста без копирования.
+     *
+     * @param chars символы фрагмента
+     * @param length количество используемых символов
+     */
+    DotParser(char[] chars, int length) {
+        this.reader = null;
+        this.buffer = chars;
+        this.limit = length;
+    }
+
+    /**
+     * Разбирает входные данные до конца, передавая узлы и ребра обработчику.
+     *
+     * @param handler обработчик инструкций (не может быть null)
+     * @throws IOException если произошла ошибка чтения
+     * @throws IllegalArgumentException если входные данные имеют некорректный формат
+     */
+    public void parse(Handler handler) throws IOException {
+        if (handler == null) {
+            throw new IllegalArgumentException("Обработчик не может быть null");
+        }
+        int token;
+        while ((token = next()) != EOF) {
+            if (token == ID) {
+                statement(handler);
+            }
+            // Скобки, точки с запятой и прочие одиночные символы между инструкциями пропускаются
+        }
+    }
+
+    private void statement(Handler handler) throws IOException {
+        String first = text.toString();
+
+        if (!quoted && isHeaderKeyword(first)) {
+            skipHeader();
+            return;
+        }
+        if (!quoted && isDefaultsKeyword(first)) {
+            int token = next();
+            if (token == LBRACKET) {
+                attributes();
+            } else {
+                pushBack(token);
+            }
+            return;
+        }
+
+        int token = next();
+        if (token == EQUALS) {
+            // Атрибут графа вида key = value
+            expect(ID);
+            return;
+        }
+        if (token == EDGE_OP) {
+            String from = first;
+            do {
+                expect(ID);
+                String to = text.toString();
+                handler.edge(from, to);
+                from = to;
+                token = next();
+            } while (token == EDGE_OP);
+
+            if (token == LBRACKET) {
+                attributes();
+            } else {
+                pushBack(token);
+            }
+            return;
+        }
+
+        String label = null;
+        if (token == LBRACKET) {
+            label = attributes();
+        } else {
+            pushBack(token);
+        }
+        handler.node(first, label);
+    }
+
+    /**
+     * Пропускает заголовок графа: необязательные ключевые слова и имя до открывающей скобки.
+     */
+    private void skipHeader() throws IOException {
+        int token;
+        while ((token = next()) == ID) {
+            // strict graph Имя {
+        }
+        if (token == LBRACKET) {
+            attributes(); // graph [атрибуты]
+        } else if (token != LBRACE) {
+            pushBack(token);
+        }
+    }
+
+    /**
+     * Разбирает список атрибутов после открывающей квадратной скобки.
+     *
+     * @return значение атрибута label, или null если он не задан
+     */
+    private String attributes() throws IOException {
+        String label = null;
+        while (true) {
+            int token = next();
+            if (token == RBRACKET) return label;
+            if (token == EOF) throw error("Незакрытый список атрибутов");
+            if (token != ID) continue; // запятые и точки с запятой между атрибутами
+
+            String key = text.toString();
+            token = next();
+            if (token != EQUALS) {
+                pushBack(token);
+                continue;
+            }
+            expect(ID);
+            if ("label".equals(key)) {
+                label = text.toString();
+            }
+        }
+    }
+
+    private void expect(int expected) throws IOException {
+        int token = next();
+        if (token != expected) {
+            throw error("Ожидался идентификатор");
+        }
+    }
+
+    private void pushBack(int token) {
+        pushedBack = token;
+    }
+
+    /**
+     * Считывает следующую лексему. Текст идентификатора остается в {@link #text}.
+     */
+    private int next() throws IOException {
+        if (pushedBack >= 0) {
+            int token = pushedBack;
+            pushedBack = -1;
+            return token;
+        }
+
+        while (true) {
+            int c = read();
+            switch (c) {
+                case -1:
+                    return EOF;
+                case '\n':
+                    line++;
+                    continue;
+                case ' ', '\t', '\r', '\f':
+                    continue;
+                case '#':
+                    skipLine();
+                    continue;
+                case '/': {
+                    int n = peek();
+                    if (n == '/') {
+                        skipLine();
+                        continue;
+                    }
+                    if (n == '*') {
+                        read();
+                        skipBlockComment();
+                        continue;
+                    }
+                    continue;
+                }
+                case '{':
+                    return LBRACE;
+                case '}':
+                    return RBRACE;
+                case '[':
+                    return LBRACKET;
+                case ']':
+                    return RBRACKET;
+                case ';':
+                    return SEMI;
+                case ',':
+                    return COMMA;
+                case '=':
+                    return EQUALS;
+                case '"':
+                    readQuoted();
+                    return ID;
+                case '-': {
+                    int n = peek();
+                    if (n == '-' || n == '>') {
+                        read();
+                        return EDGE_OP;
+                    }
+                    readBare(c);
+                    return ID;
+                }
+                default:
+                    if (isIdChar(c)) {
+                        readBare(c);
+                        return ID;
+                    }
+                    // Неизвестный символ пропускается
+            }
+        }
+    }
+
+    private void readQuoted() throws IOException {
+        text.setLength(0);
+        quoted = true;
+        while (true) {
+            int c = read();
+            if (c == -1) throw error("Незакрытая кавычка");
+            if (c == '"') return;
+            if (c == '\\') {
+                int n = read();
+                if (n == -1) throw error("Незакрытая кавычка");
+                if (n == '\n') {
+                    line++;
+                    continue; // перенос строки внутри идентификатора
+                }
+                if (n == 'n') {
+                    text.append('\n');
+                    continue;
+                }
+                if (n != '"' && n != '\\') text.append('\\');
+                text.append((char) n);
+                continue;
+            }
+            if (c == '\n') line++;
+            text.append((char) c);
+        }
+    }
+
+    private void readBare(int first) throws IOException {
+        text.setLength(0);
+        quoted = false;
+        text.append((char) first);
+        while (true) {
+            int c = peek();
+            if (c == -1 || !isIdChar(c)) return;
+            text.append((char) read());
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            // пропуск до конца строки
+        }
+        if (c == '\n') line++;
+    }
+
+    private void skipBlockComment() throws IOException {
+        int previous = 0;
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '\n') line++;
+            if (previous == '*' && c == '/') return;
+            previous = c;
+        }
+        throw error("Незакрытый комментарий");
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        if (reader == null) return false;
+        int count = reader.read(buffer, 0, buffer.length);
+        if (count <= 0) return false;
+        position = 0;
+        limit = count;
+        return true;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " (строка " + line + ")");
+    }
+
+    private static boolean isIdChar(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '_' || c == '.' || c >= 0x80;
+    }
+
+    private static boolean isHeaderKeyword(String word) {
+        return word.equalsIgnoreCase("graph") || word.equalsIgnoreCase("digraph")
+                || word.equalsIgnoreCase("strict") || word.equalsIgnoreCase("subgraph");
+    }
+
+    private static boolean isDefaultsKeyword(String word) {
+        return word.equalsIgnoreCase("node") || word.equalsIgnoreCase("edge");
+    }
+}
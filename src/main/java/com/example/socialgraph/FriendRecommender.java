@@ -0,0 +1,271 @@
+package com.example.socialgraph;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Рекомендации «возможно, вы знакомы»: кандидаты — друзья друзей узла, которые еще
+ * не являются его друзьями, упорядоченные по выбранной мере сходства.
+ *
+ * <p>Рекомендации считаются по снимку {@link CsrGraph}: проход по соседям соседей
+ * накапливает оценки кандидатов в примитивном отображении {@code int -> float}, после чего
+ * лучшие k выбираются ограниченной кучей за O(c log k), где c — количество кандидатов.
+ * Экземпляр неизменяем и может использоваться из нескольких потоков.</p>
+ *
+ * @param <T> тип узлов графа (должен корректно реализовывать equals() и hashCode())
+ *
+ * @example Пример использования:
+ * {@code
+ * FriendRecommender<Node> recommender = new FriendRecommender<>(graph, FriendRecommender.Measure.ADAMIC_ADAR);
+ * List<FriendRecommender.Recommendation<Node>> top = recommender.recommend(alice, 10);
+ * }
+ */
+public final class FriendRecommender<T> {
+
+    /** Количество узлов в одной задаче пакетного расчета. */
+    private static final int BATCH_CHUNK = 1024;
+
+    /**
+     * Мера сходства узла u и кандидата c.
+     */
+    public enum Measure {
+        /** Количество общих друзей. */
+        COMMON_NEIGHBORS,
+        /** Сумма {@code 1 / ln(степень)} общих друзей: общий друг с небольшим кругом общения весит больше. */
+        ADAMIC_ADAR,
+        /** Доля общих друзей среди всех друзей обоих: {@code |N(u) ∩ N(c)| / |N(u) ∪ N(c)|}. */
+        JACCARD
+    }
+
+    /**
+     * Рекомендованный узел и его оценка.
+     *
+     * @param node рекомендованный узел
+     * @param score оценка по выбранной мере (чем больше, тем выше в списке)
+     * @param <T> тип узла
+     */
+    public record Recommendation<T>(T node, double score) {
+    }
+
+    private final CsrGraph<T> graph;
+    private final Measure measure;
+    private final int[] offsets;
+    private final int[] targets;
+    /** Вес общего друга w для суммирования: 1 или 1 / ln(степень w). */
+    private final float[] weights;
+
+    /**
+     * Создает рекомендатель. Если граф не является {@link CsrGraph}, строится его снимок,
+     * поэтому последующие изменения графа не учитываются.
+     *
+     * @param graph граф (не может быть null)
+     * @param measure мера сходства (не может быть null)
+     * @throws IllegalArgumentException если любой из аргументов равен null
+     */
+    public FriendRecommender(Graph<T> graph, Measure measure) {
+        if (graph == null || measure == null) {
+            throw new IllegalArgumentException("Граф и мера сходства не могут быть null");
+        }
+        this.graph = graph instanceof CsrGraph<T> csr ? csr : CsrGraph.of(graph);
+        this.measure = measure;
+        this.offsets = this.graph.offsets();
+        this.targets = this.graph.targets();
+        this.weights = new float[this.graph.nodeCount()];
+        for (int v = 0; v < weights.length; v++) {
+            // Общий друг связан и с узлом, и с кандидатом, поэтому его степень не меньше 2
+            weights[v] = measure == Measure.ADAMIC_ADAR && degree(v) > 1 ? (float) (1 / Math.log(degree(v))) : 1f;
+        }
+    }
+
+    /**
+     * Возвращает до k лучших рекомендаций для узла в порядке убывания оценки;
+     * при равной оценке раньше идет узел с меньшим индексом в снимке.
+     *
+     * @param node узел (не может быть null)
+     * @param k максимальное количество рекомендаций (не может быть отрицательным)
+     * @return рекомендации; пустой список, если узла нет в графе или кандидатов нет
+     * @throws IllegalArgumentException если node равен null или k отрицательно
+     */
+    public List<Recommendation<T>> recommend(T node, int k) {
+        if (node == null) {
+            throw new IllegalArgumentException("Узел не может быть null");
+        }
+        checkLimit(k);
+        int index = graph.indexOf(node);
+        if (index < 0) return List.of();
+        return new Scratch(k).recommend(index);
+    }
+
+    /**
+     * Считает рекомендации для всех узлов графа параллельно на общем пуле {@link ForkJoinPool#commonPool()}.
+     *
+     * @see #recommendAll(int, ForkJoinPool, BiConsumer)
+     */
+    public void recommendAll(int k, BiConsumer<T, List<Recommendation<T>>> sink) throws InterruptedException {
+        recommendAll(k, ForkJoinPool.commonPool(), sink);
+    }
+
+    /**
+     * Считает рекомендации для всех узлов графа параллельно. Узлы делятся на части,
+     * каждая задача переиспользует собственные отображение и кучу, а результаты сразу
+     * передаются в sink (из рабочих потоков), поэтому не накапливаются в памяти.
+     *
+     * @param k максимальное количество рекомендаций на узел (не может быть отрицательным)
+     * @param pool пул, на котором выполняется расчет (не может быть null)
+     * @param sink получатель рекомендаций узла; должен быть потокобезопасным
+     * @throws InterruptedException если поток был прерван во время ожидания
+     * @throws IllegalArgumentException если pool или sink равны null или k отрицательно
+     */
+    public void recommendAll(int k, ForkJoinPool pool, BiConsumer<T, List<Recommendation<T>>> sink)
+            throws InterruptedException {
+        if (pool == null || sink == null) {
+            throw new IllegalArgumentException("Пул и получатель не могут быть null");
+        }
+        checkLimit(k);
+        int n = graph.nodeCount();
+        int chunks = (n + BATCH_CHUNK - 1) / BATCH_CHUNK;
+        try {
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                Scratch scratch = new Scratch(k);
+                int to = Math.min(n, (chunk + 1) * BATCH_CHUNK);
+                for (int v = chunk * BATCH_CHUNK; v < to; v++) {
+                    sink.accept(graph.nodeAt(v), scratch.recommend(v));
+                }
+            })).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static void checkLimit(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Количество рекомендаций не может быть отрицательным: " + k);
+        }
+    }
+
+    private int degree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * Рабочие структуры одного потока: отображение оценок кандидатов и куча лучших k.
+     */
+    private final class Scratch {
+        private final IntFloatHashMap scores = new IntFloatHashMap(256);
+        private final int limit;
+        /** Минимальная куча по (оценка, -индекс): в корне худший из отобранных. */
+        private final int[] heapNodes;
+        private final float[] heapScores;
+        private int heapSize;
+
+        Scratch(int limit) {
+            this.limit = Math.min(limit, graph.nodeCount());
+            this.heapNodes = new int[this.limit];
+            this.heapScores = new float[this.limit];
+        }
+
+        List<Recommendation<T>> recommend(int u) {
+            if (limit == 0) return List.of();
+            // Сам узел и его друзья помечаются минус бесконечностью и не становятся кандидатами
+            scores.put(u, Float.NEGATIVE_INFINITY);
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                scores.put(targets[e], Float.NEGATIVE_INFINITY);
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int w = targets[e];
+                float weight = weights[w];
+                for (int f = offsets[w]; f < offsets[w + 1]; f++) {
+                    scores.addTo(targets[f], weight);
+                }
+            }
+
+            heapSize = 0;
+            int degreeU = degree(u);
+            for (int i = 0; i < scores.size(); i++) {
+                float score = scores.valueAt(i);
+                if (score == Float.NEGATIVE_INFINITY) continue;
+                int c = scores.keyAt(i);
+                if (measure == Measure.JACCARD) {
+                    score = score / (degreeU + degree(c) - score);
+                }
+                offer(c, score);
+            }
+            scores.clear();
+
+            Recommendation<T>[] result = newArray(heapSize);
+            for (int i = heapSize - 1; i >= 0; i--) {
+                result[i] = new Recommendation<>(graph.nodeAt(heapNodes[0]), heapScores[0]);
+                removeRoot();
+            }
+            return List.of(result);
+        }
+
+        private void offer(int node, float score) {
+            if (heapSize < limit) {
+                heapNodes[heapSize] = node;
+                heapScores[heapSize] = score;
+                siftUp(heapSize++);
+            } else if (worse(heapNodes[0], heapScores[0], node, score)) {
+                heapNodes[0] = node;
+                heapScores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        private void removeRoot() {
+            heapSize--;
+            heapNodes[0] = heapNodes[heapSize];
+            heapScores[0] = heapScores[heapSize];
+            siftDown(0);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(i, parent)) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) break;
+                if (child + 1 < heapSize && worse(child + 1, child)) child++;
+                if (!worse(child, i)) break;
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private boolean worse(int i, int j) {
+            return worse(heapNodes[i], heapScores[i], heapNodes[j], heapScores[j]);
+        }
+
+        /** Хуже ли кандидат a кандидата b: меньше оценка, а при равенстве больше индекс. */
+        private static boolean worse(int a, float scoreA, int b, float scoreB) {
+            return scoreA < scoreB || (scoreA == scoreB && a > b);
+        }
+
+        private void swap(int i, int j) {
+            int node = heapNodes[i];
+            heapNodes[i] = heapNodes[j];
+            heapNodes[j] = node;
+            float score = heapScores[i];
+            heapScores[i] = heapScores[j];
+            heapScores[j] = score;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Recommendation<T>[] newArray(int size) {
+            return (Recommendation<T>[]) new Recommendation<?>[size];
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.socialgraph;
+
+import java.util.*;
+
+/**
+ * Построитель неориентированных графов для массовой загрузки.
+ * Узлы получают плотные индексы в порядке добавления, а ребра накапливаются
+ * в одном массиве {@code long[]} (пара индексов на элемент). Перед материализацией ребра
+ * сортируются и очищаются от дубликатов, после чего граф создается сразу с нужными
+ * емкостями — без повторных проверок и перехеширования множеств смежности.
+ *
+ * @param <T> тип элементов графа (должен корректно реализовывать equals() и hashCode())
+ *
+ * @example Пример использования:
+ * {@code
+ * SocialGraph<String> graph = new GraphBuilder<String>()
+ *     .expectedNodes(2)
+ *     .expectedEdges(1)
+ *     .addEdge("A", "B")
+ *     .build();
+ * }
+ */
+public class GraphBuilder<T> {
+
+    /**
+     * Ребро между двумя узлами.
+     *
+     * @param <T> тип узлов
+     * @param from начальный узел
+     * @param to конечный узел
+     */
+    public record Edge<T>(T from, T to) {
+    }
+
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
+    private final ArrayList<T> nodes = new ArrayList<>();
+    private Map<T, Integer> indexByNode = new HashMap<>();
+    private long[] edges = new long[16];
+    private int edgeCount;
+
+    /**
+     * Сообщает ожидаемое количество узлов, чтобы заранее выделить память.
+     *
+     * @param count ожидаемое количество узлов
+     * @return этот построитель
+     * @throws IllegalArgumentException если count отрицательно
+     */
+    public GraphBuilder<T> expectedNodes(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Ожидаемое количество узлов не может быть отрицательным");
+        }
+        nodes.ensureCapacity(count);
+        if (indexByNode.isEmpty()) {
+            indexByNode = new HashMap<>(CsrGraph.capacityFor(count));
+        }
+        return this;
+    }
+
+    /**
+     * Сообщает ожидаемое количество ребер, чтобы заранее выделить память.
+     *
+     * @param count ожидаемое количество ребер
+     * @return этот построитель
+     * @throws IllegalArgumentException если count отрицательно
+     */
+    public GraphBuilder<T> expectedEdges(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Ожидаемое количество ребер не может быть отрицательным");
+        }
+        if (count > edges.length) {
+            edges = Arrays.copyOf(edges, count);
+        }
+        return this;
+    }
+
+    /**
+     * Добавляет узел, если его еще нет.
+     *
+     * @param node узел (не может быть null)
+     * @return индекс узла в построителе
+     * @throws IllegalArgumentException если node равен null
+     */
+    public int addNode(T node) {
+        if (node == null) {
+            throw new IllegalArgumentException("Узел не может быть null");
+        }
+        Integer existing = indexByNode.putIfAbsent(node, nodes.size());
+        if (existing != null) return existing;
+        nodes.add(node);
+        return nodes.size() - 1;
+    }
+
+    /**
+     * Заменяет узел равным ему (по equals) узлом, например чтобы дописать атрибуты узла,
+     * который сначала появился как конец ребра. Индекс и ребра узла сохраняются.
+     *
+     * @param index индекс узла
+     * @param node новый узел, равный прежнему
+     * @throws IndexOutOfBoundsException если индекс вне диапазона
+     * @throws IllegalArgumentException если node не равен узлу с этим индексом
+     */
+    void replaceNode(int index, T node) {
+        if (!nodes.get(index).equals(node)) {
+            throw new IllegalArgumentException("Новый узел должен быть равен заменяемому");
+        }
+        nodes.set(index, node);
+        // HashMap не заменяет равный ключ при put, поэтому ключ удаляется явно
+        indexByNode.remove(node);
+        indexByNode.put(node, index);
+    }
+
+    /**
+     * Возвращает индекс уже добавленного узла.
+     *
+     * @param node узел
+     * @return индекс узла, или -1 если узел равен null или еще не добавлен
+     */
+    public int indexOf(T node) {
+        if (node == null) return -1;
+        Integer index = indexByNode.get(node);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Добавляет ребро между узлами, при необходимости добавляя сами узлы.
+     * Петли игнорируются, дубликаты удаляются при построении.
+     *
+     * @param from начальный узел
+     * @param to конечный узел
+     * @return этот построитель
+     * @throws IllegalArgumentException если любой из узлов равен null
+     */
+    public GraphBuilder<T> addEdge(T from, T to) {
+        return addEdgeByIndex(addNode(from), addNode(to));
+    }
+
+    /**
+     * Добавляет ребро между узлами, заданными индексами.
+     *
+     * @param from индекс начального узла
+     * @param to индекс конечного узла
+     * @return этот построитель
+     * @throws IndexOutOfBoundsException если любой из индексов вне диапазона
+     */
+    public GraphBuilder<T> addEdgeByIndex(int from, int to) {
+        Objects.checkIndex(from, nodes.size());
+        Objects.checkIndex(to, nodes.size());
+        if (from == to) return this;
+        if (edgeCount == edges.length) {
+            edges = Arrays.copyOf(edges, edges.length * 2);
+        }
+        edges[edgeCount++] = encode(from, to);
+        return this;
+    }
+
+    /**
+     * Добавляет пакет ребер.
+     *
+     * @param batch ребра для добавления
+     * @return этот построитель
+     * @throws IllegalArgumentException если batch или любой из узлов равен null
+     */
+    public GraphBuilder<T> addEdges(Iterable<Edge<T>> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Пакет ребер не может быть null");
+        }
+        for (Edge<T> edge : batch) {
+            addEdge(edge.from(), edge.to());
+        }
+        return this;
+    }
+
+    /**
+     * Добавляет пакет ребер, заданных параллельными массивами индексов узлов.
+     *
+     * @param src индексы начальных узлов
+     * @param dst индексы конечных узлов
+     * @return этот построитель
+     * @throws IllegalArgumentException если массивы равны null или имеют разную длину
+     * @throws IndexOutOfBoundsException если любой из индексов вне диапазона
+     */
+    public GraphBuilder<T> addEdges(int[] src, int[] dst) {
+        if (src == null || dst == null || src.length != dst.length) {
+            throw new IllegalArgumentException("Массивы индексов должны быть одинаковой длины");
+        }
+        if (edgeCount + src.length > edges.length) {
+            edges = Arrays.copyOf(edges, Math.max(edges.length * 2, edgeCount + src.length));
+        }
+        for (int i = 0; i < src.length; i++) {
+            addEdgeByIndex(src[i], dst[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Возвращает количество добавленных узлов.
+     *
+     * @return количество узлов
+     */
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Материализует накопленные узлы и ребра в {@link SocialGraph}.
+     * Множества смежности создаются сразу с емкостью, равной итоговой степени узла.
+     *
+     * @return новый граф
+     */
+    public SocialGraph<T> build() {
+        int unique = sortAndDeduplicate();
+        int[] degree = degrees(unique);
+
+        SocialGraph<T> graph = new SocialGraph<>(nodes.size());
+        List<Set<T>> adjacency = new ArrayList<>(nodes.size());
+        for (int v = 0; v < nodes.size(); v++) {
+            adjacency.add(graph.putNode(nodes.get(v), degree[v]));
+        }
+        for (int i = 0; i < unique; i++) {
+            int u = low(edges[i]);
+            int v = high(edges[i]);
+            adjacency.get(u).add(nodes.get(v));
+            adjacency.get(v).add(nodes.get(u));
+        }
+        return graph;
+    }
+
+    /**
+     * Материализует накопленные узлы и ребра в компактный неизменяемый {@link CsrGraph}.
+     *
+     * @return новый снимок графа
+     */
+    public CsrGraph<T> buildCsr() {
+        int unique = sortAndDeduplicate();
+        return toCsr(nodes.toArray(), new HashMap<>(indexByNode), edges, unique);
+    }
+
+    /**
+     * Собирает {@link CsrGraph} из отсортированных уникальных ребер, закодированных {@link #encode}.
+     *
+     * @param nodes узлы в порядке индексов
+     * @param indexByNode индексы узлов
+     * @param edges отсортированные ребра без дубликатов и петель
+     * @param count количество используемых элементов edges
+     * @return новый снимок графа
+     */
+    static <T> CsrGraph<T> toCsr(Object[] nodes, Map<T, Integer> indexByNode, long[] edges, int count) {
+        int n = nodes.length;
+        int[] degree = new int[n];
+        for (int i = 0; i < count; i++) {
+            degree[low(edges[i])]++;
+            degree[high(edges[i])]++;
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + degree[v];
+        }
+
+        // Ребра отсортированы по (меньший, больший) индекс, поэтому для каждого узла сначала
+        // приходят соседи с меньшими индексами по возрастанию, затем с большими — тоже по возрастанию.
+        int[] fill = Arrays.copyOf(offsets, n);
+        int[] targets = new int[offsets[n]];
+        for (int i = 0; i < count; i++) {
+            int u = low(edges[i]);
+            int v = high(edges[i]);
+            targets[fill[u]++] = v;
+            targets[fill[v]++] = u;
+        }
+
+        return new CsrGraph<>(nodes, indexByNode, offsets, targets);
+    }
+
+    private int sortAndDeduplicate() {
+        edgeCount = sortUnique(edges, edgeCount);
+        return edgeCount;
+    }
+
+    /**
+     * Сортирует первые count ребер и сдвигает уникальные в начало массива.
+     *
+     * @return количество уникальных ребер
+     */
+    static int sortUnique(long[] edges, int count) {
+        if (count >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(edges, 0, count);
+        } else {
+            Arrays.sort(edges, 0, count);
+        }
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || edges[i] != edges[unique - 1]) {
+                edges[unique++] = edges[i];
+            }
+        }
+        return unique;
+    }
+
+    private int[] degrees(int unique) {
+        int[] degree = new int[nodes.size()];
+        for (int i = 0; i < unique; i++) {
+            degree[low(edges[i])]++;
+            degree[high(edges[i])]++;
+        }
+        return degree;
+    }
+
+    /**
+     * Кодирует неориентированное ребро в одно число: меньший индекс в старших 32 битах.
+     * Сортировка закодированных ребер упорядочивает их по (меньший, больший) индекс.
+     */
+    static long encode(int a, int b) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+
+    static int low(long edge) {
+        return (int) (edge >>> 32);
+    }
+
+    static int high(long edge) {
+        return (int) edge;
+    }
+}
@@ -1,14 +1,297 @@
 package com.example.socialgraph;
 
-import java.io.IOException;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 
 public class GraphFileReader {
 
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final long MAX_CHUNK_SIZE = 64 << 20;
+
+    /** Состояния просмотра файла при выборе границ фрагментов. */
+    private static final int CODE = 0;
+    private static final int QUOTED = 1;
+    private static final int LINE_COMMENT = 2;
+    private static final int BLOCK_COMMENT = 3;
+
     public static <T> Graph<T> readFromDotFile(String filepath, Function<String, T> stringToNode) throws IOException {
-        String dot = Files.readString(Paths.get(filepath));
-        return GraphvizDeserializer.deserialize(dot, stringToNode);
+        return readFromDotFile(Paths.get(filepath), stringToNode);
+    }
+
+    /**
+     * Потоково читает граф из DOT-файла в кодировке UTF-8, не загружая файл в память целиком.
+     *
+     * @param <T> тип узлов графа
+     * @param path путь к файлу
+     * @param stringToNode функция преобразования строки в узел графа типа T
+     * @return прочитанный граф
+     * @throws IOException если произошла ошибка чтения
+     */
+    public static <T> Graph<T> readFromDotFile(Path path, Function<String, T> stringToNode) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return GraphvizDeserializer.deserialize(reader, stringToNode);
+        }
+    }
+
+    /**
+     * Потоково читает граф в формате DOT из байтового потока в кодировке UTF-8.
+     * Поток не закрывается.
+     *
+     * @param <T> тип узлов графа
+     * @param in входной поток
+     * @param stringToNode функция преобразования строки в узел графа типа T
+     * @return прочитанный граф
+     * @throws IOException если произошла ошибка чтения
+     */
+    public static <T> Graph<T> readFromDot(InputStream in, Function<String, T> stringToNode) throws IOException {
+        return GraphvizDeserializer.deserialize(new InputStreamReader(in, StandardCharsets.UTF_8), stringToNode);
+    }
+
+    /**
+     * Потоково читает граф узлов {@link Node} из DOT-файла с атрибутами label.
+     * Файлы старого формата {@code "имя (id)"} также поддерживаются.
+     *
+     * @param path путь к файлу
+     * @return прочитанный граф
+     * @throws IOException если произошла ошибка чтения
+     * @see GraphvizDeserializer#deserializeWithLabels(Reader)
+     */
+    public static SocialGraph<Node> readLabeledDotFile(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return GraphvizDeserializer.deserializeWithLabels(reader);
+        }
+    }
+
+    /**
+     * Читает граф как {@link #readLabeledDotFile(Path)}, сообщая количество прочитанных байт.
+     * Чтение можно отменить, прервав поток-читатель: тогда бросается {@link InterruptedIOException}.
+     *
+     * @param path путь к файлу
+     * @param progress получатель количества прочитанных байт (размер файла — {@link Files#size})
+     * @return прочитанный граф
+     * @throws InterruptedIOException если поток был прерван во время чтения
+     * @throws IOException если произошла ошибка чтения
+     */
+    public static SocialGraph<Node> readLabeledDotFile(Path path, LongConsumer progress) throws IOException {
+        if (progress == null) {
+            throw new IllegalArgumentException("Получатель прогресса не может быть null");
+        }
+        try (InputStream in = new ProgressInputStream(Files.newInputStream(path), progress);
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return GraphvizDeserializer.deserializeWithLabels(reader);
+        }
+    }
+
+    /**
+     * Читает граф из двоичного файла формата {@code .sgb}.
+     *
+     * @param path путь к файлу
+     * @return прочитанный граф
+     * @throws IOException если произошла ошибка чтения или файл поврежден
+     * @see BinaryGraphDeserializer
+     */
+    public static SocialGraph<Node> readBinary(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return BinaryGraphDeserializer.deserialize(in);
+        }
+    }
+
+    public static SocialGraph<Node> readBinary(String filepath) throws IOException {
+        return readBinary(Paths.get(filepath));
+    }
+
+    /**
+     * Открывает граф, записанный {@link GraphFileWriter#writeMapped}, отображая файл в память.
+     * Данные не копируются в кучу, поэтому открытие выполняется практически мгновенно.
+     *
+     * @param path путь к файлу
+     * @return граф только для чтения
+     * @throws IOException если произошла ошибка чтения или файл поврежден
+     * @see MappedGraph
+     */
+    public static MappedGraph openMapped(Path path) throws IOException {
+        return MappedGraph.open(path);
+    }
+
+    /**
+     * Читает граф из DOT-файла параллельно на общем пуле {@link ForkJoinPool#commonPool()}.
+     *
+     * @see #readFromDotFileParallel(Path, Function, ForkJoinPool)
+     */
+    public static <T> Graph<T> readFromDotFileParallel(Path path, Function<String, T> stringToNode) throws IOException {
+        return readFromDotFileParallel(path, stringToNode, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Читает граф из DOT-файла параллельно. Файл отображается в память через
+     * {@link FileChannel#map}, делится на фрагменты по границам строк, и каждый фрагмент
+     * разбирается отдельной задачей пула. Узлы и ребра сразу добавляются в
+     * {@link ConcurrentSocialGraph}.
+     *
+     * <p>Фрагменты делятся по переводам строк после {@code ;}, <code>{</code> или <code>}</code>
+     * вне кавычек, комментариев и списков атрибутов, поэтому многострочные комментарии и
+     * идентификаторы разбираются так же, как при последовательном чтении.</p>
+     *
+     * @param <T> тип узлов графа
+     * @param path путь к файлу в кодировке UTF-8
+     * @param stringToNode потокобезопасная функция преобразования строки в узел графа типа T
+     * @param pool пул, на котором выполняется разбор
+     * @return прочитанный граф
+     * @throws IOException если произошла ошибка чтения или файл не является корректным UTF-8
+     * @throws IllegalArgumentException если файл имеет некорректный формат
+     */
+    public static <T> Graph<T> readFromDotFileParallel(Path path, Function<String, T> stringToNode, ForkJoinPool pool)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkSize = Math.min(MAX_CHUNK_SIZE,
+                    Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4L) + 1));
+            return readParallel(channel, stringToNode, pool, chunkSize);
+        }
+    }
+
+    static <T> Graph<T> readParallel(FileChannel channel, Function<String, T> stringToNode,
+                                     ForkJoinPool pool, long chunkSize) throws IOException {
+        List<long[]> chunks = splitAtStatements(channel, chunkSize);
+        ConcurrentSocialGraph<T> graph = new ConcurrentSocialGraph<>();
+        DotParser.Handler handler = GraphvizDeserializer.handler(stringToNode, graph::addNode, (node1, node2) -> {
+            graph.addNode(node1);
+            graph.addNode(node2);
+            graph.addEdge(node1, node2);
+        });
+
+        List<RecursiveAction> tasks = new ArrayList<>(chunks.size());
+        for (long[] chunk : chunks) {
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    try {
+                        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], chunk[1] - chunk[0]);
+                        CharBuffer chars = StandardCharsets.UTF_8.newDecoder().decode(bytes);
+                        new DotParser(chars.array(), chars.limit()).parse(handler);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        }
+
+        try {
+            pool.submit(() -> ForkJoinTask.invokeAll(tasks)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Чтение прервано");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException io) throw io.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw new IOException(cause);
+        }
+        return graph;
+    }
+
+    /**
+     * Делит файл на фрагменты примерно заданного размера. Граница ставится сразу после
+     * перевода строки, которым заканчивается инструкция: вне кавычек, комментариев и списка
+     * атрибутов, после {@code ;}, <code>{</code> или <code>}</code>. Для этого файл один раз
+     * просматривается побайтно — это намного дешевле разбора, а байты ASCII в UTF-8 не
+     * встречаются внутри многобайтовых символов. Файл без подходящих границ разбирается
+     * одним фрагментом.
+     *
+     * @return список пар [начало, конец)
+     */
+    private static List<long[]> splitAtStatements(FileChannel channel, long chunkSize) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        long start = 0;
+        int state = CODE;
+        int brackets = 0;
+        int last = '\n'; // последний значимый символ вне комментариев
+        boolean slash = false; // в коде встретилась '/', которая может начать комментарий
+        boolean escaped = false;
+        int previous = 0;
+        for (long base = 0; base < size; base += MAX_CHUNK_SIZE) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(MAX_CHUNK_SIZE, size - base));
+            for (int i = 0; i < bytes.limit(); i++) {
+                int c = bytes.get(i);
+                switch (state) {
+                    case QUOTED -> {
+                        if (escaped) escaped = false;
+                        else if (c == '\\') escaped = true;
+                        else if (c == '"') state = CODE;
+                        continue;
+                    }
+                    case BLOCK_COMMENT -> {
+                        if (previous == '*' && c == '/') {
+                            state = CODE;
+                            c = 0;
+                        }
+                        previous = c;
+                        continue;
+                    }
+                    case LINE_COMMENT -> {
+                        if (c != '\n') continue;
+                        state = CODE;
+                    }
+                    default -> {
+                        if (slash) {
+                            slash = false;
+                            if (c == '/') {
+                                state = LINE_COMMENT;
+                                continue;
+                            }
+                            if (c == '*') {
+                                state = BLOCK_COMMENT;
+                                previous = 0;
+                                continue;
+                            }
+                        }
+                        switch (c) {
+                            case '"' -> {
+                                state = QUOTED;
+                                last = c;
+                                continue;
+                            }
+                            case '#' -> {
+                                state = LINE_COMMENT;
+                                continue;
+                            }
+                            case '/' -> {
+                                slash = true;
+                                continue;
+                            }
+                            case '[' -> brackets++;
+                            case ']' -> brackets = Math.max(0, brackets - 1);
+                            default -> { }
+                        }
+                        if (c != '\n' && c != ' ' && c != '\t' && c != '\r' && c != '\f') last = c;
+                    }
+                }
+                // Сюда доходят только символы кода и переводы строк, завершающие строчные комментарии
+                long end = base + i + 1;
+                if (c == '\n' && brackets == 0 && (last == ';' || last == '{' || last == '}')
+                        && end - start >= chunkSize && end < size) {
+                    chunks.add(new long[]{start, end});
+                    start = end;
+                }
+            }
+        }
+        if (start < size || chunks.isEmpty()) {
+            chunks.add(new long[]{start, size});
+        }
+        return chunks;
     }
 }
@@ -1,15 +1,87 @@
 package com.example.socialgraph;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class GraphFileWriter {
 
     public static <T> void writeToDotFile(Graph<T> graph, String filepath) throws IOException {
-        String dot = GraphvizSerializer.serialize(graph);
-        try (FileWriter writer = new FileWriter(filepath)) {
-            writer.write(dot);
+        writeToDotFile(graph, Paths.get(filepath));
+    }
+
+    /**
+     * Потоково записывает граф в DOT-файл в кодировке UTF-8 без промежуточной строки.
+     *
+     * @param <T> тип узлов графа
+     * @param graph граф для записи
+     * @param path путь к файлу
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если граф равен null
+     */
+    public static <T> void writeToDotFile(Graph<T> graph, Path path) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            GraphvizSerializer.serialize(graph, writer);
+        }
+    }
+
+    /**
+     * Записывает граф в компактный двоичный файл формата {@code .sgb}.
+     *
+     * @param graph граф для записи
+     * @param path путь к файлу
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если граф равен null
+     * @see BinaryGraphSerializer
+     */
+    public static void writeBinary(Graph<Node> graph, Path path) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            BinaryGraphSerializer.serialize(graph, out);
         }
     }
-}
 
+    public static void writeBinary(Graph<Node> graph, String filepath) throws IOException {
+        writeBinary(graph, Paths.get(filepath));
+    }
+
+    /**
+     * Записывает граф в файл, который можно открыть без разбора через {@link MappedGraph#open(Path)}.
+     *
+     * @param graph граф для записи
+     * @param path путь к файлу
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если граф равен null
+     * @see MappedGraph
+     */
+    public static void writeMapped(Graph<Node> graph, Path path) throws IOException {
+        MappedGraph.write(graph, path);
+    }
+
+    /**
+     * Потоково записывает граф в DOT-файл с короткими идентификаторами и атрибутами label.
+     *
+     * @param graph граф для записи
+     * @param path путь к файлу
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если граф равен null
+     * @see GraphvizSerializer#serializeWithLabels(Graph, Writer)
+     */
+    public static void writeLabeledDotFile(Graph<Node> graph, Path path) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            GraphvizSerializer.serializeWithLabels(graph, writer);
+        }
+    }
+}
@@ -2,16 +2,28 @@ package com.example.socialgraph;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * Генератор случайных социальных графов.
  * Позволяет создавать графы с заданным количеством узлов и связей между ними.
- * Имена для узлов загружаются из внешнего файла.
+ * Имена для узлов загружаются из внешнего файла и при нехватке повторяются по кругу.
  */
 public class GraphGenerator {
 
+    private static final int PROGRESS_STEP = 1024;
+
+    /** Количество узлов в блоке параллельной генерации; от него зависит результат при заданном seed. */
+    private static final int SEED_BLOCK_SIZE = 1 << 14;
+
+    /** Больше этого количества ребер буфер построителя заранее не выделяется, а растет по мере добавления. */
+    private static final int MAX_PRESIZED_EDGES = 1 << 24;
+
     /**
      * Генерирует случайный неориентированный граф с указанными параметрами.
      *
@@ -21,58 +33,492 @@ public class GraphGenerator {
      * @throws IllegalArgumentException если параметры некорректны
      */
     public static Graph<Node> generateRandomGraph(int numberOfNodes, int maxConnectionsPerNode) {
-        if (numberOfNodes <= 0 || maxConnectionsPerNode < 0) {
-            throw new IllegalArgumentException("Invalid parameters");
-        }
+        return generateRandomGraphWithProgress(numberOfNodes, maxConnectionsPerNode, processed -> { });
+    }
 
+    /**
+     * Генерирует случайный граф как {@link #generateRandomGraph(int, int)}, сообщая,
+     * для скольких узлов уже выбраны связи. Генерацию можно отменить, прервав поток:
+     * тогда бросается {@link CancellationException}.
+     *
+     * @param numberOfNodes количество узлов в графе (должно быть положительным)
+     * @param maxConnectionsPerNode максимальное количество связей на один узел (не может быть отрицательным)
+     * @param progress получатель количества обработанных узлов (из numberOfNodes)
+     * @return сгенерированный граф типа SocialGraph<Node>
+     * @throws IllegalArgumentException если параметры некорректны
+     * @throws CancellationException если поток был прерван во время генерации
+     */
+    public static Graph<Node> generateRandomGraphWithProgress(int numberOfNodes, int maxConnectionsPerNode,
+                                                              IntConsumer progress) {
+        validate(numberOfNodes, maxConnectionsPerNode);
         List<String> names = loadNamesFromFile("name.txt", numberOfNodes);
 
-        Graph<Node> graph = new SocialGraph<>();
-        Random random = new Random();
-        List<Node> nodes = new ArrayList<>();
+        // Степень узла не может превышать n - 1, сколько бы связей ни разрешалось
+        long expectedEdges = Math.min((long) numberOfNodes * maxConnectionsPerNode, (long) numberOfNodes * (numberOfNodes - 1)) / 2;
+        GraphBuilder<Node> builder = new GraphBuilder<Node>()
+                .expectedNodes(numberOfNodes)
+                .expectedEdges((int) Math.min(MAX_PRESIZED_EDGES, expectedEdges));
+        for (int i = 0; i < numberOfNodes; i++) {
+            builder.addNode(new Node(String.valueOf(i), names.get(i)));
+        }
+        generateEdges(numberOfNodes, maxConnectionsPerNode, new Random(), builder::addEdgeByIndex, progress);
+        return builder.build();
+    }
+
+    /**
+     * Генерирует случайный неориентированный граф в переданный граф.
+     * Позволяет генерировать данные в любую реализацию {@link Graph},
+     * например в {@link IntSocialGraph}.
+     *
+     * @param <G> тип графа-приемника
+     * @param numberOfNodes количество узлов в графе (должно быть положительным)
+     * @param maxConnectionsPerNode максимальное количество связей на один узел (не может быть отрицательным)
+     * @param graph пустой граф, в который добавляются узлы и ребра
+     * @return переданный граф
+     * @throws IllegalArgumentException если параметры некорректны
+     */
+    public static <G extends Graph<Node>> G generateRandomGraph(int numberOfNodes, int maxConnectionsPerNode, G graph) {
+        validate(numberOfNodes, maxConnectionsPerNode);
+        List<String> names = loadNamesFromFile("name.txt", numberOfNodes);
 
         // Создание узлов
+        Node[] nodes = new Node[numberOfNodes];
         for (int i = 0; i < numberOfNodes; i++) {
-            Node node = new Node(String.valueOf(i), names.get(i));
-            graph.addNode(node);
-            nodes.add(node);
+            nodes[i] = new Node(String.valueOf(i), names.get(i));
+            graph.addNode(nodes[i]);
         }
 
         // Создание связей между узлами
-        for (Node from : nodes) {
+        generateEdges(numberOfNodes, maxConnectionsPerNode, new Random(),
+                (from, to) -> graph.addEdge(nodes[from], nodes[to]), processed -> { });
+        return graph;
+    }
+
+    /**
+     * Генерирует воспроизводимый случайный граф: при одинаковом seed результат одинаков
+     * независимо от количества потоков. Подходит для графов в десятки миллионов узлов.
+     *
+     * <p>Узлы делятся на блоки фиксированного размера, и каждый блок получает собственный
+     * {@link SplittableRandom}, выведенный из seed и номера блока. Каждый узел выбирает
+     * в среднем половину желаемой степени случайных соседей (вторую половину в среднем
+     * добавляют другие узлы). Ребра хранятся как {@code long}, сортируются параллельно,
+     * очищаются от дубликатов, после чего в порядке сортировки отбрасываются ребра,
+     * превышающие ограничение степени у любого из концов.</p>
+     *
+     * @param numberOfNodes количество узлов в графе (должно быть положительным)
+     * @param maxConnectionsPerNode максимальное количество связей на один узел (не может быть отрицательным)
+     * @param seed начальное значение генератора случайных чисел
+     * @return сгенерированный неизменяемый граф
+     * @throws IllegalArgumentException если параметры некорректны или ребер слишком много для одного массива
+     */
+    public static CsrGraph<Node> generateRandomGraph(int numberOfNodes, int maxConnectionsPerNode, long seed) {
+        validate(numberOfNodes, maxConnectionsPerNode);
+        // Степень узла не может превышать n - 1, поэтому больший лимит ничего не меняет
+        int maxDegree = Math.min(maxConnectionsPerNode, numberOfNodes - 1);
+        int draws = (maxDegree + 1) / 2;
+        checkEdgeCount((long) numberOfNodes * draws);
+        long[] edges = generateInBlocks(numberOfNodes, seed, draws, (source, random, buffer) -> {
+            if (numberOfNodes == 1) return;
+            int count = (random.nextInt(maxDegree + 1) + 1) / 2;
+            for (int d = 0; d < count; d++) {
+                int target = random.nextInt(numberOfNodes - 1);
+                if (target >= source) target++;
+                buffer.add(source, target);
+            }
+        });
+
+        int unique = GraphBuilder.sortUnique(edges, edges.length);
+        int[] degree = new int[numberOfNodes];
+        int kept = 0;
+        for (int i = 0; i < unique; i++) {
+            int u = GraphBuilder.low(edges[i]);
+            int v = GraphBuilder.high(edges[i]);
+            if (degree[u] < maxDegree && degree[v] < maxDegree) {
+                degree[u]++;
+                degree[v]++;
+                edges[kept++] = edges[i];
+            }
+        }
+        return snapshot(createNodes(numberOfNodes), edges, kept);
+    }
+
+    /**
+     * Генерирует граф по модели предпочтительного присоединения Барабаши–Альберт.
+     * Степени узлов распределены по степенному закону, как в реальных социальных сетях.
+     *
+     * <p>Первые {@code edgesPerNode + 1} узлов образуют полный граф, каждый следующий узел
+     * соединяется с {@code edgesPerNode} различными уже существующими узлами, выбранными
+     * с вероятностью, пропорциональной степени. Вместо перебора весов хранится массив концов
+     * всех ребер, в котором узел встречается столько раз, какова его степень, поэтому
+     * выбор соседа — один случайный индекс, а вся генерация занимает O(m).</p>
+     *
+     * @param numberOfNodes количество узлов в графе (должно быть положительным)
+     * @param edgesPerNode количество ребер у каждого нового узла (должно быть положительным)
+     * @param seed начальное значение генератора случайных чисел
+     * @return сгенерированный неизменяемый граф
+     * @throws IllegalArgumentException если параметры некорректны или ребер слишком много для одного массива
+     */
+    public static CsrGraph<Node> generateBarabasiAlbert(int numberOfNodes, int edgesPerNode, long seed) {
+        if (numberOfNodes <= 0 || edgesPerNode <= 0) {
+            throw new IllegalArgumentException("Количество узлов и ребер на узел должно быть положительным");
+        }
+        int core = Math.min(numberOfNodes, edgesPerNode + 1);
+        long total = (long) core * (core - 1) / 2 + (long) (numberOfNodes - core) * edgesPerNode;
+        checkEdgeCount(2 * total);
+
+        // Концы ребер парами: ends[2e] и ends[2e + 1] — концы ребра e
+        int[] ends = new int[(int) (2 * total)];
+        int filled = 0;
+        for (int u = 0; u < core; u++) {
+            for (int v = u + 1; v < core; v++) {
+                ends[filled++] = u;
+                ends[filled++] = v;
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] chosen = new int[edgesPerNode];
+        int[] chosenBy = new int[numberOfNodes];
+        for (int v = core; v < numberOfNodes; v++) {
+            int available = filled;
+            for (int c = 0; c < edgesPerNode; c++) {
+                int target;
+                do {
+                    target = ends[random.nextInt(available)];
+                } while (chosenBy[target] == v + 1);
+                chosenBy[target] = v + 1;
+                chosen[c] = target;
+            }
+            for (int c = 0; c < edgesPerNode; c++) {
+                ends[filled++] = chosen[c];
+                ends[filled++] = v;
+            }
+        }
+
+        long[] edges = new long[(int) total];
+        Arrays.parallelSetAll(edges, e -> GraphBuilder.encode(ends[2 * e], ends[2 * e + 1]));
+        int count = GraphBuilder.sortUnique(edges, edges.length);
+        return snapshot(createNodes(numberOfNodes), edges, count);
+    }
+
+    /**
+     * Генерирует граф «тесного мира» по модели Уоттса–Строгаца: кольцо, в котором каждый узел
+     * соединен с {@code neighbors / 2} ближайшими узлами с каждой стороны, после чего каждое ребро
+     * с вероятностью {@code rewiringProbability} перенаправляется на случайный узел.
+     * Получается граф с высокой кластеризацией и короткими путями.
+     *
+     * <p>Ребра генерируются параллельно по блокам узлов, как в
+     * {@link #generateRandomGraph(int, int, long)}. Если перенаправленное ребро совпало
+     * с существующим, дубликат отбрасывается, поэтому ребер может оказаться немного меньше
+     * {@code numberOfNodes * neighbors / 2}.</p>
+     *
+     * @param numberOfNodes количество узлов в графе (должно быть больше neighbors)
+     * @param neighbors количество соседей в исходном кольце (четное, не отрицательное)
+     * @param rewiringProbability вероятность перенаправления ребра, от 0 до 1
+     * @param seed начальное значение генератора случайных чисел
+     * @return сгенерированный неизменяемый граф
+     * @throws IllegalArgumentException если параметры некорректны или ребер слишком много для одного массива
+     */
+    public static CsrGraph<Node> generateWattsStrogatz(int numberOfNodes, int neighbors, double rewiringProbability,
+                                                       long seed) {
+        if (numberOfNodes <= 0 || neighbors < 0 || neighbors % 2 != 0 || neighbors >= numberOfNodes) {
+            throw new IllegalArgumentException(
+                    "Количество соседей должно быть четным и меньше количества узлов: " + neighbors);
+        }
+        checkProbability(rewiringProbability);
+        int half = neighbors / 2;
+        checkEdgeCount((long) numberOfNodes * half);
+
+        long[] edges = generateInBlocks(numberOfNodes, seed, half, (source, random, buffer) -> {
+            for (int j = 1; j <= half; j++) {
+                int target = (int) (((long) source + j) % numberOfNodes);
+                if (random.nextDouble() < rewiringProbability) {
+                    target = random.nextInt(numberOfNodes - 1);
+                    if (target >= source) target++;
+                }
+                buffer.add(source, target);
+            }
+        });
+        int count = GraphBuilder.sortUnique(edges, edges.length);
+        return snapshot(createNodes(numberOfNodes), edges, count);
+    }
+
+    /**
+     * Генерирует граф по стохастической блочной модели: узлы разбиты на сообщества,
+     * и каждая пара узлов из сообществ a и b соединена независимо с вероятностью
+     * {@code probabilities[a][b]}. Узлы сообщества a имеют индексы подряд, начиная
+     * с суммы размеров предыдущих сообществ.
+     *
+     * <p>Пары не перебираются по одной: расстояние до следующего ребра выбирается
+     * из геометрического распределения, поэтому время работы пропорционально количеству
+     * ребер, а не квадрату количества узлов. Генерация параллельна по блокам узлов.</p>
+     *
+     * @param blockSizes размеры сообществ (положительные)
+     * @param probabilities симметричная матрица вероятностей размера blockSizes.length
+     * @param seed начальное значение генератора случайных чисел
+     * @return сгенерированный неизменяемый граф
+     * @throws IllegalArgumentException если параметры некорректны или ребер слишком много для одного массива
+     */
+    public static CsrGraph<Node> generateStochasticBlockModel(int[] blockSizes, double[][] probabilities, long seed) {
+        if (blockSizes == null || blockSizes.length == 0 || probabilities == null
+                || probabilities.length != blockSizes.length) {
+            throw new IllegalArgumentException("Размеры сообществ и матрица вероятностей должны быть согласованы");
+        }
+        int blocks = blockSizes.length;
+        int[] starts = new int[blocks + 1];
+        for (int a = 0; a < blocks; a++) {
+            if (blockSizes[a] <= 0) {
+                throw new IllegalArgumentException("Размер сообщества должен быть положительным: " + blockSizes[a]);
+            }
+            if (probabilities[a] == null || probabilities[a].length != blocks) {
+                throw new IllegalArgumentException("Матрица вероятностей должна быть квадратной");
+            }
+            long next = (long) starts[a] + blockSizes[a];
+            if (next > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Слишком много узлов: " + next);
+            }
+            starts[a + 1] = (int) next;
+        }
+        double expected = 0;
+        for (int a = 0; a < blocks; a++) {
+            for (int b = 0; b < blocks; b++) {
+                checkProbability(probabilities[a][b]);
+                if (probabilities[a][b] != probabilities[b][a]) {
+                    throw new IllegalArgumentException("Матрица вероятностей должна быть симметричной");
+                }
+                expected += probabilities[a][b] * blockSizes[a] * blockSizes[b] / 2;
+            }
+        }
+        checkEdgeCount((long) expected);
+
+        int numberOfNodes = starts[blocks];
+        double[][] logFailure = new double[blocks][blocks];
+        for (int a = 0; a < blocks; a++) {
+            for (int b = 0; b < blocks; b++) {
+                logFailure[a][b] = Math.log1p(-probabilities[a][b]);
+            }
+        }
+        int[] blockOf = new int[numberOfNodes];
+        for (int a = 0; a < blocks; a++) {
+            Arrays.fill(blockOf, starts[a], starts[a + 1], a);
+        }
+
+        long[] edges = generateInBlocks(numberOfNodes, seed, expected / numberOfNodes, (source, random, buffer) -> {
+            int a = blockOf[source];
+            for (int b = a; b < blocks; b++) {
+                double p = probabilities[a][b];
+                if (p == 0) continue;
+                int end = starts[b + 1];
+                long target = Math.max(source + 1, starts[b]);
+                if (p < 1) target = nextSuccess(target - 1, logFailure[a][b], random);
+                while (target < end) {
+                    buffer.add(source, (int) target);
+                    target = p < 1 ? nextSuccess(target, logFailure[a][b], random) : target + 1;
+                }
+            }
+        });
+        int count = GraphBuilder.sortUnique(edges, edges.length);
+        return snapshot(createNodes(numberOfNodes), edges, count);
+    }
+
+    /**
+     * Приемник ребер, заданных индексами узлов.
+     */
+    @FunctionalInterface
+    interface EdgeSink {
+        void accept(int from, int to);
+    }
+
+    private static void validate(int numberOfNodes, int maxConnectionsPerNode) {
+        if (numberOfNodes <= 0 || maxConnectionsPerNode < 0) {
+            throw new IllegalArgumentException("Invalid parameters");
+        }
+    }
+
+    /**
+     * Выбирает случайные ребра так, чтобы степень ни одного узла не превышала
+     * {@code maxConnectionsPerNode}. Степени и уже выбранные соседи хранятся в примитивных
+     * структурах, поэтому проверки не обращаются к графу.
+     */
+    private static void generateEdges(int numberOfNodes, int maxConnectionsPerNode, Random random, EdgeSink sink,
+                                      IntConsumer progress) {
+        int[] degree = new int[numberOfNodes];
+        IntHashSet[] chosen = new IntHashSet[numberOfNodes];
+        int expectedDegree = Math.min(maxConnectionsPerNode, numberOfNodes - 1);
+        for (int i = 0; i < numberOfNodes; i++) {
+            chosen[i] = new IntHashSet(expectedDegree);
+        }
+
+        for (int from = 0; from < numberOfNodes; from++) {
+            if (from % PROGRESS_STEP == 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Генерация отменена");
+                }
+                progress.accept(from);
+            }
             int connections = random.nextInt(maxConnectionsPerNode + 1);
             int attempts = 0;
-            while (graph.getConnections(from).size() < connections && attempts < nodes.size() * 2) {
-                Node to = nodes.get(random.nextInt(nodes.size()));
-                if (!from.equals(to) && !graph.hasEdge(from, to)) {
-                    graph.addEdge(from, to);
+            while (degree[from] < connections && attempts < numberOfNodes * 2) {
+                int to = random.nextInt(numberOfNodes);
+                if (to != from && degree[to] < maxConnectionsPerNode && chosen[from].add(to)) {
+                    chosen[to].add(from);
+                    degree[from]++;
+                    degree[to]++;
+                    sink.accept(from, to);
                 }
                 attempts++;
             }
         }
+        progress.accept(numberOfNodes);
+    }
 
-        return graph;
+    /**
+     * Генератор ребер одного узла для {@link #generateInBlocks}.
+     */
+    @FunctionalInterface
+    private interface NodeEdges {
+        void generate(int node, SplittableRandom random, EdgeBuffer buffer);
     }
 
     /**
-     * Загружает список имен из файла.
+     * Растущий буфер ребер, закодированных {@link GraphBuilder#encode}.
+     */
+    private static final class EdgeBuffer {
+        private long[] edges;
+        private int count;
+
+        EdgeBuffer(int capacity) {
+            edges = new long[Math.max(16, capacity)];
+        }
+
+        void add(int from, int to) {
+            if (count == edges.length) {
+                long grown = Math.min((long) edges.length * 2, Integer.MAX_VALUE - 8);
+                if (grown == edges.length) {
+                    throw new IllegalArgumentException("Слишком много ребер: " + grown);
+                }
+                edges = Arrays.copyOf(edges, (int) grown);
+            }
+            edges[count++] = GraphBuilder.encode(from, to);
+        }
+    }
+
+    /**
+     * Генерирует ребра параллельно по блокам узлов. Каждый блок получает собственный
+     * {@link SplittableRandom}, и потоки блоков выводятся из seed последовательно через split(),
+     * поэтому не пересекаются, а результат не зависит от количества потоков.
+     *
+     * @param expectedPerNode ожидаемое количество ребер на узел (для начального размера буферов)
+     * @return несортированные ребра всех блоков
+     */
+    private static long[] generateInBlocks(int numberOfNodes, long seed, double expectedPerNode, NodeEdges generator) {
+        int blocks = (numberOfNodes + SEED_BLOCK_SIZE - 1) / SEED_BLOCK_SIZE;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[blocks];
+        for (int block = 0; block < blocks; block++) {
+            randoms[block] = root.split();
+        }
+
+        EdgeBuffer[] buffers = new EdgeBuffer[blocks];
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            int from = block * SEED_BLOCK_SIZE;
+            int to = Math.min(numberOfNodes, from + SEED_BLOCK_SIZE);
+            EdgeBuffer buffer = new EdgeBuffer((int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.ceil((to - from) * expectedPerNode)));
+            for (int node = from; node < to; node++) {
+                generator.generate(node, randoms[block], buffer);
+            }
+            buffers[block] = buffer;
+        });
+
+        long[] offsets = new long[blocks + 1];
+        for (int block = 0; block < blocks; block++) {
+            offsets[block + 1] = offsets[block] + buffers[block].count;
+        }
+        checkEdgeCount(offsets[blocks]);
+        long[] edges = new long[(int) offsets[blocks]];
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            System.arraycopy(buffers[block].edges, 0, edges, (int) offsets[block], buffers[block].count);
+            buffers[block] = null;
+        });
+        return edges;
+    }
+
+    /**
+     * Возвращает позицию следующего успеха в последовательности испытаний Бернулли после position:
+     * длина серии неудач выбирается из геометрического распределения одним случайным числом.
+     *
+     * @param logFailure натуральный логарифм вероятности неудачи, {@code log(1 - p)}
+     */
+    static long nextSuccess(long position, double logFailure, SplittableRandom random) {
+        double skip = Math.floor(Math.log1p(-random.nextDouble()) / logFailure);
+        return position + 1 + (long) Math.min(skip, Integer.MAX_VALUE);
+    }
+
+    private static Object[] createNodes(int numberOfNodes) {
+        List<String> names = loadNamesFromFile("name.txt", numberOfNodes);
+        Object[] nodes = new Object[numberOfNodes];
+        IntStream.range(0, numberOfNodes).parallel()
+                .forEach(i -> nodes[i] = new Node(String.valueOf(i), names.get(i)));
+        return nodes;
+    }
+
+    /**
+     * Собирает снимок из узлов и отсортированных уникальных ребер.
+     */
+    private static CsrGraph<Node> snapshot(Object[] nodes, long[] edges, int count) {
+        Map<Node, Integer> indexByNode = new HashMap<>(CsrGraph.capacityFor(nodes.length));
+        for (int i = 0; i < nodes.length; i++) {
+            indexByNode.put((Node) nodes[i], i);
+        }
+        return GraphBuilder.toCsr(nodes, indexByNode, edges, count);
+    }
+
+    private static void checkEdgeCount(long edges) {
+        if (edges > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Слишком много ребер: " + edges);
+        }
+    }
+
+    private static void checkProbability(double probability) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Вероятность должна быть от 0 до 1: " + probability);
+        }
+    }
+
+    /**
+     * Возвращает имена для узлов графа: имена из файла идут по кругу, а при повторном
+     * проходе к ним добавляется номер круга ("Анна", ..., "Анна 2", ...). Если файла нет
+     * или он пуст, используются синтетические имена "User N".
      *
      * @param filePath путь к файлу с именами
      * @param requiredCount требуемое количество имен
-     * @return список имен из файла
-     * @throws IllegalArgumentException если в файле недостаточно имен
+     * @return список имен длины requiredCount (вычисляемых по запросу)
      * @throws RuntimeException если произошла ошибка при чтении файла
      */
-    private static List<String> loadNamesFromFile(String filePath, int requiredCount) {
+    static List<String> loadNamesFromFile(String filePath, int requiredCount) {
+        List<String> names;
         try {
-            List<String> names = Files.readAllLines(Paths.get(filePath));
-            if (names.size() < requiredCount) {
-                throw new IllegalArgumentException("Недостаточно имён в " + filePath +
-                        ". Требуется: " + requiredCount + ", найдено: " + names.size());
-            }
-            return names;
+            Path path = Paths.get(filePath);
+            names = Files.exists(path) ? Files.readAllLines(path) : List.of();
         } catch (IOException e) {
             throw new RuntimeException("Ошибка чтения файла " + filePath + ": " + e.getMessage(), e);
         }
+
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                Objects.checkIndex(index, requiredCount);
+                if (names.isEmpty()) return "User " + index;
+                String name = names.get(index % names.size());
+                int round = index / names.size();
+                return round == 0 ? name : name + " " + (round + 1);
+            }
+
+            @Override
+            public int size() {
+                return requiredCount;
+            }
+        };
     }
 }
\ No newline at end of file
@@ -0,0 +1,312 @@
+package com.example.socialgraph;
+
+import java.util.*;
+
+/**
+ * Запросы о кратчайших путях между узлами («через кого A знаком с B»).
+ *
+ * <p>Используется двунаправленный поиск в ширину: волны расходятся одновременно от обоих
+ * узлов, и на каждом шаге расширяется меньшая граница (по сумме степеней ее узлов).
+ * В социальных графах с высокой степенью это просматривает на порядки меньше узлов,
+ * чем обычный поиск в ширину от одного конца.</p>
+ *
+ * <p>Для {@link CsrGraph} поиск работает по целочисленным индексам: посещенные узлы
+ * отмечаются в {@link BitSet}, а границы хранятся в массивах {@code int}, без объектов-оберток.
+ * Для остальных реализаций {@link Graph} используются хеш-таблицы, поэтому для частых
+ * запросов к большому графу выгодно один раз построить снимок {@link CsrGraph#of(Graph)}.</p>
+ *
+ * @example Пример использования:
+ * {@code
+ * List<Node> path = GraphPaths.shortestPath(graph, alice, bob);
+ * int hops = GraphPaths.distance(graph, alice, bob, 3); // -1, если дальше трех рукопожатий
+ * }
+ */
+public final class GraphPaths {
+
+    private GraphPaths() {
+    }
+
+    /**
+     * Находит один из кратчайших путей между узлами.
+     *
+     * @param <T> тип узлов графа
+     * @param graph граф (не может быть null)
+     * @param from начальный узел (не может быть null)
+     * @param to конечный узел (не может быть null)
+     * @return узлы пути от from до to включительно; список из одного узла, если from равен to;
+     *         пустой список, если пути нет или узла нет в графе
+     * @throws IllegalArgumentException если любой из аргументов равен null
+     */
+    public static <T> List<T> shortestPath(Graph<T> graph, T from, T to) {
+        validate(graph, from, to);
+        if (graph instanceof CsrGraph<T> csr) {
+            int source = csr.indexOf(from);
+            int target = csr.indexOf(to);
+            if (source < 0 || target < 0) return List.of();
+            IndexSearch search = new IndexSearch(csr.offsets(), csr.targets(), source, target);
+            if (search.run(Integer.MAX_VALUE) < 0) return List.of();
+            int[] path = search.path();
+            List<T> result = new ArrayList<>(path.length);
+            for (int index : path) {
+                result.add(csr.nodeAt(index));
+            }
+            return result;
+        }
+        ObjectSearch<T> search = new ObjectSearch<>(graph, from, to);
+        return search.run(Integer.MAX_VALUE) < 0 ? List.of() : search.path();
+    }
+
+    /**
+     * Вычисляет расстояние между узлами в ребрах, не заглядывая дальше maxHops:
+     * поиск останавливается, как только сумма глубин двух волн достигает ограничения.
+     *
+     * @param <T> тип узлов графа
+     * @param graph граф (не может быть null)
+     * @param from начальный узел (не может быть null)
+     * @param to конечный узел (не может быть null)
+     * @param maxHops максимальное расстояние (не может быть отрицательным)
+     * @return количество ребер кратчайшего пути, или -1 если пути длиной не больше maxHops нет
+     *         или узла нет в графе
+     * @throws IllegalArgumentException если аргументы равны null или maxHops отрицателен
+     */
+    public static <T> int distance(Graph<T> graph, T from, T to, int maxHops) {
+        validate(graph, from, to);
+        if (maxHops < 0) {
+            throw new IllegalArgumentException("Максимальное расстояние не может быть отрицательным: " + maxHops);
+        }
+        if (graph instanceof CsrGraph<T> csr) {
+            int source = csr.indexOf(from);
+            int target = csr.indexOf(to);
+            if (source < 0 || target < 0) return -1;
+            return new IndexSearch(csr.offsets(), csr.targets(), source, target).run(maxHops);
+        }
+        return new ObjectSearch<>(graph, from, to).run(maxHops);
+    }
+
+    private static void validate(Graph<?> graph, Object from, Object to) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Узлы не могут быть null");
+        }
+    }
+
+    /**
+     * Двунаправленный поиск по массивам CSR. Уровни обеих волн сохраняются,
+     * чтобы восстановить путь без массивов предков размером с граф.
+     */
+    private static final class IndexSearch {
+        private final int[] offsets;
+        private final int[] targets;
+        private final int source;
+        private final int target;
+        private final BitSet[] seen = new BitSet[2];
+        private final List<List<int[]>> levels = List.of(new ArrayList<>(), new ArrayList<>());
+        private final long[] volume = new long[2];
+        /** Ребро встречи: конец, найденный волной от source, и конец, найденный волной от target. */
+        private int meetFrom = -1;
+        private int meetTo = -1;
+
+        IndexSearch(int[] offsets, int[] targets, int source, int target) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.source = source;
+            this.target = target;
+        }
+
+        /**
+         * @return длина кратчайшего пути, или -1 если пути длиной не больше maxHops нет
+         */
+        int run(int maxHops) {
+            if (source == target) return 0;
+            int n = offsets.length - 1;
+            for (int side = 0; side < 2; side++) {
+                int start = side == 0 ? source : target;
+                seen[side] = new BitSet(n);
+                seen[side].set(start);
+                levels.get(side).add(new int[]{start});
+                volume[side] = degree(start);
+            }
+
+            int hops = 0;
+            while (hops < maxHops && volume[0] > 0 && volume[1] > 0) {
+                int side = volume[0] <= volume[1] ? 0 : 1;
+                hops++;
+                if (expand(side)) return hops;
+            }
+            return -1;
+        }
+
+        /**
+         * Расширяет волну на один уровень.
+         *
+         * @return true если волна встретилась с противоположной
+         */
+        private boolean expand(int side) {
+            List<int[]> sideLevels = levels.get(side);
+            int[] frontier = sideLevels.get(sideLevels.size() - 1);
+            BitSet own = seen[side];
+            BitSet other = seen[1 - side];
+            int[] next = new int[Math.max(16, frontier.length)];
+            int count = 0;
+            long nextVolume = 0;
+            for (int u : frontier) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int w = targets[e];
+                    if (other.get(w)) {
+                        meetFrom = side == 0 ? u : w;
+                        meetTo = side == 0 ? w : u;
+                        return true;
+                    }
+                    if (!own.get(w)) {
+                        own.set(w);
+                        if (count == next.length) next = Arrays.copyOf(next, count * 2);
+                        next[count++] = w;
+                        nextVolume += degree(w);
+                    }
+                }
+            }
+            sideLevels.add(Arrays.copyOf(next, count));
+            volume[side] = nextVolume;
+            return false;
+        }
+
+        /**
+         * Восстанавливает путь после успешного {@link #run}: от каждого конца ребра встречи
+         * спускается по уровням своей волны, на каждом уровне выбирая соседа из предыдущего уровня.
+         */
+        int[] path() {
+            if (source == target) return new int[]{source};
+            // Уровни нужны только здесь, поэтому сортируются для бинарного поиска лишь сейчас
+            for (List<int[]> sideLevels : levels) {
+                for (int[] level : sideLevels) {
+                    Arrays.sort(level);
+                }
+            }
+            int forwardDepth = depthOf(0, meetFrom);
+            int backwardDepth = depthOf(1, meetTo);
+            int[] path = new int[forwardDepth + backwardDepth + 2];
+            int current = meetFrom;
+            for (int level = forwardDepth; level >= 0; level--) {
+                path[level] = current;
+                if (level > 0) current = predecessor(0, current, level - 1);
+            }
+            current = meetTo;
+            for (int level = backwardDepth; level >= 0; level--) {
+                path[path.length - 1 - level] = current;
+                if (level > 0) current = predecessor(1, current, level - 1);
+            }
+            return path;
+        }
+
+        private int depthOf(int side, int node) {
+            List<int[]> sideLevels = levels.get(side);
+            for (int level = sideLevels.size() - 1; level >= 0; level--) {
+                if (contains(sideLevels.get(level), node)) return level;
+            }
+            throw new IllegalStateException("Узел не найден в волне: " + node);
+        }
+
+        private int predecessor(int side, int node, int level) {
+            int[] candidates = levels.get(side).get(level);
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                if (contains(candidates, targets[e])) return targets[e];
+            }
+            throw new IllegalStateException("Предшественник не найден: " + node);
+        }
+
+        private static boolean contains(int[] level, int node) {
+            return Arrays.binarySearch(level, node) >= 0;
+        }
+
+        private int degree(int node) {
+            return offsets[node + 1] - offsets[node];
+        }
+    }
+
+    /**
+     * Двунаправленный поиск для произвольной реализации {@link Graph}: предки узлов
+     * каждой волны хранятся в хеш-таблице.
+     */
+    private static final class ObjectSearch<T> {
+        private final Graph<T> graph;
+        private final T source;
+        private final T target;
+        private final List<Map<T, T>> parents = List.of(new HashMap<>(), new HashMap<>());
+        private final List<List<T>> frontiers = new ArrayList<>(2);
+        private final long[] volume = new long[2];
+        private T meetFrom;
+        private T meetTo;
+
+        ObjectSearch(Graph<T> graph, T source, T target) {
+            this.graph = graph;
+            this.source = source;
+            this.target = target;
+        }
+
+        /**
+         * @return длина кратчайшего пути, или -1 если пути длиной не больше maxHops нет
+         */
+        int run(int maxHops) {
+            Set<T> all = graph.getAllNodes();
+            if (!all.contains(source) || !all.contains(target)) return -1;
+            if (source.equals(target)) return 0;
+
+            for (int side = 0; side < 2; side++) {
+                T start = side == 0 ? source : target;
+                parents.get(side).put(start, null);
+                frontiers.add(List.of(start));
+                volume[side] = graph.getConnections(start).size();
+            }
+
+            int hops = 0;
+            while (hops < maxHops && volume[0] > 0 && volume[1] > 0) {
+                int side = volume[0] <= volume[1] ? 0 : 1;
+                hops++;
+                if (expand(side)) return hops;
+            }
+            return -1;
+        }
+
+        private boolean expand(int side) {
+            Map<T, T> own = parents.get(side);
+            Map<T, T> other = parents.get(1 - side);
+            List<T> next = new ArrayList<>();
+            long nextVolume = 0;
+            for (T u : frontiers.get(side)) {
+                for (T w : graph.getConnections(u)) {
+                    if (other.containsKey(w)) {
+                        meetFrom = side == 0 ? u : w;
+                        meetTo = side == 0 ? w : u;
+                        return true;
+                    }
+                    if (!own.containsKey(w)) {
+                        own.put(w, u);
+                        next.add(w);
+                        nextVolume += graph.getConnections(w).size();
+                    }
+                }
+            }
+            frontiers.set(side, next);
+            volume[side] = nextVolume;
+            return false;
+        }
+
+        /**
+         * Восстанавливает путь после успешного {@link #run} по предкам обеих волн.
+         */
+        List<T> path() {
+            if (source.equals(target)) return List.of(source);
+            List<T> path = new ArrayList<>();
+            for (T node = meetFrom; node != null; node = parents.get(0).get(node)) {
+                path.add(node);
+            }
+            Collections.reverse(path);
+            for (T node = meetTo; node != null; node = parents.get(1).get(node)) {
+                path.add(node);
+            }
+            return path;
+        }
+    }
+}
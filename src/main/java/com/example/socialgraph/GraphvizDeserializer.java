@@ -1,9 +1,13 @@
 package com.example.socialgraph;
 
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.BitSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.regex.Pattern;
-import java.util.regex.Matcher;
 
 /**
  * Класс для десериализации графов из формата DOT (Graphviz).
@@ -27,37 +31,187 @@ public class GraphvizDeserializer {
      *     str -> new Node(str, str));
      * }
      *
-     * @description Поддерживается следующий синтаксис DOT:
+     * @description Поддерживается следующий синтаксис DOT (подробнее см. {@link DotParser}):
      * - Объявление узла: "node_id";
      * - Объявление ребра: "node1" -- "node2";
      */
     public static <T> SocialGraph<T> deserialize(String dot, Function<String, T> stringToNode) {
-        SocialGraph<T> graph = new SocialGraph<>();
-        Pattern nodePattern = Pattern.compile("\\s*\"([^\"]+)\"\\s*;");
-        Pattern edgePattern = Pattern.compile("\\s*\"([^\"]+)\"\\s*--\\s*\"([^\"]+)\"\\s*;");
-
-        Scanner scanner = new Scanner(dot);
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine().trim();
-
-            Matcher edgeMatcher = edgePattern.matcher(line);
-            Matcher nodeMatcher = nodePattern.matcher(line);
-
-            if (edgeMatcher.matches()) {
-                String str1 = edgeMatcher.group(1);
-                String str2 = edgeMatcher.group(2);
-                T node1 = stringToNode.apply(str1);
-                T node2 = stringToNode.apply(str2);
-                graph.addNode(node1);
-                graph.addNode(node2);
-                graph.addEdge(node1, node2);
-            } else if (nodeMatcher.matches()) {
-                String str = nodeMatcher.group(1);
-                T node = stringToNode.apply(str);
-                graph.addNode(node);
-            }
+        try {
+            return deserialize(new StringReader(dot), stringToNode);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringReader не бросает IOException
         }
+    }
+
+    /**
+     * Десериализует граф из строки в формате DOT в переданный граф.
+     * Позволяет загружать данные в любую реализацию {@link Graph},
+     * например в {@link IntSocialGraph}.
+     *
+     * @param <T> тип узлов графа
+     * @param <G> тип графа-приемника
+     * @param dot строка с описанием графа в формате DOT
+     * @param stringToNode функция преобразования строки в узел графа типа T
+     * @param graph граф, в который добавляются узлы и ребра
+     * @return переданный граф
+     * @throws IllegalArgumentException если входная строка имеет некорректный формат
+     */
+    public static <T, G extends Graph<T>> G deserialize(String dot, Function<String, T> stringToNode, G graph) {
+        try {
+            return deserialize(new StringReader(dot), stringToNode, graph);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringReader не бросает IOException
+        }
+    }
+
+    /**
+     * Потоково десериализует граф из источника символов в формате DOT.
+     * Входные данные не загружаются в память целиком: узлы и ребра передаются
+     * в {@link GraphBuilder} по мере разбора.
+     *
+     * @param <T> тип узлов графа
+     * @param reader источник символов (не закрывается)
+     * @param stringToNode функция преобразования строки в узел графа типа T
+     * @return граф SocialGraph<T>, построенный на основе входных данных
+     * @throws IOException если произошла ошибка чтения
+     * @throws IllegalArgumentException если входные данные имеют некорректный формат
+     */
+    public static <T> SocialGraph<T> deserialize(Reader reader, Function<String, T> stringToNode) throws IOException {
+        GraphBuilder<T> builder = new GraphBuilder<>();
+        new DotParser(reader).parse(handler(stringToNode, builder::addNode, builder::addEdge));
+        return builder.build();
+    }
 
+    /**
+     * Потоково десериализует граф из источника символов в формате DOT в переданный граф.
+     *
+     * @param <T> тип узлов графа
+     * @param <G> тип графа-приемника
+     * @param reader источник символов (не закрывается)
+     * @param stringToNode функция преобразования строки в узел графа типа T
+     * @param graph граф, в который добавляются узлы и ребра
+     * @return переданный граф
+     * @throws IOException если произошла ошибка чтения
+     * @throws IllegalArgumentException если входные данные имеют некорректный формат
+     */
+    public static <T, G extends Graph<T>> G deserialize(Reader reader, Function<String, T> stringToNode, G graph)
+            throws IOException {
+        new DotParser(reader).parse(handler(stringToNode, graph::addNode, (node1, node2) -> {
+            graph.addNode(node1);
+            graph.addNode(node2);
+            graph.addEdge(node1, node2);
+        }));
         return graph;
     }
-}
\ No newline at end of file
+
+    /**
+     * Создает обработчик разборщика, преобразующий идентификаторы в узлы.
+     */
+    static <T> DotParser.Handler handler(Function<String, T> stringToNode,
+                                         Consumer<T> onNode, BiConsumer<T, T> onEdge) {
+        return new DotParser.Handler() {
+            @Override
+            public void node(String id, String label) {
+                onNode.accept(stringToNode.apply(id));
+            }
+
+            @Override
+            public void edge(String from, String to) {
+                onEdge.accept(stringToNode.apply(from), stringToNode.apply(to));
+            }
+        };
+    }
+
+    /**
+     * Десериализует граф узлов {@link Node} из строки в формате DOT с атрибутами {@code label}.
+     *
+     * @param dot строка с описанием графа в формате DOT
+     * @return граф SocialGraph<Node>
+     * @throws IllegalArgumentException если входная строка имеет некорректный формат
+     * @see #deserializeWithLabels(Reader)
+     */
+    public static SocialGraph<Node> deserializeWithLabels(String dot) {
+        try {
+            return deserializeWithLabels(new StringReader(dot));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringReader не бросает IOException
+        }
+    }
+
+    /**
+     * Потоково десериализует граф узлов {@link Node}, записанный
+     * {@link GraphvizSerializer#serializeWithLabels}: идентификатор DOT становится
+     * {@link Node#getId()}, а атрибут {@code label} — {@link Node#getName()}.
+     *
+     * <p>Узлы без атрибута {@code label} считаются записанными в старом формате
+     * {@code "имя (id)"} ({@link Node#toString()}). Повторяющиеся хвосты вида
+     * {@code "Лена (7) (Лена (7))"}, появлявшиеся при пересохранении, схлопываются.
+     * Если ребро встречается раньше объявления своего узла, имя берется из объявления;
+     * при повторных объявлениях действует первое.</p>
+     *
+     * @param reader источник символов (не закрывается)
+     * @return граф SocialGraph<Node>
+     * @throws IOException если произошла ошибка чтения
+     * @throws IllegalArgumentException если входные данные имеют некорректный формат
+     */
+    public static SocialGraph<Node> deserializeWithLabels(Reader reader) throws IOException {
+        GraphBuilder<Node> builder = new GraphBuilder<>();
+        // Узлы, встреченные только как концы ребер: их имя уточнит позднее объявление
+        BitSet declared = new BitSet();
+        new DotParser(reader).parse(new DotParser.Handler() {
+            @Override
+            public void node(String id, String label) {
+                Node node = label != null ? new Node(id, label) : parseLegacyNode(id);
+                int index = builder.indexOf(node);
+                if (index < 0) {
+                    index = builder.addNode(node);
+                } else if (!declared.get(index)) {
+                    builder.replaceNode(index, node);
+                }
+                declared.set(index);
+            }
+
+            @Override
+            public void edge(String from, String to) {
+                builder.addEdgeByIndex(resolve(from), resolve(to));
+            }
+
+            private int resolve(String id) {
+                int index = builder.indexOf(new Node(id, id));
+                return index >= 0 ? index : builder.addNode(parseLegacyNode(id));
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * Восстанавливает узел из строки старого формата {@code "имя (id)"}.
+     * Если хвост в скобках совпадает с предшествующим текстом, он считается результатом
+     * повторного сохранения и отбрасывается. Строка без скобок становится и id, и именем.
+     */
+    static Node parseLegacyNode(String text) {
+        String current = text;
+        while (current.endsWith(")")) {
+            int depth = 0;
+            int open = -1;
+            for (int i = current.length() - 1; i >= 0; i--) {
+                char c = current.charAt(i);
+                if (c == ')') {
+                    depth++;
+                } else if (c == '(' && --depth == 0) {
+                    open = i;
+                    break;
+                }
+            }
+            if (open <= 0 || current.charAt(open - 1) != ' ') break;
+
+            String prefix = current.substring(0, open - 1);
+            String inner = current.substring(open + 1, current.length() - 1);
+            if (!inner.equals(prefix)) {
+                return new Node(inner, prefix);
+            }
+            current = prefix;
+        }
+        return new Node(current, current);
+    }
+}
@@ -1,13 +1,68 @@
 package com.example.socialgraph;
 
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
 
 /**
  * Класс для визуализации графов в формате PNG с использованием Graphviz.
  * Требует установленного в системе пакета Graphviz.
+ *
+ * <p>Экземпляр класса передает DOT процессу Graphviz через stdin и читает готовое изображение
+ * из stdout, без временных файлов. Потоки процесса вычитываются параллельно, поэтому
+ * большой вывод или поток ошибок не блокируют процесс. Экземпляр неизменяем и может
+ * использоваться из нескольких потоков.</p>
+ *
+ * @example Пример использования:
+ * {@code
+ * GraphvizRenderer renderer = new GraphvizRenderer("dot", Duration.ofSeconds(30));
+ * byte[] png = renderer.render(graph, "png");
+ * }
  */
 public class GraphvizRenderer {
 
+    /** Время ожидания одного процесса по умолчанию. */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * Источник текста DOT, записываемого в stdin процесса.
+     */
+    @FunctionalInterface
+    private interface DotSource {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private final String command;
+    private final Duration timeout;
+
+    /**
+     * Создает рендерер, вызывающий команду {@code dot} из PATH с таймаутом {@link #DEFAULT_TIMEOUT}.
+     */
+    public GraphvizRenderer() {
+        this("dot", DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Создает рендерер с указанной командой Graphviz.
+     *
+     * @param command исполняемый файл (например "dot", "neato" или полный путь)
+     * @param timeout максимальное время работы одного процесса
+     * @throws IllegalArgumentException если command пуста или timeout не положителен
+     */
+    public GraphvizRenderer(String command, Duration timeout) {
+        if (command == null || command.isBlank()) {
+            throw new IllegalArgumentException("Команда Graphviz не может быть пустой");
+        }
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Таймаут должен быть положительным");
+        }
+        this.command = command;
+        this.timeout = timeout;
+    }
+
     /**
      * Генерирует PNG-изображение графа из DOT-файла.
      *
@@ -32,10 +87,166 @@ public class GraphvizRenderer {
         );
         pb.redirectErrorStream(true);
         Process process = pb.start();
+        // Вывод нужно вычитать, иначе процесс может зависнуть на заполненном канале
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
         int exitCode = process.waitFor();
 
         if (exitCode != 0) {
-            throw new RuntimeException("Ошибка генерации PNG: код " + exitCode);
+            throw new RuntimeException("Ошибка генерации PNG: код " + exitCode + message(output));
+        }
+    }
+
+    /**
+     * Отрисовывает граф, передавая его DOT-представление ({@link GraphvizSerializer}) в stdin процесса.
+     *
+     * @param graph граф (не может быть null)
+     * @param format выходной формат Graphviz (например "png" или "svg")
+     * @return содержимое изображения
+     * @throws IOException если процесс не запустился, завершился с ошибкой или превысил таймаут
+     * @throws InterruptedException если поток был прерван во время ожидания
+     * @throws IllegalArgumentException если graph равен null или format пуст
+     */
+    public byte[] render(Graph<?> graph, String format) throws IOException, InterruptedException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        return run(format, out -> GraphvizSerializer.serialize(graph, out));
+    }
+
+    /**
+     * Отрисовывает произвольный текст DOT.
+     *
+     * @param dot источник текста DOT (не закрывается)
+     * @param format выходной формат Graphviz (например "png" или "svg")
+     * @return содержимое изображения
+     * @throws IOException если процесс не запустился, завершился с ошибкой или превысил таймаут
+     * @throws InterruptedException если поток был прерван во время ожидания
+     * @throws IllegalArgumentException если dot равен null или format пуст
+     */
+    public byte[] render(Reader dot, String format) throws IOException, InterruptedException {
+        if (dot == null) {
+            throw new IllegalArgumentException("Источник не может быть null");
+        }
+        return run(format, out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            dot.transferTo(writer);
+            writer.flush();
+        });
+    }
+
+    /**
+     * Отрисовывает набор графов на ограниченном пуле потоков: одновременно работает
+     * не больше {@code parallelism} процессов Graphviz. Готовые изображения передаются
+     * в {@code sink} по мере готовности (из рабочих потоков), поэтому все результаты
+     * не накапливаются в памяти. Ошибка одного графа не прерывает остальные.
+     *
+     * @param graphs графы по ключам (например, id центрального узла эго-сети)
+     * @param format выходной формат Graphviz
+     * @param parallelism максимальное количество одновременных процессов
+     * @param sink получатель изображений; должен быть потокобезопасным
+     * @param <K> тип ключа
+     * @return ошибки по ключам графов, которые не удалось отрисовать (пустая при успехе)
+     * @throws InterruptedException если поток был прерван; незавершенные процессы останавливаются
+     * @throws IllegalArgumentException если аргументы равны null, format пуст или parallelism не положителен
+     */
+    public <K> Map<K, Exception> renderAll(Map<K, ? extends Graph<?>> graphs, String format, int parallelism,
+                                           BiConsumer<K, byte[]> sink) throws InterruptedException {
+        if (graphs == null || sink == null) {
+            throw new IllegalArgumentException("Графы и получатель не могут быть null");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Количество потоков должно быть положительным");
+        }
+        checkFormat(format);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, graphs.size())));
+        try {
+            Map<K, Future<?>> futures = new LinkedHashMap<>();
+            for (Map.Entry<K, ? extends Graph<?>> entry : graphs.entrySet()) {
+                K key = entry.getKey();
+                Graph<?> graph = entry.getValue();
+                futures.put(key, pool.submit(() -> {
+                    sink.accept(key, render(graph, format));
+                    return null;
+                }));
+            }
+
+            Map<K, Exception> failures = new LinkedHashMap<>();
+            for (Map.Entry<K, Future<?>> entry : futures.entrySet()) {
+                try {
+                    entry.getValue().get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    failures.put(entry.getKey(), cause instanceof Exception ex ? ex : e);
+                }
+            }
+            return failures;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private byte[] run(String format, DotSource source) throws IOException, InterruptedException {
+        checkFormat(format);
+        Process process = new ProcessBuilder(command, "-T" + format).start();
+
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        Throwable[] inputFailure = new Throwable[1];
+
+        Thread input = Thread.ofVirtual().start(() -> {
+            try (OutputStream in = new BufferedOutputStream(process.getOutputStream())) {
+                source.writeTo(in);
+            } catch (IOException | RuntimeException e) {
+                inputFailure[0] = e;
+            }
+        });
+        Thread output = Thread.ofVirtual().start(() -> drain(process.getInputStream(), stdout));
+        Thread errors = Thread.ofVirtual().start(() -> drain(process.getErrorStream(), stderr));
+
+        try {
+            if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Graphviz не завершился за " + timeout.toMillis() + " мс");
+            }
+            input.join();
+            output.join();
+            errors.join();
+        } finally {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+
+        int exitCode = process.exitValue();
+        if (exitCode != 0) {
+            throw new IOException("Ошибка генерации изображения: код " + exitCode
+                    + message(stderr.toString(StandardCharsets.UTF_8)));
+        }
+        if (inputFailure[0] instanceof RuntimeException e) {
+            throw e;
+        }
+        if (inputFailure[0] != null) {
+            throw new IOException("Ошибка передачи графа в Graphviz: " + inputFailure[0].getMessage(), inputFailure[0]);
+        }
+        return stdout.toByteArray();
+    }
+
+    private static void drain(InputStream in, ByteArrayOutputStream target) {
+        try (in) {
+            in.transferTo(target);
+        } catch (IOException e) {
+            // Поток закрывается при принудительной остановке процесса
+        }
+    }
+
+    private static String message(String output) {
+        String trimmed = output.strip();
+        return trimmed.isEmpty() ? "" : ": " + trimmed;
+    }
+
+    private static void checkFormat(String format) {
+        if (format == null || format.isBlank()) {
+            throw new IllegalArgumentException("Формат не может быть пустым");
         }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,10 @@
 package com.example.socialgraph;
 
-import java.util.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Класс для сериализации графов в формат DOT (Graphviz).
@@ -29,49 +33,215 @@ public class GraphvizSerializer {
      * 1. Все узлы перечисляются отдельными строками
      * 2. Все связи между узлами добавляются после узлов
      * 3. Каждое ребро добавляется только один раз (для неориентированных графов)
+     *
+     * @see #serialize(Graph, Writer)
      */
     public static <T> String serialize(Graph<T> graph) {
         if (graph == null) {
             throw new IllegalArgumentException("Граф не может быть null");
         }
 
-        StringBuilder builder = new StringBuilder();
-        builder.append("graph SocialGraph {\n");
+        StringWriter writer = new StringWriter();
+        try {
+            serialize(graph, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter не бросает IOException
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Потоково сериализует граф в формат DOT в байтовый поток в кодировке UTF-8.
+     * Поток не закрывается, но буферизованные данные сбрасываются в него.
+     *
+     * @param <T> тип узлов графа
+     * @param graph граф для сериализации (не может быть null)
+     * @param out выходной поток (не может быть null)
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если граф или поток равны null
+     */
+    public static <T> void serialize(Graph<T> graph, OutputStream out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Поток не может быть null");
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        serialize(graph, writer);
+        writer.flush();
+    }
+
+    /**
+     * Потоково сериализует граф в формат DOT.
+     * Документ не собирается в памяти: каждая строка сразу передается в writer.
+     * Каждое неориентированное ребро выводится один раз — со стороны узла с меньшим
+     * порядковым номером.
+     *
+     * <p>Для {@link CsrGraph} порядковые номера — индексы снимка, и дополнительная память
+     * не нужна. Для остальных графов строится {@link HashMap} из каждого узла в его номер:
+     * O(V) упакованных записей (порядка 50–60 байт на узел), поэтому для очень больших графов
+     * выгоднее сначала построить снимок {@link CsrGraph#of}.</p>
+     *
+     * @param <T> тип узлов графа
+     * @param graph граф для сериализации (не может быть null)
+     * @param writer приемник символов (не закрывается)
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если граф или writer равны null
+     */
+    public static <T> void serialize(Graph<T> graph, Writer writer) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (writer == null) {
+            throw new IllegalArgumentException("Приемник не может быть null");
+        }
+
+        writeDocument(graph, writer, Object::toString, null);
+    }
+
+    /**
+     * Сериализует граф узлов {@link Node} в строку формата DOT с короткими идентификаторами.
+     *
+     * @param graph граф для сериализации (не может быть null)
+     * @return строковое представление графа в формате DOT
+     * @throws IllegalArgumentException если переданный граф равен null
+     * @see #serializeWithLabels(Graph, Writer)
+     */
+    public static String serializeWithLabels(Graph<Node> graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+
+        StringWriter writer = new StringWriter();
+        try {
+            serializeWithLabels(graph, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter не бросает IOException
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Потоково сериализует граф узлов {@link Node} в формат DOT, в котором идентификатором
+     * узла служит {@link Node#getId()}, а имя передается атрибутом {@code label}.
+     * Ребра ссылаются только на короткие идентификаторы, поэтому файл получается меньше,
+     * а повторная загрузка через {@link GraphvizDeserializer#deserializeWithLabels}
+     * восстанавливает узлы без потерь. Требования к памяти — как у {@link #serialize(Graph, Writer)}.
+     *
+     * @example Пример результата:
+     * <pre>
+     * graph SocialGraph {
+     *     "7" [label="Лена"];
+     *     "9" [label="Настя"];
+     *     "7" -- "9";
+     * }
+     * </pre>
+     *
+     * @param graph граф для сериализации (не может быть null)
+     * @param writer приемник символов (не закрывается)
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если граф или writer равны null
+     */
+    public static void serializeWithLabels(Graph<Node> graph, Writer writer) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (writer == null) {
+            throw new IllegalArgumentException("Приемник не может быть null");
+        }
+        writeDocument(graph, writer, Node::getId, Node::getName);
+    }
+
+    /**
+     * Записывает документ DOT.
+     *
+     * @param key функция, возвращающая идентификатор узла в DOT
+     * @param label функция, возвращающая значение атрибута label, или null если атрибут не нужен
+     */
+    private static <T> void writeDocument(Graph<T> graph, Writer writer,
+                                          Function<T, String> key, Function<T, String> label) throws IOException {
+        writer.write("graph SocialGraph {\n");
 
         // Сначала добавляем все узлы
         for (T node : graph.getAllNodes()) {
-            builder.append("    \"").append(node.toString()).append("\";\n");
+            writeNode(writer, key.apply(node), label == null ? null : label.apply(node));
         }
 
         // Затем добавляем все связи
-        Set<String> addedEdges = new HashSet<>();
-        for (T node : graph.getAllNodes()) {
-            for (T neighbor : graph.getConnections(node)) {
-                String edgeKey = formatEdgeKey(node, neighbor);
-                if (!addedEdges.contains(edgeKey)) {
-                    builder.append("    \"").append(node).append("\" -- \"")
-                            .append(neighbor).append("\";\n");
-                    addedEdges.add(edgeKey);
+        if (graph instanceof CsrGraph<T> csr) {
+            // Строки смежности читаются прямо из массивов снимка, без копирования
+            int[] offsets = csr.offsets();
+            int[] targets = csr.targets();
+            for (int u = 0; u < csr.nodeCount(); u++) {
+                String from = null;
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (u >= v) continue;
+                    if (from == null) from = key.apply(csr.nodeAt(u));
+                    writeEdge(writer, from, key.apply(csr.nodeAt(v)));
+                }
+            }
+        } else {
+            Map<T, Integer> order = new HashMap<>(CsrGraph.capacityFor(graph.getAllNodes().size()));
+            for (T node : graph.getAllNodes()) {
+                order.put(node, order.size());
+            }
+            for (T node : graph.getAllNodes()) {
+                int index = order.get(node);
+                String from = key.apply(node);
+                for (T neighbor : graph.getConnections(node)) {
+                    if (index < order.get(neighbor)) {
+                        writeEdge(writer, from, key.apply(neighbor));
+                    }
                 }
             }
         }
 
-        builder.append("}");
-        return builder.toString();
+        writer.write("}");
     }
 
     /**
-     * Формирует уникальный ключ для ребра между двумя узлами.
-     * Для неориентированного графа порядок узлов не важен.
+     * Записывает объявление узла, при необходимости с атрибутом label.
      *
-     * @param <T> тип узлов
-     * @param a первый узел
-     * @param b второй узел
-     * @return строковый ключ вида "node1--node2" (узлы отсортированы)
+     * @param label значение атрибута label, или null если атрибут не нужен
      */
-    private static <T> String formatEdgeKey(T a, T b) {
-        List<String> pair = new ArrayList<>(Arrays.asList(a.toString(), b.toString()));
-        Collections.sort(pair);
-        return pair.get(0) + "--" + pair.get(1);
+    static void writeNode(Writer writer, String key, String label) throws IOException {
+        writer.write("    ");
+        writeQuoted(writer, key);
+        if (label != null) {
+            writer.write(" [label=");
+            writeQuoted(writer, label);
+            writer.write(']');
+        }
+        writer.write(";\n");
+    }
+
+    static void writeEdge(Writer writer, String from, String to) throws IOException {
+        writer.write("    ");
+        writeQuoted(writer, from);
+        writer.write(" -- ");
+        writeQuoted(writer, to);
+        writer.write(";\n");
+    }
+
+    /**
+     * Записывает идентификатор в кавычках, экранируя кавычки и обратную косую черту.
+     * Перевод строки записывается как {@code \n}, поэтому каждая инструкция занимает одну строку.
+     */
+    static void writeQuoted(Writer writer, String id) throws IOException {
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write(id, start, i - start);
+                writer.write('\\');
+                start = i;
+            } else if (c == '\n') {
+                writer.write(id, start, i - start);
+                writer.write("\\n");
+                start = i + 1;
+            }
+        }
+        writer.write(id, start, id.length() - start);
+        writer.write('"');
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package com.example.socialgraph;
+
+import java.util.Arrays;
+
+/**
+ * Отображение неотрицательных целых чисел в {@code float} с открытой адресацией и линейным
+ * пробированием, как {@link IntHashSet}. Номера занятых ячеек запоминаются в порядке
+ * добавления, поэтому обход и {@link #clear()} занимают время, пропорциональное количеству
+ * элементов, а не размеру таблицы: одно отображение можно переиспользовать для множества
+ * небольших расчетов после одного большого.
+ */
+final class IntFloatHashMap {
+
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] keys;
+    private float[] values;
+    /** Номера занятых ячеек в порядке добавления. */
+    private int[] used;
+    private int size;
+
+    /**
+     * Создает отображение, рассчитанное на указанное количество элементов без перехеширования.
+     *
+     * @param expectedSize ожидаемое количество элементов
+     */
+    IntFloatHashMap(int expectedSize) {
+        int capacity = tableSizeFor(expectedSize);
+        keys = new int[capacity];
+        values = new float[capacity];
+        used = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Прибавляет delta к значению ключа; отсутствующий ключ добавляется со значением delta.
+     *
+     * @param key неотрицательный ключ
+     * @param delta прибавляемое значение
+     */
+    void addTo(int key, float delta) {
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            values[slot] += delta;
+        } else {
+            insert(slot, key, delta);
+        }
+    }
+
+    /**
+     * Устанавливает значение ключа.
+     *
+     * @param key неотрицательный ключ
+     * @param value новое значение
+     */
+    void put(int key, float value) {
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+        } else {
+            insert(slot, key, value);
+        }
+    }
+
+    /**
+     * Возвращает значение ключа.
+     *
+     * @param key ключ
+     * @param missing значение, возвращаемое для отсутствующего ключа
+     * @return значение ключа или missing
+     */
+    float get(int key, float missing) {
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : missing;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Возвращает ключ i-го добавленного элемента, {@code 0 <= i < size()}. */
+    int keyAt(int i) {
+        return keys[used[i]];
+    }
+
+    /** Возвращает значение i-го добавленного элемента, {@code 0 <= i < size()}. */
+    float valueAt(int i) {
+        return values[used[i]];
+    }
+
+    /**
+     * Удаляет все элементы, освобождая только занятые ячейки.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            keys[used[i]] = EMPTY;
+        }
+        size = 0;
+    }
+
+    private int slotOf(int key) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (keys[i] != EMPTY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void insert(int slot, int key, float value) {
+        keys[slot] = key;
+        values[slot] = value;
+        used[size++] = slot;
+        if (size * 4 > keys.length * 3) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        float[] oldValues = values;
+        int[] oldUsed = used;
+        keys = new int[newCapacity];
+        values = new float[newCapacity];
+        used = new int[newCapacity];
+        Arrays.fill(keys, EMPTY);
+        int count = size;
+        size = 0;
+        for (int i = 0; i < count; i++) {
+            int slot = oldUsed[i];
+            int target = slotOf(oldKeys[slot]);
+            keys[target] = oldKeys[slot];
+            values[target] = oldValues[slot];
+            used[size++] = target;
+        }
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = Math.max(MIN_CAPACITY, (int) Math.min(1 << 30, (long) expectedSize * 4 / 3 + 1));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
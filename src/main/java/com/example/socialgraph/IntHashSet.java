@@ -0,0 +1,115 @@
+package com.example.socialgraph;
+
+import java.util.Arrays;
+
+/**
+ * Множество неотрицательных целых чисел с открытой адресацией и линейным пробированием.
+ * Хранит значения в одном массиве {@code int[]} без упаковки в {@link Integer},
+ * поэтому не создает мусора при добавлении и поиске.
+ */
+final class IntHashSet {
+
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] slots;
+    private int size;
+
+    /**
+     * Создает множество, рассчитанное на указанное количество элементов без перехеширования.
+     *
+     * @param expectedSize ожидаемое количество элементов
+     */
+    IntHashSet(int expectedSize) {
+        slots = new int[tableSizeFor(expectedSize)];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    IntHashSet() {
+        this(0);
+    }
+
+    /**
+     * Добавляет значение в множество.
+     *
+     * @param value неотрицательное значение
+     * @return true если значение было добавлено, false если оно уже присутствовало
+     */
+    boolean add(int value) {
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == value) return false;
+            i = (i + 1) & mask;
+        }
+        slots[i] = value;
+        if (++size * 4 > slots.length * 3) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Проверяет наличие значения в множестве.
+     *
+     * @param value проверяемое значение
+     * @return true если значение присутствует
+     */
+    boolean contains(int value) {
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == value) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Копирует значения в новый массив в порядке их расположения в таблице.
+     *
+     * @return массив значений
+     */
+    int[] toArray() {
+        int[] result = new int[size];
+        int pos = 0;
+        for (int value : slots) {
+            if (value != EMPTY) result[pos++] = value;
+        }
+        return result;
+    }
+
+    /** Внутренняя таблица; свободные ячейки содержат отрицательное значение. */
+    int[] slots() {
+        return slots;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] old = slots;
+        slots = new int[newCapacity];
+        Arrays.fill(slots, EMPTY);
+        int mask = newCapacity - 1;
+        for (int value : old) {
+            if (value == EMPTY) continue;
+            int i = mix(value) & mask;
+            while (slots[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = value;
+        }
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = Math.max(MIN_CAPACITY, (int) Math.min(1 << 30, (long) expectedSize * 4 / 3 + 1));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.socialgraph;
+
+import java.util.*;
+
+/**
+ * Изменяемый неориентированный граф над примитивными целочисленными идентификаторами.
+ * Каждому узлу {@link Node} при добавлении присваивается плотный индекс (0, 1, 2, ...),
+ * а списки смежности хранятся в множествах {@code int} с открытой адресацией.
+ * Словарь индекс ↔ {@link Node} ведется отдельно и используется только на границе API.
+ *
+ * <p>Граф реализует {@link Graph}, поэтому может использоваться везде, где ожидается
+ * {@code Graph<Node>}; для массовой загрузки без лишних аллокаций следует использовать
+ * методы, принимающие индексы.</p>
+ */
+public class IntSocialGraph implements Graph<Node> {
+
+    private final List<Node> nodes;
+    private final Map<String, Integer> indexById;
+    private IntHashSet[] adjacency;
+    private long edgeCount;
+
+    /**
+     * Создает пустой граф.
+     */
+    public IntSocialGraph() {
+        this(16);
+    }
+
+    /**
+     * Создает пустой граф, рассчитанный на указанное количество узлов.
+     *
+     * @param expectedNodes ожидаемое количество узлов
+     * @throws IllegalArgumentException если expectedNodes отрицательно
+     */
+    public IntSocialGraph(int expectedNodes) {
+        if (expectedNodes < 0) {
+            throw new IllegalArgumentException("Ожидаемое количество узлов не может быть отрицательным");
+        }
+        nodes = new ArrayList<>(expectedNodes);
+        indexById = new HashMap<>(CsrGraph.capacityFor(expectedNodes));
+        adjacency = new IntHashSet[Math.max(expectedNodes, 1)];
+    }
+
+    /**
+     * Возвращает индекс узла, добавляя узел в граф при необходимости.
+     *
+     * @param node узел (не может быть null)
+     * @return индекс узла
+     * @throws IllegalArgumentException если node равен null
+     */
+    public int getOrAddIndex(Node node) {
+        if (node == null) {
+            throw new IllegalArgumentException("Узел не может быть null");
+        }
+        Integer existing = indexById.get(node.getId());
+        if (existing != null) return existing;
+
+        int index = nodes.size();
+        nodes.add(node);
+        indexById.put(node.getId(), index);
+        if (index == adjacency.length) {
+            adjacency = Arrays.copyOf(adjacency, adjacency.length * 2);
+        }
+        adjacency[index] = new IntHashSet();
+        return index;
+    }
+
+    /**
+     * Возвращает индекс узла.
+     *
+     * @param node узел
+     * @return индекс узла, или -1 если узел равен null или отсутствует в графе
+     */
+    public int indexOf(Node node) {
+        if (node == null) return -1;
+        Integer index = indexById.get(node.getId());
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Возвращает узел по индексу.
+     *
+     * @param index индекс узла
+     * @return узел
+     * @throws IndexOutOfBoundsException если индекс вне диапазона
+     */
+    public Node nodeAt(int index) {
+        return nodes.get(index);
+    }
+
+    /**
+     * Добавляет неориентированное ребро между узлами, заданными индексами.
+     *
+     * @param from индекс начального узла
+     * @param to индекс конечного узла
+     * @return true если ребро было добавлено, false если индексы вне диапазона,
+     *         совпадают или ребро уже существует
+     */
+    public boolean addEdge(int from, int to) {
+        if (!contains(from) || !contains(to) || from == to) return false;
+        if (!adjacency[from].add(to)) return false;
+        adjacency[to].add(from);
+        edgeCount++;
+        return true;
+    }
+
+    /**
+     * Проверяет наличие ребра между узлами, заданными индексами.
+     *
+     * @param from индекс начального узла
+     * @param to индекс конечного узла
+     * @return true если ребро существует
+     */
+    public boolean hasEdge(int from, int to) {
+        return contains(from) && adjacency[from].contains(to);
+    }
+
+    /**
+     * Возвращает индексы соседей узла.
+     *
+     * @param index индекс узла
+     * @return новый массив индексов соседей (в произвольном порядке), или пустой массив,
+     *         если индекс вне диапазона
+     */
+    public int[] getConnections(int index) {
+        return contains(index) ? adjacency[index].toArray() : new int[0];
+    }
+
+    /**
+     * Возвращает степень узла.
+     *
+     * @param index индекс узла
+     * @return количество соседей, или 0 если индекс вне диапазона
+     */
+    public int degree(int index) {
+        return contains(index) ? adjacency[index].size() : 0;
+    }
+
+    /**
+     * Возвращает количество узлов.
+     *
+     * @return количество узлов
+     */
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Возвращает количество неориентированных ребер.
+     *
+     * @return количество ребер
+     */
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Добавляет узел в граф.
+     *
+     * @param node узел для добавления
+     * @return true если узел был добавлен, false если узел уже существует или равен null
+     */
+    @Override
+    public boolean addNode(Node node) {
+        if (node == null || indexById.containsKey(node.getId())) return false;
+        getOrAddIndex(node);
+        return true;
+    }
+
+    /**
+     * Добавляет ребро между двумя узлами в графе (неориентированное ребро).
+     *
+     * @param from начальный узел
+     * @param to конечный узел
+     * @return true если ребро было добавлено, false если любой из узлов равен null,
+     *         отсутствует в графе, узлы совпадают или ребро уже существует
+     */
+    @Override
+    public boolean addEdge(Node from, Node to) {
+        return addEdge(indexOf(from), indexOf(to));
+    }
+
+    /**
+     * Возвращает множество узлов, связанных с заданным узлом.
+     *
+     * @param node узел, для которого запрашиваются связи
+     * @return неизменяемое представление соседей, или пустое множество если
+     *         узел равен null или отсутствует в графе
+     */
+    @Override
+    public Set<Node> getConnections(Node node) {
+        int index = indexOf(node);
+        if (index < 0) return Collections.emptySet();
+        return new NeighborSet(adjacency[index]);
+    }
+
+    /**
+     * Проверяет наличие ребра между двумя узлами.
+     *
+     * @param from начальный узел
+     * @param to конечный узел
+     * @return true если ребро существует
+     */
+    @Override
+    public boolean hasEdge(Node from, Node to) {
+        int u = indexOf(from);
+        int v = indexOf(to);
+        return u >= 0 && v >= 0 && adjacency[u].contains(v);
+    }
+
+    /**
+     * Возвращает все узлы графа.
+     *
+     * @return неизменяемое множество всех узлов графа
+     */
+    @Override
+    public Set<Node> getAllNodes() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Node> iterator() {
+                return Collections.unmodifiableList(nodes).iterator();
+            }
+
+            @Override
+            public int size() {
+                return nodes.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Node node && indexById.containsKey(node.getId());
+            }
+        };
+    }
+
+    private boolean contains(int index) {
+        return index >= 0 && index < nodes.size();
+    }
+
+    /**
+     * Неизменяемое представление соседей узла поверх его множества индексов.
+     */
+    private final class NeighborSet extends AbstractSet<Node> {
+        private final IntHashSet neighbors;
+
+        NeighborSet(IntHashSet neighbors) {
+            this.neighbors = neighbors;
+        }
+
+        @Override
+        public Iterator<Node> iterator() {
+            int[] slots = neighbors.slots();
+            return new Iterator<>() {
+                private int pos = advance(0);
+
+                private int advance(int from) {
+                    while (from < slots.length && slots[from] < 0) from++;
+                    return from;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return pos < slots.length;
+                }
+
+                @Override
+                public Node next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Node node = nodes.get(slots[pos]);
+                    pos = advance(pos + 1);
+                    return node;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return neighbors.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Node node && neighbors.contains(indexOf(node));
+        }
+    }
+}
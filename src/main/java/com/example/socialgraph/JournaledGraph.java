@@ -0,0 +1,316 @@
+package com.example.socialgraph;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Граф с инкрементальным сохранением изменений в журнал (append-only log).
+ * Каждое успешное {@link #addNode} и {@link #addEdge} дописывает в конец журнала короткую
+ * запись, поэтому стоимость сохранения пропорциональна числу изменений, а не размеру графа.
+ * Периодически журнал сворачивается в полный снимок формата {@code .sgb}
+ * ({@link BinaryGraphSerializer}) и очищается.
+ *
+ * <p>Изменение сначала дописывается в журнал и только затем применяется к графу в памяти.
+ * Если запись не удалась, граф не меняется, а недописанная запись отрезается от журнала,
+ * поэтому граф в памяти и журнал не расходятся.</p>
+ *
+ * <p>При открытии загружается снимок и поверх него воспроизводятся записи журнала.
+ * Неполная или поврежденная последняя запись (например, после аварийного завершения)
+ * отбрасывается, а журнал усекается до последней целой записи.</p>
+ *
+ * @description Формат записи журнала:
+ * длина полезной нагрузки (int), CRC32 полезной нагрузки (int), полезная нагрузка:
+ * - добавление узла: код 1, id, name
+ * - добавление ребра: код 2, id начального узла, id конечного узла
+ * Строки записываются как длина varint + байты UTF-8.
+ */
+public class JournaledGraph implements Graph<Node>, Closeable {
+
+    /** Количество записей журнала, после которого выполняется автоматическое сворачивание. */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 100_000;
+
+    private static final int ADD_NODE = 1;
+    private static final int ADD_EDGE = 2;
+
+    private final SocialGraph<Node> graph;
+    private final Path snapshotPath;
+    private final FileChannel logChannel;
+    private final int compactionThreshold;
+    private int pendingRecords;
+
+    private JournaledGraph(SocialGraph<Node> graph, Path snapshotPath, FileChannel logChannel,
+                           int pendingRecords, int compactionThreshold) {
+        this.graph = graph;
+        this.snapshotPath = snapshotPath;
+        this.logChannel = logChannel;
+        this.pendingRecords = pendingRecords;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Открывает граф с порогом сворачивания {@link #DEFAULT_COMPACTION_THRESHOLD}.
+     *
+     * @see #open(Path, Path, int)
+     */
+    public static JournaledGraph open(Path snapshotPath, Path logPath) throws IOException {
+        return open(snapshotPath, logPath, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Открывает граф: загружает снимок (если он есть) и воспроизводит журнал.
+     *
+     * @param snapshotPath путь к файлу снимка
+     * @param logPath путь к файлу журнала (создается при отсутствии)
+     * @param compactionThreshold количество записей журнала, после которого он сворачивается в снимок
+     * @return открытый граф
+     * @throws IOException если произошла ошибка чтения или снимок поврежден
+     * @throws IllegalArgumentException если compactionThreshold не положителен
+     */
+    public static JournaledGraph open(Path snapshotPath, Path logPath, int compactionThreshold) throws IOException {
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Порог сворачивания должен быть положительным");
+        }
+
+        SocialGraph<Node> graph;
+        if (Files.exists(snapshotPath)) {
+            try (InputStream in = Files.newInputStream(snapshotPath)) {
+                graph = BinaryGraphDeserializer.deserialize(in);
+            }
+        } else {
+            graph = new SocialGraph<>();
+        }
+
+        FileChannel channel = FileChannel.open(logPath, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int replayed = replay(graph, channel);
+            channel.position(channel.size());
+            return new JournaledGraph(graph, snapshotPath, channel, replayed, compactionThreshold);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Воспроизводит журнал и усекает его до последней целой записи.
+     *
+     * @return количество воспроизведенных записей
+     */
+    private static int replay(SocialGraph<Node> graph, FileChannel channel) throws IOException {
+        Map<String, Node> nodesById = new HashMap<>(CsrGraph.capacityFor(graph.getAllNodes().size()));
+        for (Node node : graph.getAllNodes()) {
+            nodesById.put(node.getId(), node);
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0))));
+        long size = channel.size();
+        long valid = 0;
+        int records = 0;
+        while (valid + 2 * Integer.BYTES <= size) {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length < 0 || valid + 2 * Integer.BYTES + length > size) break;
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            if (checksum(payload) != checksum) break;
+
+            apply(graph, nodesById, payload);
+            valid += 2 * Integer.BYTES + length;
+            records++;
+        }
+
+        if (valid < size) {
+            channel.truncate(valid);
+        }
+        return records;
+    }
+
+    private static void apply(SocialGraph<Node> graph, Map<String, Node> nodesById, byte[] payload) throws IOException {
+        VarintReader reader = new VarintReader(new ByteArrayInputStream(payload), payload.length + 1);
+        int op = reader.readInt();
+        if (op == ADD_NODE) {
+            Node node = new Node(reader.readString(), reader.readString());
+            if (graph.addNode(node)) {
+                nodesById.put(node.getId(), node);
+            }
+        } else if (op == ADD_EDGE) {
+            Node from = nodesById.get(reader.readString());
+            Node to = nodesById.get(reader.readString());
+            graph.addEdge(from, to);
+        } else {
+            throw new StreamCorruptedException("Неизвестная операция журнала: " + op);
+        }
+    }
+
+    /**
+     * Записывает операцию в журнал и добавляет узел.
+     *
+     * @param node узел для добавления
+     * @return true если узел был добавлен, false если узел уже существует или равен null
+     * @throws UncheckedIOException если не удалось записать журнал (узел при этом не добавляется)
+     *         или выполнить автоматическое сворачивание (узел уже добавлен и записан в журнал)
+     */
+    @Override
+    public boolean addNode(Node node) {
+        if (node == null || graph.getAllNodes().contains(node)) return false;
+        append(ADD_NODE, node.getId(), node.getName());
+        graph.addNode(node);
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * Записывает операцию в журнал и добавляет ребро.
+     *
+     * @param from начальный узел
+     * @param to конечный узел
+     * @return true если ребро было добавлено (см. {@link SocialGraph#addEdge})
+     * @throws UncheckedIOException если не удалось записать журнал (ребро при этом не добавляется)
+     *         или выполнить автоматическое сворачивание (ребро уже добавлено и записано в журнал)
+     */
+    @Override
+    public boolean addEdge(Node from, Node to) {
+        // Те же условия, при которых SocialGraph.addEdge возвращает false
+        if (from == null || to == null || from.equals(to)) return false;
+        Set<Node> nodes = graph.getAllNodes();
+        if (!nodes.contains(from) || !nodes.contains(to) || graph.hasEdge(from, to)) return false;
+        append(ADD_EDGE, from.getId(), to.getId());
+        graph.addEdge(from, to);
+        compactIfNeeded();
+        return true;
+    }
+
+    @Override
+    public Set<Node> getConnections(Node node) {
+        return graph.getConnections(node);
+    }
+
+    @Override
+    public boolean hasEdge(Node from, Node to) {
+        return graph.hasEdge(from, to);
+    }
+
+    @Override
+    public Set<Node> getAllNodes() {
+        return graph.getAllNodes();
+    }
+
+    /**
+     * Записывает полный снимок графа и очищает журнал.
+     * Снимок сначала пишется во временный файл и атомарно заменяет предыдущий,
+     * поэтому сбой во время сворачивания не теряет данные.
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    public void compact() throws IOException {
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream stream = Channels.newOutputStream(out);
+            BinaryGraphSerializer.serialize(graph, stream);
+            out.force(true);
+        }
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // Журнал очищается только после того, как новый снимок на месте;
+        // повторное воспроизведение уже учтенных записей безвредно
+        logChannel.truncate(0);
+        logChannel.position(0);
+        pendingRecords = 0;
+    }
+
+    /**
+     * Принудительно сбрасывает журнал на диск (fsync).
+     *
+     * @throws IOException если произошла ошибка записи
+     */
+    public void sync() throws IOException {
+        logChannel.force(false);
+    }
+
+    /**
+     * Возвращает количество записей в журнале с момента последнего сворачивания.
+     *
+     * @return количество записей
+     */
+    public int pendingRecords() {
+        return pendingRecords;
+    }
+
+    /**
+     * Закрывает файл журнала. Граф после закрытия изменять нельзя: попытка изменения
+     * завершается {@link UncheckedIOException} и не меняет граф.
+     *
+     * @throws IOException если произошла ошибка закрытия
+     */
+    @Override
+    public void close() throws IOException {
+        logChannel.close();
+    }
+
+    /**
+     * Дописывает запись в журнал целиком. Каждая запись сразу передается в файл одним буфером,
+     * поэтому после сбоя в журнале не остается ее фрагментов: недописанный хвост отрезается.
+     */
+    private void append(int op, String first, String second) {
+        ByteBuffer record;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            VarintWriter writer = new VarintWriter(bytes, 256);
+            writer.writeVarint(op);
+            writer.writeString(first);
+            writer.writeString(second);
+            writer.flush();
+            byte[] payload = bytes.toByteArray();
+            record = ByteBuffer.allocate(2 * Integer.BYTES + payload.length)
+                    .putInt(payload.length)
+                    .putInt(checksum(payload))
+                    .put(payload)
+                    .flip();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка записи журнала: " + e.getMessage(), e);
+        }
+
+        long start = -1;
+        try {
+            start = logChannel.position();
+            while (record.hasRemaining()) {
+                logChannel.write(record);
+            }
+        } catch (IOException e) {
+            if (start >= 0 && logChannel.isOpen()) {
+                try {
+                    logChannel.truncate(start);
+                    logChannel.position(start);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw new UncheckedIOException("Ошибка записи журнала: " + e.getMessage(), e);
+        }
+        pendingRecords++;
+    }
+
+    private void compactIfNeeded() {
+        if (pendingRecords < compactionThreshold) return;
+        try {
+            compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка сворачивания журнала: " + e.getMessage(), e);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
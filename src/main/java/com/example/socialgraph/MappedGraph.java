@@ -0,0 +1,489 @@
+package com.example.socialgraph;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Граф только для чтения, который работает прямо поверх файла, отображенного в память.
+ * При открытии ничего не копируется в кучу: проверяются только заголовок, границы секций
+ * и таблицы начал (O(n)), а списки соседей и словарь узлов читаются из
+ * {@link java.nio.MappedByteBuffer} по запросу. Несколько JVM,
+ * открывших один файл, используют одну копию страниц в кэше операционной системы,
+ * а сам граф может быть больше кучи.
+ *
+ * @description Структура файла {@code .sgm} (порядок байтов little-endian):
+ * 1. Заголовок ({@value #HEADER_SIZE} байт): 'S', 'G', 'M', версия; количество узлов (int);
+ *    количество элементов targets (long); позиции и длины секций (long)
+ * 2. offsets: int[n + 1] — начало списка соседей каждого узла
+ * 3. targets: int[...] — отсортированные списки соседей
+ * 4. dictIndex: int[n + 1] — начало записи каждого узла в секции dictData
+ * 5. dictData: для каждого узла длина id в байтах (int), id и name в UTF-8
+ *
+ * Узлы упорядочены по байтам id в UTF-8, поэтому поиск узла выполняется бинарным поиском.
+ * Каждая секция отображается отдельно и не может превышать 2 ГБ.
+ */
+public final class MappedGraph implements Graph<Node> {
+
+    static final int HEADER_SIZE = 64;
+    private static final byte[] MAGIC = {'S', 'G', 'M', 1};
+
+    private final int nodeCount;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer dictIndex;
+    private final ByteBuffer dictData;
+
+    private MappedGraph(int nodeCount, IntBuffer offsets, IntBuffer targets, IntBuffer dictIndex, ByteBuffer dictData) {
+        this.nodeCount = nodeCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.dictIndex = dictIndex;
+        this.dictData = dictData;
+    }
+
+    /**
+     * Открывает файл графа, отображая его секции в память.
+     *
+     * @param path путь к файлу, записанному {@link #write(Graph, Path)}
+     * @return граф, читающий данные прямо из файла
+     * @throws StreamCorruptedException если файл обрезан, секции выходят за его пределы или
+     *         пересекаются, либо таблицы смещений не согласованы с заголовком
+     * @throws IOException если произошла ошибка чтения
+     */
+    public static MappedGraph open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new StreamCorruptedException("Файл обрезан: нет заголовка");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new StreamCorruptedException("Неверный формат: ожидался заголовок SGM");
+            }
+            int n = header.getInt();
+            long targetCount = header.getLong();
+            long offsetsPos = header.getLong();
+            long targetsPos = header.getLong();
+            long dictIndexPos = header.getLong();
+            long dictDataPos = header.getLong();
+            long dictDataLength = header.getLong();
+            if (n < 0 || n == Integer.MAX_VALUE) {
+                throw new StreamCorruptedException("Некорректное количество узлов: " + n);
+            }
+            if (targetCount < 0 || targetCount > Integer.MAX_VALUE / Integer.BYTES) {
+                throw new StreamCorruptedException("Некорректное количество элементов targets: " + targetCount);
+            }
+            long indexLength = (n + 1L) * Integer.BYTES;
+            if (indexLength > Integer.MAX_VALUE) {
+                throw new StreamCorruptedException("Некорректное количество узлов: " + n);
+            }
+            checkSections(fileSize,
+                    new long[]{offsetsPos, indexLength},
+                    new long[]{targetsPos, targetCount * Integer.BYTES},
+                    new long[]{dictIndexPos, indexLength},
+                    new long[]{dictDataPos, dictDataLength});
+
+            IntBuffer offsets = mapInts(channel, offsetsPos, n + 1L);
+            IntBuffer dictIndex = mapInts(channel, dictIndexPos, n + 1L);
+            // Остальные проверки ограничены O(n): по этим таблицам адресуются targets и dictData
+            checkMonotonic(offsets, n, targetCount, "offsets");
+            checkMonotonic(dictIndex, n, dictDataLength, "dictIndex");
+
+            return new MappedGraph(n, offsets,
+                    mapInts(channel, targetsPos, targetCount),
+                    dictIndex,
+                    channel.map(FileChannel.MapMode.READ_ONLY, dictDataPos, dictDataLength)
+                            .order(ByteOrder.LITTLE_ENDIAN));
+        }
+    }
+
+    /**
+     * Проверяет, что каждая секция {позиция, длина} лежит внутри файла после заголовка
+     * и не пересекается с другими.
+     */
+    private static void checkSections(long fileSize, long[]... sections) throws StreamCorruptedException {
+        for (long[] section : sections) {
+            long position = section[0];
+            long length = section[1];
+            if (position < HEADER_SIZE || length < 0 || length > Integer.MAX_VALUE
+                    || position > fileSize - length) {
+                throw new StreamCorruptedException("Файл обрезан или секция выходит за его пределы");
+            }
+        }
+        long[][] sorted = sections.clone();
+        Arrays.sort(sorted, Comparator.comparingLong(section -> section[0]));
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1][0] + sorted[i - 1][1] > sorted[i][0]) {
+                throw new StreamCorruptedException("Секции файла пересекаются");
+            }
+        }
+    }
+
+    /**
+     * Проверяет таблицу начал: первый элемент 0, последний равен total, значения не убывают.
+     */
+    private static void checkMonotonic(IntBuffer starts, int n, long total, String section)
+            throws StreamCorruptedException {
+        if (starts.get(0) != 0 || starts.get(n) != total) {
+            throw new StreamCorruptedException("Секция " + section + " не согласована с заголовком");
+        }
+        for (int i = 0; i < n; i++) {
+            if (starts.get(i) > starts.get(i + 1)) {
+                throw new StreamCorruptedException("Секция " + section + " не упорядочена у узла " + i);
+            }
+        }
+    }
+
+    private static IntBuffer mapInts(FileChannel channel, long position, long count) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, checkedSize(count * Integer.BYTES))
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Записывает граф в файл, пригодный для {@link #open(Path)}.
+     *
+     * @param graph граф для записи (не может быть null)
+     * @param path путь к файлу
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если граф равен null или секция превышает 2 ГБ
+     */
+    public static void write(Graph<Node> graph, Path path) throws IOException {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        CsrGraph<Node> csr = CsrGraph.of(graph);
+        int n = csr.nodeCount();
+
+        // Упорядочиваем узлы по байтам id, чтобы при чтении искать узел бинарным поиском
+        byte[][] ids = new byte[n][];
+        for (int v = 0; v < n; v++) {
+            ids[v] = csr.nodeAt(v).getId().getBytes(StandardCharsets.UTF_8);
+        }
+        Integer[] order = new Integer[n];
+        for (int v = 0; v < n; v++) order[v] = v;
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(ids[a], ids[b]));
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) rank[order[i]] = i;
+
+        long targetCount = csr.targets().length;
+        long offsetsPos = HEADER_SIZE;
+        long targetsPos = offsetsPos + checkedSize((n + 1L) * Integer.BYTES);
+        long dictIndexPos = targetsPos + checkedSize(targetCount * Integer.BYTES);
+        long dictDataPos = dictIndexPos + (n + 1L) * Integer.BYTES;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ChannelOutput out = new ChannelOutput(channel, HEADER_SIZE);
+
+            int offset = 0;
+            for (int i = 0; i < n; i++) {
+                out.putInt(offset);
+                offset += csr.degree(order[i]);
+            }
+            out.putInt(offset);
+
+            for (int i = 0; i < n; i++) {
+                int[] neighbors = csr.neighbors(order[i]);
+                for (int k = 0; k < neighbors.length; k++) neighbors[k] = rank[neighbors[k]];
+                Arrays.sort(neighbors);
+                for (int neighbor : neighbors) out.putInt(neighbor);
+            }
+
+            byte[][] names = new byte[n][];
+            long entryStart = 0;
+            for (int i = 0; i < n; i++) {
+                names[i] = csr.nodeAt(order[i]).getName().getBytes(StandardCharsets.UTF_8);
+                out.putInt((int) entryStart);
+                entryStart += Integer.BYTES + ids[order[i]].length + names[i].length;
+                checkedSize(entryStart);
+            }
+            out.putInt((int) entryStart);
+
+            for (int i = 0; i < n; i++) {
+                out.putInt(ids[order[i]].length);
+                out.put(ids[order[i]]);
+                out.put(names[i]);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(MAGIC).putInt(n).putLong(targetCount)
+                    .putLong(offsetsPos).putLong(targetsPos).putLong(dictIndexPos)
+                    .putLong(dictDataPos).putLong(entryStart);
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    private static int checkedSize(long bytes) {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Секция файла превышает 2 ГБ");
+        }
+        return (int) bytes;
+    }
+
+    /**
+     * Граф только для чтения, поэтому добавление узлов не поддерживается.
+     *
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public boolean addNode(Node node) {
+        throw new UnsupportedOperationException("MappedGraph доступен только для чтения");
+    }
+
+    /**
+     * Граф только для чтения, поэтому добавление ребер не поддерживается.
+     *
+     * @throws UnsupportedOperationException всегда
+     */
+    @Override
+    public boolean addEdge(Node from, Node to) {
+        throw new UnsupportedOperationException("MappedGraph доступен только для чтения");
+    }
+
+    /**
+     * Возвращает множество узлов, связанных с заданным узлом.
+     *
+     * @param node узел, для которого запрашиваются связи
+     * @return неизменяемое представление соседей, или пустое множество если
+     *         узел равен null или отсутствует в графе
+     */
+    @Override
+    public Set<Node> getConnections(Node node) {
+        int v = indexOf(node);
+        if (v < 0) return Collections.emptySet();
+        int start = offsets.get(v);
+        int end = offsets.get(v + 1);
+        return new IndexRangeSet(start, end) {
+            @Override
+            int indexAt(int position) {
+                return targets.get(position);
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Node other && hasEdgeByIndex(v, indexOf(other));
+            }
+        };
+    }
+
+    /**
+     * Проверяет наличие ребра бинарным поиском по отсортированному списку соседей.
+     *
+     * @param from начальный узел
+     * @param to конечный узел
+     * @return true если ребро существует
+     */
+    @Override
+    public boolean hasEdge(Node from, Node to) {
+        int u = indexOf(from);
+        int v = indexOf(to);
+        return u >= 0 && v >= 0 && hasEdgeByIndex(u, v);
+    }
+
+    /**
+     * Возвращает все узлы графа. Узлы создаются из файла при обходе.
+     *
+     * @return неизменяемое множество всех узлов графа
+     */
+    @Override
+    public Set<Node> getAllNodes() {
+        return new IndexRangeSet(0, nodeCount) {
+            @Override
+            int indexAt(int position) {
+                return position;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Node node && indexOf(node) >= 0;
+            }
+        };
+    }
+
+    /**
+     * Возвращает количество узлов.
+     *
+     * @return количество узлов
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Возвращает степень узла по индексу.
+     *
+     * @param index индекс узла
+     * @return количество соседей
+     */
+    public int degree(int index) {
+        return offsets.get(index + 1) - offsets.get(index);
+    }
+
+    /**
+     * Проверяет наличие ребра между узлами, заданными индексами.
+     *
+     * @param from индекс начального узла
+     * @param to индекс конечного узла
+     * @return true если ребро существует
+     */
+    public boolean hasEdgeByIndex(int from, int to) {
+        if (from < 0 || to < 0) return false;
+        int low = offsets.get(from);
+        int high = offsets.get(from + 1) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = targets.get(mid);
+            if (value < to) low = mid + 1;
+            else if (value > to) high = mid - 1;
+            else return true;
+        }
+        return false;
+    }
+
+    /**
+     * Возвращает индекс узла, выполняя бинарный поиск по отсортированным id.
+     *
+     * @param node узел
+     * @return индекс узла, или -1 если узел равен null или отсутствует
+     */
+    public int indexOf(Node node) {
+        if (node == null) return -1;
+        byte[] id = node.getId().getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = nodeCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareId(mid, id);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * Создает узел по индексу, декодируя id и имя из файла.
+     *
+     * @param index индекс узла
+     * @return узел
+     * @throws IndexOutOfBoundsException если индекс вне диапазона
+     */
+    public Node nodeAt(int index) {
+        Objects.checkIndex(index, nodeCount);
+        int start = dictIndex.get(index);
+        int end = dictIndex.get(index + 1);
+        int idLength = dictData.getInt(start);
+        int idStart = start + Integer.BYTES;
+        return new Node(decode(idStart, idLength), decode(idStart + idLength, end - idStart - idLength));
+    }
+
+    private String decode(int position, int length) {
+        byte[] bytes = new byte[length];
+        dictData.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int compareId(int index, byte[] id) {
+        int start = dictIndex.get(index);
+        int length = dictData.getInt(start);
+        int position = start + Integer.BYTES;
+        int common = Math.min(length, id.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(dictData.get(position + i) & 0xFF, id[i] & 0xFF);
+            if (cmp != 0) return cmp;
+        }
+        return Integer.compare(length, id.length);
+    }
+
+    /**
+     * Неизменяемое множество узлов, заданных диапазоном позиций.
+     */
+    private abstract class IndexRangeSet extends AbstractSet<Node> {
+        private final int start;
+        private final int end;
+
+        IndexRangeSet(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        abstract int indexAt(int position);
+
+        @Override
+        public Iterator<Node> iterator() {
+            return new Iterator<>() {
+                private int position = start;
+
+                @Override
+                public boolean hasNext() {
+                    return position < end;
+                }
+
+                @Override
+                public Node next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return nodeAt(indexAt(position++));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+    }
+
+    /**
+     * Буферизованная последовательная запись в канал начиная с заданной позиции.
+     */
+    private static final class ChannelOutput {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        ChannelOutput(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) flush();
+            buffer.putInt(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (!buffer.hasRemaining()) flush();
+                int count = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, count);
+                offset += count;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.socialgraph;
 
-import java.util.Objects;
-
 /**
  * Класс, представляющий узел (вершину) в социальном графе.
  * Узел идентифицируется по уникальному идентификатору (id) и имеет имя (name).
@@ -59,7 +57,7 @@ public class Node {
      * @return хеш-код узла
      */
     @Override
-    public int hashCode() { return Objects.hash(id); }
+    public int hashCode() { return id.hashCode(); }
 
     /**
      * Возвращает строковое представление узла в формате "имя (идентификатор)".
@@ -0,0 +1,348 @@
+package com.example.socialgraph;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Параллельный поиск в ширину по всему графу от набора начальных узлов: гистограмма
+ * расстояний в рукопожатиях и расстояния до каждого узла (достижимость).
+ *
+ * <p>Используется поиск с выбором направления (Beamer, Asanović, Patterson). Пока граница
+ * мала, шаг выполняется «сверху вниз»: узлы границы просматривают соседей и захватывают
+ * непосещенных атомарной установкой бита. Когда ребер у границы становится больше, чем
+ * у еще не посещенных узлов деленное на {@link #ALPHA}, шаг выполняется «снизу вверх»:
+ * каждый непосещенный узел ищет среди соседей узел границы и прекращает просмотр
+ * на первом найденном. В социальных графах это избавляет от просмотра большей части ребер
+ * на средних, самых широких уровнях. Когда граница снова сужается меньше чем до
+ * {@code n / }{@link #BETA} узлов, поиск возвращается к шагам сверху вниз.</p>
+ *
+ * <p>Посещенные узлы отмечаются в битовой карте {@link AtomicLongArray}, а граница шага
+ * снизу вверх — в обычной битовой карте, которая во время шага только читается.
+ * Шаги делятся на задачи {@link ForkJoinPool}; граф — снимок {@link CsrGraph}.</p>
+ *
+ * @example Пример использования:
+ * {@code
+ * long[] histogram = ParallelBfs.hopHistogram(graph, List.of(alice));
+ * // histogram[k] — количество людей ровно в k рукопожатиях от alice
+ * }
+ */
+public final class ParallelBfs {
+
+    /** Порог перехода к шагам снизу вверх: ребра границы > ребра непосещенных / ALPHA. */
+    static final int ALPHA = 14;
+
+    /** Порог возврата к шагам сверху вниз: граница < n / BETA узлов. */
+    static final int BETA = 24;
+
+    /** Количество узлов границы в одной задаче шага сверху вниз. */
+    private static final int TOP_DOWN_CHUNK = 4096;
+
+    /** Количество слов битовой карты (по 64 узла) в одной задаче шага снизу вверх. */
+    private static final int BOTTOM_UP_CHUNK = 64;
+
+    private ParallelBfs() {
+    }
+
+    /**
+     * Вычисляет гистограмму расстояний на общем пуле {@link ForkJoinPool#commonPool()}.
+     *
+     * @see #hopHistogram(Graph, Collection, ForkJoinPool)
+     */
+    public static <T> long[] hopHistogram(Graph<T> graph, Collection<T> seeds) {
+        return hopHistogram(graph, seeds, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Вычисляет, сколько узлов находится на каждом расстоянии от ближайшего начального узла.
+     * Если граф не является {@link CsrGraph}, сначала строится его снимок.
+     *
+     * @param <T> тип узлов графа
+     * @param graph граф (не может быть null)
+     * @param seeds начальные узлы (не может быть null); отсутствующие в графе узлы пропускаются
+     * @param pool пул, на котором выполняется обход
+     * @return массив, в котором элемент k — количество узлов ровно в k ребрах от начальных;
+     *         длина массива на единицу больше наибольшего расстояния (пустой, если начальных узлов нет)
+     * @throws IllegalArgumentException если любой из аргументов равен null
+     */
+    public static <T> long[] hopHistogram(Graph<T> graph, Collection<T> seeds, ForkJoinPool pool) {
+        CsrGraph<T> csr = snapshot(graph, seeds, pool);
+        return new Traversal(csr.offsets(), csr.targets(), null, pool).run(indices(csr, seeds));
+    }
+
+    /**
+     * Вычисляет расстояния от ближайшего начального узла до каждого узла снимка.
+     *
+     * @param graph снимок графа (не может быть null)
+     * @param seeds индексы начальных узлов (не может быть null)
+     * @param pool пул, на котором выполняется обход (не может быть null)
+     * @return массив длины {@code graph.nodeCount()}: расстояние в ребрах, или -1 для недостижимых узлов
+     * @throws IllegalArgumentException если аргументы равны null или индекс вне диапазона
+     */
+    public static int[] distances(CsrGraph<?> graph, int[] seeds, ForkJoinPool pool) {
+        if (graph == null || seeds == null || pool == null) {
+            throw new IllegalArgumentException("Граф, начальные узлы и пул не могут быть null");
+        }
+        for (int seed : seeds) {
+            if (seed < 0 || seed >= graph.nodeCount()) {
+                throw new IllegalArgumentException("Индекс узла вне диапазона: " + seed);
+            }
+        }
+        int[] distances = new int[graph.nodeCount()];
+        Arrays.fill(distances, -1);
+        new Traversal(graph.offsets(), graph.targets(), distances, pool).run(seeds);
+        return distances;
+    }
+
+    private static <T> CsrGraph<T> snapshot(Graph<T> graph, Collection<T> seeds, ForkJoinPool pool) {
+        if (graph == null || seeds == null || pool == null) {
+            throw new IllegalArgumentException("Граф, начальные узлы и пул не могут быть null");
+        }
+        return graph instanceof CsrGraph<T> csr ? csr : CsrGraph.of(graph);
+    }
+
+    private static <T> int[] indices(CsrGraph<T> graph, Collection<T> seeds) {
+        return seeds.stream().mapToInt(graph::indexOf).filter(index -> index >= 0).toArray();
+    }
+
+    /**
+     * Состояние одного обхода. Граница хранится либо списком узлов (для шагов сверху вниз),
+     * либо битовой картой (для шагов снизу вверх) и переводится между представлениями при смене направления.
+     */
+    private static final class Traversal {
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] distances;
+        private final ForkJoinPool pool;
+        private final int n;
+        private final AtomicLongArray visited;
+
+        private int[] frontier;
+        private int frontierSize;
+        private long[] frontierBits;
+        private long frontierVolume;
+        private long unexploredVolume;
+
+        Traversal(int[] offsets, int[] targets, int[] distances, ForkJoinPool pool) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.distances = distances;
+            this.pool = pool;
+            this.n = offsets.length - 1;
+            this.visited = new AtomicLongArray((n + 63) >>> 6);
+        }
+
+        long[] run(int[] seeds) {
+            frontier = new int[seeds.length];
+            for (int seed : seeds) {
+                if (tryVisit(seed)) {
+                    if (distances != null) distances[seed] = 0;
+                    frontier[frontierSize++] = seed;
+                    frontierVolume += degree(seed);
+                }
+            }
+            unexploredVolume = targets.length - frontierVolume;
+
+            long[] histogram = new long[16];
+            int levels = 0;
+            boolean bottomUp = false;
+            while (frontierSize > 0) {
+                if (levels == histogram.length) histogram = Arrays.copyOf(histogram, levels * 2);
+                histogram[levels++] = frontierSize;
+
+                if (!bottomUp && frontierVolume > unexploredVolume / ALPHA) {
+                    bottomUp = true;
+                    frontierBits = toBits(frontier, frontierSize);
+                    frontier = null;
+                } else if (bottomUp && frontierSize < n / BETA) {
+                    bottomUp = false;
+                    frontier = toList(frontierBits, frontierSize);
+                    frontierBits = null;
+                }
+                if (bottomUp) {
+                    stepBottomUp(levels);
+                } else {
+                    stepTopDown(levels);
+                }
+                unexploredVolume -= frontierVolume;
+            }
+            return Arrays.copyOf(histogram, levels);
+        }
+
+        /**
+         * Шаг сверху вниз: каждая задача просматривает соседей своей части границы и
+         * собирает захваченные ею узлы в собственный массив.
+         */
+        private void stepTopDown(int level) {
+            int chunks = (frontierSize + TOP_DOWN_CHUNK - 1) / TOP_DOWN_CHUNK;
+            int[][] found = new int[chunks][];
+            int[] foundCounts = new int[chunks];
+            long[] volumes = new long[chunks];
+            int[] current = frontier;
+            int size = frontierSize;
+            parallelFor(chunks, chunk -> {
+                int from = chunk * TOP_DOWN_CHUNK;
+                int to = Math.min(size, from + TOP_DOWN_CHUNK);
+                int[] next = new int[64];
+                int count = 0;
+                long volume = 0;
+                for (int i = from; i < to; i++) {
+                    int u = current[i];
+                    for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                        int w = targets[e];
+                        if (tryVisit(w)) {
+                            if (distances != null) distances[w] = level;
+                            if (count == next.length) next = Arrays.copyOf(next, count * 2);
+                            next[count++] = w;
+                            volume += degree(w);
+                        }
+                    }
+                }
+                found[chunk] = next;
+                foundCounts[chunk] = count;
+                volumes[chunk] = volume;
+            });
+
+            int total = 0;
+            long volume = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                total += foundCounts[chunk];
+                volume += volumes[chunk];
+            }
+            int[] next = new int[total];
+            int position = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                System.arraycopy(found[chunk], 0, next, position, foundCounts[chunk]);
+                position += foundCounts[chunk];
+            }
+            frontier = next;
+            frontierSize = total;
+            frontierVolume = volume;
+        }
+
+        /**
+         * Шаг снизу вверх: каждая задача отвечает за свой диапазон слов битовой карты,
+         * поэтому записывает слова посещенных узлов и новой границы без конкуренции.
+         */
+        private void stepBottomUp(int level) {
+            int words = visited.length();
+            int chunks = (words + BOTTOM_UP_CHUNK - 1) / BOTTOM_UP_CHUNK;
+            long[] current = frontierBits;
+            long[] next = new long[words];
+            int[] counts = new int[chunks];
+            long[] volumes = new long[chunks];
+            parallelFor(chunks, chunk -> {
+                int fromWord = chunk * BOTTOM_UP_CHUNK;
+                int toWord = Math.min(words, fromWord + BOTTOM_UP_CHUNK);
+                int count = 0;
+                long volume = 0;
+                for (int word = fromWord; word < toWord; word++) {
+                    long seen = visited.get(word);
+                    long unvisited = ~seen & validBits(word);
+                    long discovered = 0;
+                    while (unvisited != 0) {
+                        int bit = Long.numberOfTrailingZeros(unvisited);
+                        unvisited &= unvisited - 1;
+                        int v = (word << 6) | bit;
+                        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                            int w = targets[e];
+                            if ((current[w >>> 6] & (1L << w)) != 0) {
+                                discovered |= 1L << bit;
+                                if (distances != null) distances[v] = level;
+                                count++;
+                                volume += degree(v);
+                                break;
+                            }
+                        }
+                    }
+                    if (discovered != 0) {
+                        visited.set(word, seen | discovered);
+                        next[word] = discovered;
+                    }
+                }
+                counts[chunk] = count;
+                volumes[chunk] = volume;
+            });
+
+            frontierBits = next;
+            frontierSize = Arrays.stream(counts).sum();
+            frontierVolume = Arrays.stream(volumes).sum();
+        }
+
+        private boolean tryVisit(int node) {
+            int word = node >>> 6;
+            long mask = 1L << node;
+            while (true) {
+                long seen = visited.get(word);
+                if ((seen & mask) != 0) return false;
+                if (visited.compareAndSet(word, seen, seen | mask)) return true;
+            }
+        }
+
+        private long validBits(int word) {
+            int remaining = n - (word << 6);
+            return remaining >= 64 ? -1L : (1L << remaining) - 1;
+        }
+
+        private long[] toBits(int[] nodes, int size) {
+            long[] bits = new long[visited.length()];
+            for (int i = 0; i < size; i++) {
+                bits[nodes[i] >>> 6] |= 1L << nodes[i];
+            }
+            return bits;
+        }
+
+        private static int[] toList(long[] bits, int size) {
+            int[] nodes = new int[size];
+            int count = 0;
+            for (int word = 0; word < bits.length; word++) {
+                long value = bits[word];
+                while (value != 0) {
+                    nodes[count++] = (word << 6) | Long.numberOfTrailingZeros(value);
+                    value &= value - 1;
+                }
+            }
+            return nodes;
+        }
+
+        private int degree(int node) {
+            return offsets[node + 1] - offsets[node];
+        }
+
+        /**
+         * Выполняет body для каждого номера части из [0, chunks) на пуле, деля диапазон пополам.
+         */
+        private void parallelFor(int chunks, IntConsumer body) {
+            if (chunks == 1) {
+                body.accept(0);
+                return;
+            }
+            pool.invoke(new RangeAction(0, chunks, body));
+        }
+    }
+
+    private static final class RangeAction extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        RangeAction(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeAction(from, middle, body), new RangeAction(middle, to, body));
+        }
+    }
+}
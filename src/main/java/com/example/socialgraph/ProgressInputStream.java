@@ -0,0 +1,76 @@
+package com.example.socialgraph;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.function.LongConsumer;
+
+/**
+ * Поток, сообщающий количество прочитанных байт и поддерживающий отмену.
+ * Если поток-читатель прерван ({@link Thread#interrupt()}), очередное чтение бросает
+ * {@link InterruptedIOException}, поэтому разбор останавливается на ближайшем блоке.
+ */
+class ProgressInputStream extends FilterInputStream {
+
+    private static final long REPORT_STEP = 1 << 16;
+
+    private final LongConsumer progress;
+    private long position;
+    private long reported;
+
+    /**
+     * @param in исходный поток
+     * @param progress получатель общего количества прочитанных байт
+     */
+    ProgressInputStream(InputStream in, LongConsumer progress) {
+        super(in);
+        this.progress = progress;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkInterrupted();
+        int b = super.read();
+        if (b >= 0) advance(1);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        checkInterrupted();
+        int count = super.read(buffer, offset, length);
+        if (count > 0) advance(count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        checkInterrupted();
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        if (reported != position) {
+            progress.accept(position);
+        }
+    }
+
+    private void advance(long count) {
+        position += count;
+        if (position - reported >= REPORT_STEP) {
+            reported = position;
+            progress.accept(position);
+        }
+    }
+
+    private static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Чтение отменено");
+        }
+    }
+}
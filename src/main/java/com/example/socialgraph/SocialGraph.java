@@ -10,7 +10,27 @@ import java.util.*;
 
 public class SocialGraph<T> implements Graph<T> {
 
-    private final Map<T, Set<T>> adjacencyList = new HashMap<>();
+    private final Map<T, Set<T>> adjacencyList;
+
+    /**
+     * Создает пустой граф.
+     */
+    public SocialGraph() {
+        this(16);
+    }
+
+    /**
+     * Создает пустой граф, рассчитанный на указанное количество узлов без перехеширования.
+     *
+     * @param expectedNodes ожидаемое количество узлов
+     * @throws IllegalArgumentException если expectedNodes отрицательно
+     */
+    public SocialGraph(int expectedNodes) {
+        if (expectedNodes < 0) {
+            throw new IllegalArgumentException("Ожидаемое количество узлов не может быть отрицательным");
+        }
+        adjacencyList = new HashMap<>(CsrGraph.capacityFor(expectedNodes));
+    }
 
     /**
      * Добавляет узел в граф.
@@ -20,12 +40,25 @@ public class SocialGraph<T> implements Graph<T> {
      */
     @Override
     public boolean addNode(T node) {
-        if (node == null) return false;
-        if (adjacencyList.containsKey(node)) return false;
+        if (node == null || adjacencyList.containsKey(node)) return false;
         adjacencyList.put(node, new HashSet<>());
         return true;
     }
 
+    /**
+     * Добавляет узел с множеством соседей, заранее рассчитанным на указанную степень.
+     * Используется {@link GraphBuilder}, который знает степени до материализации графа.
+     *
+     * @param node новый узел (не null и еще не добавленный)
+     * @param expectedDegree ожидаемое количество соседей
+     * @return изменяемое множество соседей узла
+     */
+    Set<T> putNode(T node, int expectedDegree) {
+        Set<T> neighbors = HashSet.newHashSet(expectedDegree);
+        adjacencyList.put(node, neighbors);
+        return neighbors;
+    }
+
     /**
      * Добавляет ребро между двумя узлами в графе (неориентированное ребро).
      *
@@ -39,12 +72,14 @@ public class SocialGraph<T> implements Graph<T> {
     @Override
     public boolean addEdge(T from, T to) {
         if (from == null || to == null) return false;
-        if (!adjacencyList.containsKey(from) || !adjacencyList.containsKey(to)) return false;
+        Set<T> fromSet = adjacencyList.get(from);
+        Set<T> toSet = adjacencyList.get(to);
+        if (fromSet == null || toSet == null) return false;
         if (from.equals(to)) return false; // избегаем петель
 
         // неориентированный граф: добавляем связь в обе стороны
-        boolean changed = adjacencyList.get(from).add(to);
-        adjacencyList.get(to).add(from);
+        boolean changed = fromSet.add(to);
+        toSet.add(from);
         return changed;
     }
 
@@ -58,10 +93,11 @@ public class SocialGraph<T> implements Graph<T> {
      */
     @Override
     public Set<T> getConnections(T node) {
-        if (node == null || !adjacencyList.containsKey(node)) {
+        Set<T> neighbors = node == null ? null : adjacencyList.get(node);
+        if (neighbors == null) {
             return Collections.emptySet();
         }
-        return Collections.unmodifiableSet(adjacencyList.get(node));
+        return Collections.unmodifiableSet(neighbors);
     }
 
     /**
@@ -76,8 +112,8 @@ public class SocialGraph<T> implements Graph<T> {
     @Override
     public boolean hasEdge(T from, T to) {
         if (from == null || to == null) return false;
-        if (!adjacencyList.containsKey(from)) return false;
-        return adjacencyList.get(from).contains(to);
+        Set<T> neighbors = adjacencyList.get(from);
+        return neighbors != null && neighbors.contains(to);
     }
 
     /**
@@ -89,4 +125,14 @@ public class SocialGraph<T> implements Graph<T> {
     public Set<T> getAllNodes() {
         return Collections.unmodifiableSet(adjacencyList.keySet());
     }
+
+    /**
+     * Создает неизменяемый CSR-снимок текущего состояния графа.
+     * Последующие изменения графа на снимок не влияют.
+     *
+     * @return компактный снимок графа для аналитики только на чтение
+     */
+    public CsrGraph<T> freeze() {
+        return CsrGraph.of(this);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.example.socialgraph;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Генератор случайных графов, записывающий узлы и ребра сразу в файл, без построения графа в памяти.
+ * Позволяет создавать для нагрузочного тестирования графы, которые не помещаются в куче.
+ *
+ * <p>Граф строится по модели Эрдёша–Реньи G(n, p) с {@code p = averageDegree / (n - 1)}.
+ * Для каждого узла i по очереди выбираются соседи j > i: расстояние до следующего соседа
+ * выбирается из геометрического распределения, поэтому соседи сразу получаются
+ * отсортированными и уникальными. Каждое ребро выводится один раз, а память занимают
+ * только соседи текущего узла. При одинаковом seed файлы одинаковы.</p>
+ *
+ * <p>Поддерживаются форматы DOT с атрибутами label (читается
+ * {@link GraphFileReader#readLabeledDotFile(Path)}), двоичный {@code .sgb}
+ * (читается {@link GraphFileReader#readBinary(Path)}) и список ребер.</p>
+ *
+ * @example Пример использования:
+ * {@code
+ * long edges = StreamingGraphGenerator.writeBinary(100_000_000, 10, 42L, Path.of("huge.sgb"));
+ * }
+ */
+public class StreamingGraphGenerator {
+
+    private static final int CANCEL_CHECK_STEP = 1024;
+
+    /**
+     * Получатель отсортированных соседей j > source очередного узла.
+     */
+    @FunctionalInterface
+    private interface SourceSink {
+        void accept(int source, int[] targets, int count) throws IOException;
+    }
+
+    /**
+     * Генерирует граф и записывает его в DOT-файл в кодировке UTF-8: идентификатор узла — его
+     * номер, имя передается атрибутом label, как в {@link GraphvizSerializer#serializeWithLabels}.
+     *
+     * @param numberOfNodes количество узлов (должно быть положительным)
+     * @param averageDegree ожидаемая средняя степень узла, от 0 до numberOfNodes - 1
+     * @param seed начальное значение генератора случайных чисел
+     * @param path путь к файлу
+     * @return количество записанных ребер
+     * @throws IOException если произошла ошибка записи
+     * @throws InterruptedIOException если поток был прерван во время генерации
+     * @throws IllegalArgumentException если параметры некорректны
+     */
+    public static long writeDot(int numberOfNodes, double averageDegree, long seed, Path path) throws IOException {
+        validate(numberOfNodes, averageDegree, path);
+        List<String> names = GraphGenerator.loadNamesFromFile("name.txt", numberOfNodes);
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("graph SocialGraph {\n");
+            for (int i = 0; i < numberOfNodes; i++) {
+                GraphvizSerializer.writeNode(writer, String.valueOf(i), names.get(i));
+            }
+            long edges = generate(numberOfNodes, averageDegree, seed, (source, targets, count) -> {
+                String from = String.valueOf(source);
+                for (int k = 0; k < count; k++) {
+                    GraphvizSerializer.writeEdge(writer, from, String.valueOf(targets[k]));
+                }
+            });
+            writer.write("}");
+            return edges;
+        }
+    }
+
+    /**
+     * Генерирует граф и записывает его как список ребер: по одному ребру на строку,
+     * номера концов через пробел, меньший номер первым. Узлы без ребер и имена не записываются.
+     *
+     * @param numberOfNodes количество узлов (должно быть положительным)
+     * @param averageDegree ожидаемая средняя степень узла, от 0 до numberOfNodes - 1
+     * @param seed начальное значение генератора случайных чисел
+     * @param path путь к файлу
+     * @return количество записанных ребер
+     * @throws IOException если произошла ошибка записи
+     * @throws InterruptedIOException если поток был прерван во время генерации
+     * @throws IllegalArgumentException если параметры некорректны
+     */
+    public static long writeEdgeList(int numberOfNodes, double averageDegree, long seed, Path path)
+            throws IOException {
+        validate(numberOfNodes, averageDegree, path);
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            return generate(numberOfNodes, averageDegree, seed, (source, targets, count) -> {
+                String from = source + " ";
+                for (int k = 0; k < count; k++) {
+                    writer.write(from);
+                    writer.write(Integer.toString(targets[k]));
+                    writer.write('\n');
+                }
+            });
+        }
+    }
+
+    /**
+     * Генерирует граф и записывает его в двоичный формат {@code .sgb} ({@link BinaryGraphSerializer}).
+     *
+     * @param numberOfNodes количество узлов (должно быть положительным)
+     * @param averageDegree ожидаемая средняя степень узла, от 0 до numberOfNodes - 1
+     * @param seed начальное значение генератора случайных чисел
+     * @param path путь к файлу
+     * @return количество записанных ребер
+     * @throws IOException если произошла ошибка записи
+     * @throws InterruptedIOException если поток был прерван во время генерации
+     * @throws IllegalArgumentException если параметры некорректны
+     */
+    public static long writeBinary(int numberOfNodes, double averageDegree, long seed, Path path) throws IOException {
+        validate(numberOfNodes, averageDegree, path);
+        List<String> names = GraphGenerator.loadNamesFromFile("name.txt", numberOfNodes);
+        try (OutputStream out = Files.newOutputStream(path)) {
+            VarintWriter writer = new VarintWriter(out);
+            BinaryGraphSerializer.writeHeader(writer, numberOfNodes);
+            for (int i = 0; i < numberOfNodes; i++) {
+                BinaryGraphSerializer.writeNode(writer, new Node(String.valueOf(i), names.get(i)));
+            }
+            long edges = generate(numberOfNodes, averageDegree, seed,
+                    (source, targets, count) -> BinaryGraphSerializer.writeAdjacency(writer, source, targets, 0, count));
+            writer.flush();
+            return edges;
+        }
+    }
+
+    /**
+     * Перебирает узлы по порядку и передает в sink отсортированных соседей с большими номерами.
+     *
+     * @return общее количество ребер
+     */
+    private static long generate(int numberOfNodes, double averageDegree, long seed, SourceSink sink)
+            throws IOException {
+        double probability = numberOfNodes == 1 ? 0 : Math.min(1.0, averageDegree / (numberOfNodes - 1));
+        double logFailure = Math.log1p(-probability);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        int[] targets = new int[16];
+        long edges = 0;
+        for (int source = 0; source < numberOfNodes; source++) {
+            if (source % CANCEL_CHECK_STEP == 0 && Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Генерация прервана");
+            }
+            int count = 0;
+            if (probability > 0) {
+                long target = probability < 1
+                        ? GraphGenerator.nextSuccess(source, logFailure, random)
+                        : source + 1;
+                while (target < numberOfNodes) {
+                    if (count == targets.length) {
+                        targets = Arrays.copyOf(targets, count * 2);
+                    }
+                    targets[count++] = (int) target;
+                    target = probability < 1
+                            ? GraphGenerator.nextSuccess(target, logFailure, random)
+                            : target + 1;
+                }
+            }
+            sink.accept(source, targets, count);
+            edges += count;
+        }
+        return edges;
+    }
+
+    private static void validate(int numberOfNodes, double averageDegree, Path path) {
+        if (numberOfNodes <= 0) {
+            throw new IllegalArgumentException("Количество узлов должно быть положительным: " + numberOfNodes);
+        }
+        if (!(averageDegree >= 0 && averageDegree <= numberOfNodes - 1)) {
+            throw new IllegalArgumentException("Средняя степень должна быть от 0 до " + (numberOfNodes - 1)
+                    + ": " + averageDegree);
+        }
+        if (path == null) {
+            throw new IllegalArgumentException("Путь не может быть null");
+        }
+    }
+}
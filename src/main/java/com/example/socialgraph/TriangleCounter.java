@@ -0,0 +1,271 @@
+package com.example.socialgraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Подсчет треугольников и коэффициентов кластеризации.
+ *
+ * <p>Ребра ориентируются от узла с меньшим рангом к узлу с большим, где ранг — степень
+ * (при равенстве — индекс). Тогда каждый треугольник находится ровно один раз — как
+ * пересечение исходящих списков двух его вершин, — а исходящий список любого узла
+ * не длиннее O(√m), поэтому хабы не порождают квадратичной работы. Исходящие списки
+ * отсортированы по индексу и пересекаются слиянием, а при сильно различающихся длинах —
+ * экспоненциальным (galloping) поиском по длинному списку. Узлы обрабатываются
+ * параллельно, счетчики треугольников узлов — {@link AtomicLongArray}.</p>
+ *
+ * @example Пример использования:
+ * {@code
+ * TriangleCounter.Result<Node> result = TriangleCounter.count(graph);
+ * double global = result.transitivity();
+ * double local = result.clusteringCoefficient(alice);
+ * }
+ */
+public final class TriangleCounter {
+
+    /** Во сколько раз один список должен быть длиннее другого, чтобы перейти к galloping-поиску. */
+    static final int GALLOP_RATIO = 32;
+
+    private TriangleCounter() {
+    }
+
+    /**
+     * Результат подсчета: количество треугольников по узлам и производные коэффициенты.
+     *
+     * @param <T> тип узлов графа
+     */
+    public static final class Result<T> {
+        private final CsrGraph<T> graph;
+        private final long[] triangles;
+        private final long total;
+
+        private Result(CsrGraph<T> graph, long[] triangles, long total) {
+            this.graph = graph;
+            this.triangles = triangles;
+            this.total = total;
+        }
+
+        /**
+         * Возвращает количество треугольников в графе.
+         *
+         * @return количество треугольников
+         */
+        public long triangleCount() {
+            return total;
+        }
+
+        /**
+         * Возвращает количество треугольников, в которые входит узел.
+         *
+         * @param node узел
+         * @return количество треугольников, или 0 если узла нет в графе
+         */
+        public long triangles(T node) {
+            int index = graph.indexOf(node);
+            return index < 0 ? 0 : triangles[index];
+        }
+
+        /**
+         * Возвращает локальный коэффициент кластеризации узла: долю пар его друзей,
+         * которые дружат между собой.
+         *
+         * @param node узел
+         * @return коэффициент от 0 до 1; 0 для узла со степенью меньше 2 или отсутствующего в графе
+         */
+        public double clusteringCoefficient(T node) {
+            int index = graph.indexOf(node);
+            return index < 0 ? 0 : clusteringByIndex(index);
+        }
+
+        /**
+         * Возвращает средний локальный коэффициент кластеризации по всем узлам
+         * (узлы со степенью меньше 2 учитываются с коэффициентом 0).
+         *
+         * @return средний коэффициент, или 0 для пустого графа
+         */
+        public double averageClustering() {
+            int n = graph.nodeCount();
+            if (n == 0) return 0;
+            double sum = 0;
+            for (int v = 0; v < n; v++) {
+                sum += clusteringByIndex(v);
+            }
+            return sum / n;
+        }
+
+        /**
+         * Возвращает глобальную транзитивность: утроенное количество треугольников,
+         * деленное на количество путей длины 2.
+         *
+         * @return транзитивность от 0 до 1, или 0 если путей длины 2 нет
+         */
+        public double transitivity() {
+            long wedges = 0;
+            for (int v = 0; v < graph.nodeCount(); v++) {
+                long degree = graph.degree(v);
+                wedges += degree * (degree - 1) / 2;
+            }
+            return wedges == 0 ? 0 : 3.0 * total / wedges;
+        }
+
+        /**
+         * Возвращает копию количеств треугольников по индексам узлов снимка.
+         *
+         * @return массив длины {@code graph().nodeCount()}
+         */
+        public long[] trianglesByIndex() {
+            return triangles.clone();
+        }
+
+        /**
+         * Возвращает снимок, по которому выполнен подсчет (индексы в {@link #trianglesByIndex()}).
+         *
+         * @return снимок графа
+         */
+        public CsrGraph<T> graph() {
+            return graph;
+        }
+
+        private double clusteringByIndex(int index) {
+            long degree = graph.degree(index);
+            return degree < 2 ? 0 : 2.0 * triangles[index] / (degree * (degree - 1));
+        }
+    }
+
+    /**
+     * Считает треугольники на общем пуле {@link ForkJoinPool#commonPool()}.
+     *
+     * @see #count(Graph, ForkJoinPool)
+     */
+    public static <T> Result<T> count(Graph<T> graph) {
+        return count(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Считает треугольники графа. Если граф не является {@link CsrGraph}, сначала строится его снимок.
+     *
+     * @param <T> тип узлов графа
+     * @param graph граф (не может быть null)
+     * @param pool пул, на котором выполняется подсчет (не может быть null)
+     * @return результат подсчета
+     * @throws IllegalArgumentException если любой из аргументов равен null
+     */
+    public static <T> Result<T> count(Graph<T> graph, ForkJoinPool pool) {
+        if (graph == null || pool == null) {
+            throw new IllegalArgumentException("Граф и пул не могут быть null");
+        }
+        CsrGraph<T> csr = graph instanceof CsrGraph<T> snapshot ? snapshot : CsrGraph.of(graph);
+        int n = csr.nodeCount();
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+
+        // Исходящие списки: соседи с большим рангом, в исходном порядке (по возрастанию индекса)
+        int[] outOffsets = new int[n + 1];
+        pool.submit(() -> IntStream.range(0, n).parallel().forEach(u -> {
+            int count = 0;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (higherRank(offsets, targets[e], u)) count++;
+            }
+            outOffsets[u + 1] = count;
+        })).join();
+        for (int u = 0; u < n; u++) {
+            outOffsets[u + 1] += outOffsets[u];
+        }
+        int[] outTargets = new int[outOffsets[n]];
+        pool.submit(() -> IntStream.range(0, n).parallel().forEach(u -> {
+            int position = outOffsets[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (higherRank(offsets, targets[e], u)) outTargets[position++] = targets[e];
+            }
+        })).join();
+
+        AtomicLongArray perNode = new AtomicLongArray(n);
+        long total = pool.submit(() -> IntStream.range(0, n).parallel().mapToLong(u -> {
+            long found = 0;
+            for (int e = outOffsets[u]; e < outOffsets[u + 1]; e++) {
+                int v = outTargets[e];
+                long common = intersect(outTargets, outOffsets[u], outOffsets[u + 1],
+                        outOffsets[v], outOffsets[v + 1], perNode);
+                if (common > 0) perNode.getAndAdd(v, common);
+                found += common;
+            }
+            if (found > 0) perNode.getAndAdd(u, found);
+            return found;
+        }).sum()).join();
+
+        long[] triangles = new long[n];
+        for (int v = 0; v < n; v++) {
+            triangles[v] = perNode.get(v);
+        }
+        return new Result<>(csr, triangles, total);
+    }
+
+    /**
+     * Проверяет, что ранг узла a больше ранга узла b: больше степень, а при равенстве — индекс.
+     */
+    private static boolean higherRank(int[] offsets, int a, int b) {
+        int degreeA = offsets[a + 1] - offsets[a];
+        int degreeB = offsets[b + 1] - offsets[b];
+        return degreeA > degreeB || (degreeA == degreeB && a > b);
+    }
+
+    /**
+     * Пересекает отсортированные фрагменты {@code targets[aFrom, aTo)} и {@code targets[bFrom, bTo)},
+     * увеличивая счетчик треугольников каждого общего элемента.
+     *
+     * @return количество общих элементов
+     */
+    private static long intersect(int[] targets, int aFrom, int aTo, int bFrom, int bTo, AtomicLongArray perNode) {
+        int aLength = aTo - aFrom;
+        int bLength = bTo - bFrom;
+        if (aLength == 0 || bLength == 0) return 0;
+        if (aLength > bLength) {
+            return intersect(targets, bFrom, bTo, aFrom, aTo, perNode);
+        }
+
+        long common = 0;
+        if ((long) aLength * GALLOP_RATIO < bLength) {
+            // Короткий список: каждый его элемент ищется в длинном экспоненциальным поиском
+            int low = bFrom;
+            for (int i = aFrom; i < aTo && low < bTo; i++) {
+                int value = targets[i];
+                int step = 1;
+                int high = low;
+                while (high < bTo && targets[high] < value) {
+                    low = high + 1;
+                    high += step;
+                    step <<= 1;
+                }
+                int found = Arrays.binarySearch(targets, low, Math.min(high + 1, bTo), value);
+                if (found >= 0) {
+                    common++;
+                    perNode.getAndIncrement(value);
+                    low = found + 1;
+                } else {
+                    low = -found - 1;
+                }
+            }
+            return common;
+        }
+
+        int i = aFrom;
+        int j = bFrom;
+        while (i < aTo && j < bTo) {
+            int a = targets[i];
+            int b = targets[j];
+            if (a < b) {
+                i++;
+            } else if (a > b) {
+                j++;
+            } else {
+                common++;
+                perNode.getAndIncrement(a);
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+}
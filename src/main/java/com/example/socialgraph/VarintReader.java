@@ -0,0 +1,112 @@
+package com.example.socialgraph;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Буферизованное чтение чисел переменной длины (unsigned LEB128) и строк UTF-8,
+ * записанных {@link VarintWriter}.
+ */
+final class VarintReader {
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+
+    VarintReader(InputStream in) {
+        this(in, 1 << 16);
+    }
+
+    VarintReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Читает неотрицательное число.
+     *
+     * @throws EOFException если поток закончился посреди числа или до его начала
+     * @throws StreamCorruptedException если число длиннее 64 бит
+     */
+    long readVarint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new StreamCorruptedException("Слишком длинное число");
+    }
+
+    /**
+     * Читает число, которое должно помещаться в int.
+     */
+    int readInt() throws IOException {
+        long value = readVarint();
+        if (value > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Значение вне диапазона int: " + value);
+        }
+        return (int) value;
+    }
+
+    String readString() throws IOException {
+        return new String(readBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Читает массив байт, перед которым записана его длина. Длина берется из данных,
+     * поэтому массив растет по мере чтения, а не выделяется сразу по заявленному размеру:
+     * поврежденная длина приводит к {@link EOFException}, а не к нехватке памяти.
+     */
+    byte[] readBytes() throws IOException {
+        int length = readInt();
+        byte[] bytes = new byte[Math.min(length, buffer.length)];
+        int offset = 0;
+        while (true) {
+            readRaw(bytes, offset, bytes.length - offset);
+            if (bytes.length == length) return bytes;
+            offset = bytes.length;
+            bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+        }
+    }
+
+    void readRaw(byte[] bytes) throws IOException {
+        readRaw(bytes, 0, bytes.length);
+    }
+
+    private void readRaw(byte[] bytes, int offset, int length) throws IOException {
+        int end = offset + length;
+        while (offset < end) {
+            if (position == limit && !fill()) throw new EOFException();
+            int count = Math.min(end - offset, limit - position);
+            System.arraycopy(buffer, position, bytes, offset, count);
+            position += count;
+            offset += count;
+        }
+    }
+
+    /**
+     * Проверяет, остались ли непрочитанные данные.
+     */
+    boolean hasMore() throws IOException {
+        return position < limit || fill();
+    }
+
+    private int readByte() throws IOException {
+        if (position == limit && !fill()) throw new EOFException();
+        return buffer[position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int count = in.read(buffer, 0, buffer.length);
+        if (count <= 0) return false;
+        position = 0;
+        limit = count;
+        return true;
+    }
+}
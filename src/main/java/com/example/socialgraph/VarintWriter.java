@@ -0,0 +1,74 @@
+package com.example.socialgraph;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Буферизованная запись чисел переменной длины (unsigned LEB128) и строк UTF-8.
+ * Используется двоичными форматами графа.
+ */
+final class VarintWriter {
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+
+    VarintWriter(OutputStream out) {
+        this(out, 1 << 16);
+    }
+
+    VarintWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Записывает неотрицательное число: по 7 бит в байте, старший бит — признак продолжения.
+     */
+    void writeVarint(long value) throws IOException {
+        if (position + 10 > buffer.length) flushBuffer();
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Записывает строку как длину в байтах (varint) и байты UTF-8.
+     */
+    void writeString(String value) throws IOException {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void writeBytes(byte[] bytes) throws IOException {
+        writeVarint(bytes.length);
+        writeRaw(bytes);
+    }
+
+    void writeRaw(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Сбрасывает буфер и сам выходной поток.
+     */
+    void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
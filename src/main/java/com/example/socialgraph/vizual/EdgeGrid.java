@@ -0,0 +1,142 @@
+package com.example.socialgraph.vizual;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Равномерная сетка отрезков: каждый отрезок хранится во всех ячейках, через которые он
+ * проходит, поэтому отрезки, пересекающие прямоугольник, находятся просмотром только
+ * накрытых им ячеек — в том числе отрезки, оба конца которых лежат за его пределами.
+ * Отрезки задаются неотрицательными номерами, пустые ячейки не хранятся.
+ *
+ * <p>Записи не удаляются: после перемещения концов отрезок добавляется заново, а устаревшие
+ * записи отсеиваются точной проверкой пересечения у вызывающего кода. Когда устаревших
+ * записей становится много, сетку дешевле построить заново через {@link #clear()}.</p>
+ */
+final class EdgeGrid {
+
+    private final int cellSize;
+    /** Номера отрезков ячейки; элемент 0 — количество. */
+    private final Map<Long, int[]> cells = new HashMap<>();
+    private long entries;
+    /** Номер поиска, в котором отрезок уже был выдан; убирает повторы из соседних ячеек. */
+    private int[] seen = new int[16];
+    private int generation;
+
+    /**
+     * @param cellSize размер ячейки
+     * @throws IllegalArgumentException если cellSize не положителен
+     */
+    EdgeGrid(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Размер ячейки должен быть положительным");
+        }
+        this.cellSize = cellSize;
+    }
+
+    void clear() {
+        cells.clear();
+        entries = 0;
+    }
+
+    /**
+     * Возвращает количество записей во всех ячейках, включая устаревшие.
+     */
+    long entries() {
+        return entries;
+    }
+
+    /**
+     * Добавляет отрезок во все ячейки, через которые он проходит: для каждого столбца
+     * ячеек берется диапазон y отрезка внутри столбца.
+     */
+    void add(int id, int x1, int y1, int x2, int y2) {
+        if (id >= seen.length) {
+            seen = Arrays.copyOf(seen, Math.max(id + 1, 2 * seen.length));
+        }
+        int fromX = cell(Math.min(x1, x2));
+        int toX = cell(Math.max(x1, x2));
+        for (int cx = fromX; cx <= toX; cx++) {
+            double low, high;
+            if (fromX == toX) {
+                low = Math.min(y1, y2);
+                high = Math.max(y1, y2);
+            } else {
+                double left = Math.max(Math.min(x1, x2), (double) cx * cellSize);
+                double right = Math.min(Math.max(x1, x2), (double) (cx + 1) * cellSize);
+                double slope = (double) (y2 - y1) / (x2 - x1);
+                double yLeft = y1 + slope * (left - x1);
+                double yRight = y1 + slope * (right - x1);
+                low = Math.min(yLeft, yRight);
+                high = Math.max(yLeft, yRight);
+            }
+            int toY = cell((int) Math.ceil(high));
+            for (int cy = cell((int) Math.floor(low)); cy <= toY; cy++) {
+                append(key(cx, cy), id);
+            }
+        }
+    }
+
+    /**
+     * Передает каждый отрезок из ячеек, накрытых прямоугольником, ровно один раз.
+     * Среди них могут быть отрезки, которые сам прямоугольник не пересекают.
+     */
+    void candidates(Rectangle area, IntConsumer consumer) {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            generation = 1;
+        }
+        int fromX = cell(area.x), toX = cell(area.x + area.width);
+        int fromY = cell(area.y), toY = cell(area.y + area.height);
+        long covered = ((long) toX - fromX + 1) * ((long) toY - fromY + 1);
+        if (covered > cells.size()) {
+            // Прямоугольник больше занятой части сетки: дешевле обойти непустые ячейки
+            for (int[] ids : cells.values()) {
+                emit(ids, consumer);
+            }
+            return;
+        }
+        for (int cx = fromX; cx <= toX; cx++) {
+            for (int cy = fromY; cy <= toY; cy++) {
+                int[] ids = cells.get(key(cx, cy));
+                if (ids != null) {
+                    emit(ids, consumer);
+                }
+            }
+        }
+    }
+
+    private void emit(int[] ids, IntConsumer consumer) {
+        for (int i = 1; i <= ids[0]; i++) {
+            int id = ids[i];
+            if (seen[id] != generation) {
+                seen[id] = generation;
+                consumer.accept(id);
+            }
+        }
+    }
+
+    private void append(long key, int id) {
+        int[] ids = cells.get(key);
+        if (ids == null) {
+            ids = new int[4];
+            cells.put(key, ids);
+        } else if (ids[0] + 1 == ids.length) {
+            ids = Arrays.copyOf(ids, 2 * ids.length);
+            cells.put(key, ids);
+        }
+        ids[++ids[0]] = id;
+        entries++;
+    }
+
+    private int cell(int coordinate) {
+        return Math.floorDiv(coordinate, cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
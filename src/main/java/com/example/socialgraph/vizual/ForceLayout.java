@@ -0,0 +1,662 @@
+package com.example.socialgraph.vizual;
+
+import com.example.socialgraph.Graph;
+import com.example.socialgraph.Node;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Силовая раскладка графа (Fruchterman–Reingold) с приближением Барнса–Хата.
+ * Узлы отталкиваются друг от друга, ребра притягивают свои концы, а шаг перемещения
+ * ограничен "температурой", которая уменьшается с каждой итерацией.
+ *
+ * <p>Отталкивание считается по квадродереву, которое строится заново на каждой итерации:
+ * далекие группы узлов заменяются их центром масс, поэтому итерация стоит O(n log n)
+ * вместо O(n²). Силы для узлов считаются параллельно в общем пуле fork-join.</p>
+ *
+ * <p>Метод {@link #start} запускает итерации в фоновом потоке и публикует снимки координат
+ * в поток обработки событий Swing. Снимки не накапливаются в очереди: если предыдущий
+ * еще не обработан, слушатель получит сразу самый свежий. Раскладку можно приостановить
+ * ({@link #pause}), продолжить ({@link #resume}) и остановить ({@link #stop}); итерации
+ * прекращаются сами, когда максимальное смещение узла за итерацию меньше порога сходимости.</p>
+ *
+ * <p>Ручные изменения передаются работающей раскладке без ее пересоздания: перемещения —
+ * через {@link #moveNode}, новые узлы и ребра — через {@link #addNode} и {@link #addEdge}.
+ * Изменения ставятся в очередь и применяются рабочим потоком перед очередной итерацией,
+ * массивы при этом растут с запасом. Пока узел закреплен ({@link #setPinned}), раскладка
+ * его не двигает.</p>
+ *
+ * @example Пример использования:
+ * {@code
+ * ForceLayout layout = new ForceLayout(graph, positions);
+ * layout.start((coordinates, converged) -> {
+ *     for (int i = 0; i < coordinates.length / 2; i++) {
+ *         positions.put(layout.nodes().get(i), new Point(coordinates[2 * i], coordinates[2 * i + 1]));
+ *     }
+ *     canvas.repaint();
+ * });
+ * }
+ */
+public class ForceLayout {
+
+    /**
+     * Получатель снимков координат. Вызывается в потоке обработки событий Swing.
+     */
+    public interface Listener {
+        /**
+         * @param coordinates координаты первых coordinates.length / 2 узлов в порядке
+         *                    {@link #nodes()}: x0, y0, x1, y1, ...
+         * @param converged true если раскладка сошлась и итерации остановлены
+         */
+        void positionsUpdated(int[] coordinates, boolean converged);
+    }
+
+    /** Желаемая длина ребра в пикселях. */
+    public static final double IDEAL_EDGE_LENGTH = 60;
+
+    /** Порог сходимости по умолчанию: максимальное смещение узла за итерацию в пикселях. */
+    public static final double DEFAULT_CONVERGENCE_THRESHOLD = 0.5;
+
+    private static final double THETA = 0.8;
+    private static final double COOLING = 0.97;
+    private static final double GRAVITY = 0.02;
+    private static final int MAX_DEPTH = 40;
+    private static final int BLOCK_SIZE = 1024;
+    private static final long PUBLISH_INTERVAL_NANOS = 40_000_000L;
+
+    // Узлы только добавляются, поэтому слушатель может читать список без блокировок
+    private final List<Node> nodes = new CopyOnWriteArrayList<>();
+    // Поля ниже меняет только поток итераций (или вызывающий step() напрямую)
+    private final Map<Node, Integer> indexByNode;
+    private int count;
+    private int[][] adjacency;
+    private int[] degree;
+    private double[] x;
+    private double[] y;
+    private double[] dispX;
+    private double[] dispY;
+    private boolean[] pinned;
+    private final QuadTree tree;
+    /** Ручные изменения из других потоков; применяются перед очередной итерацией. */
+    private final Queue<Runnable> edits = new ConcurrentLinkedQueue<>();
+    private double temperature;
+    private volatile double convergenceThreshold = DEFAULT_CONVERGENCE_THRESHOLD;
+
+    private final Object monitor = new Object();
+    private boolean paused;
+    private boolean stopped;
+    private boolean converged;
+    private boolean reheat;
+    private Thread worker;
+
+    private final AtomicReference<int[]> latest = new AtomicReference<>();
+    private final AtomicBoolean publishPending = new AtomicBoolean();
+
+    /**
+     * Подготавливает раскладку для узлов графа. Начальные координаты берутся из initial;
+     * узлы без координат размещаются вокруг центра остальных.
+     *
+     * @param graph граф (не может быть null)
+     * @param initial начальные координаты узлов (не может быть null)
+     * @throws IllegalArgumentException если graph или initial равны null
+     */
+    public ForceLayout(Graph<Node> graph, Map<Node, Point> initial) {
+        if (graph == null || initial == null) {
+            throw new IllegalArgumentException("Граф и координаты не могут быть null");
+        }
+        nodes.addAll(graph.getAllNodes());
+        int n = nodes.size();
+        count = n;
+        Map<Node, Integer> index = HashMap.newHashMap(n);
+        for (int i = 0; i < n; i++) {
+            index.put(nodes.get(i), i);
+        }
+        this.indexByNode = index;
+
+        adjacency = new int[n][];
+        degree = new int[n];
+        for (int i = 0; i < n; i++) {
+            Set<Node> connections = graph.getConnections(nodes.get(i));
+            int[] row = new int[connections.size()];
+            int found = 0;
+            for (Node neighbor : connections) {
+                Integer j = index.get(neighbor);
+                if (j != null) row[found++] = j;
+            }
+            adjacency[i] = row;
+            degree[i] = found;
+        }
+
+        x = new double[n];
+        y = new double[n];
+        dispX = new double[n];
+        dispY = new double[n];
+        pinned = new boolean[n];
+        placeInitial(initial);
+
+        tree = new QuadTree(n);
+        temperature = Math.max(IDEAL_EDGE_LENGTH, IDEAL_EDGE_LENGTH * Math.sqrt(n) / 4);
+    }
+
+    private void placeInitial(Map<Node, Point> initial) {
+        double sumX = 0, sumY = 0;
+        int placed = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            Point p = initial.get(nodes.get(i));
+            if (p == null) {
+                x[i] = Double.NaN;
+                continue;
+            }
+            x[i] = p.x;
+            y[i] = p.y;
+            sumX += p.x;
+            sumY += p.y;
+            placed++;
+        }
+        double centerX = placed == 0 ? 0 : sumX / placed;
+        double centerY = placed == 0 ? 0 : sumY / placed;
+        for (int i = 0; i < nodes.size(); i++) {
+            if (Double.isNaN(x[i])) {
+                // Спираль Ферма дает равномерное начальное распределение без совпадающих точек
+                double radius = IDEAL_EDGE_LENGTH * Math.sqrt(i + 1);
+                double angle = i * 2.399963229728653;
+                x[i] = centerX + radius * Math.cos(angle);
+                y[i] = centerY + radius * Math.sin(angle);
+            }
+        }
+    }
+
+    /**
+     * Возвращает узлы в порядке, в котором записываются координаты. Узлы, добавленные
+     * через {@link #addNode}, появляются в конце списка, когда изменение применено,
+     * поэтому список может быть длиннее уже полученного снимка координат.
+     *
+     * @return неизменяемый потокобезопасный список узлов
+     */
+    public List<Node> nodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Добавляет узел в раскладку, например после создания узла щелчком мыши. Изменение
+     * применяется перед следующей итерацией; раскладка не пересоздается.
+     *
+     * @param node новый узел; уже известные раскладке узлы игнорируются
+     * @param px начальная координата x
+     * @param py начальная координата y
+     * @throws IllegalArgumentException если node равен null
+     */
+    public void addNode(Node node, double px, double py) {
+        if (node == null) {
+            throw new IllegalArgumentException("Узел не может быть null");
+        }
+        edits.add(() -> {
+            if (indexByNode.containsKey(node)) return;
+            if (count == x.length) grow(Math.max(16, 2 * count));
+            int i = count;
+            x[i] = px;
+            y[i] = py;
+            adjacency[i] = new int[4];
+            indexByNode.put(node, i);
+            nodes.add(node);
+            count++;
+            // Новый узел должен успеть занять место, даже если раскладка уже остыла
+            temperature = Math.max(temperature, IDEAL_EDGE_LENGTH);
+        });
+        reheatIfConverged();
+    }
+
+    /**
+     * Добавляет ребро в раскладку. Изменение применяется перед следующей итерацией
+     * (после ранее переданных {@link #addNode}); ребра с неизвестными раскладке концами,
+     * петли и повторы игнорируются.
+     *
+     * @param from один конец ребра
+     * @param to другой конец ребра
+     */
+    public void addEdge(Node from, Node to) {
+        edits.add(() -> {
+            Integer a = indexByNode.get(from);
+            Integer b = indexByNode.get(to);
+            if (a == null || b == null || a.equals(b)) return;
+            for (int e = 0; e < degree[a]; e++) {
+                if (adjacency[a][e] == b) return;
+            }
+            appendNeighbor(a, b);
+            appendNeighbor(b, a);
+            temperature = Math.max(temperature, IDEAL_EDGE_LENGTH);
+        });
+        reheatIfConverged();
+    }
+
+    private void appendNeighbor(int node, int neighbor) {
+        int[] row = adjacency[node];
+        if (degree[node] == row.length) {
+            row = adjacency[node] = Arrays.copyOf(row, Math.max(4, 2 * row.length));
+        }
+        row[degree[node]++] = neighbor;
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        dispX = Arrays.copyOf(dispX, capacity);
+        dispY = Arrays.copyOf(dispY, capacity);
+        pinned = Arrays.copyOf(pinned, capacity);
+        adjacency = Arrays.copyOf(adjacency, capacity);
+        degree = Arrays.copyOf(degree, capacity);
+    }
+
+    /**
+     * Перемещает узел в заданную точку, например после перетаскивания мышью. Изменение
+     * применяется перед следующей итерацией; сошедшаяся раскладка "подогревается", чтобы
+     * остальные узлы подстроились под новое положение (на паузе — после {@link #resume()}).
+     *
+     * @param node узел раскладки; неизвестные раскладке узлы игнорируются
+     * @param px координата x
+     * @param py координата y
+     */
+    public void moveNode(Node node, double px, double py) {
+        edits.add(() -> {
+            Integer i = indexByNode.get(node);
+            if (i == null) return;
+            x[i] = px;
+            y[i] = py;
+        });
+        reheatIfConverged();
+    }
+
+    /**
+     * Закрепляет узел на месте или снимает закрепление. Закрепленный узел по-прежнему
+     * отталкивает и притягивает остальные, но сам не двигается.
+     *
+     * @param node узел раскладки; неизвестные раскладке узлы игнорируются
+     * @param value true чтобы закрепить узел
+     */
+    public void setPinned(Node node, boolean value) {
+        edits.add(() -> {
+            Integer i = indexByNode.get(node);
+            if (i != null) pinned[i] = value;
+        });
+        if (!value) reheatIfConverged();
+    }
+
+    private void reheatIfConverged() {
+        synchronized (monitor) {
+            if (converged) {
+                converged = false;
+                reheat = true;
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Устанавливает порог сходимости.
+     *
+     * @param threshold максимальное смещение узла за итерацию, при котором раскладка считается готовой
+     * @throws IllegalArgumentException если threshold отрицателен
+     */
+    public void setConvergenceThreshold(double threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Порог сходимости не может быть отрицательным");
+        }
+        this.convergenceThreshold = threshold;
+    }
+
+    /**
+     * Выполняет одну итерацию раскладки. Не должен вызываться, пока раскладка запущена через {@link #start}.
+     *
+     * @return максимальное смещение узла за итерацию
+     */
+    public double step() {
+        for (Runnable edit; (edit = edits.poll()) != null; ) {
+            edit.run();
+        }
+        int n = count;
+        if (n == 0) return 0;
+
+        double centerX = 0, centerY = 0;
+        for (int i = 0; i < n; i++) {
+            centerX += x[i];
+            centerY += y[i];
+        }
+        centerX /= n;
+        centerY /= n;
+
+        tree.build(x, y, n);
+        double k2 = IDEAL_EDGE_LENGTH * IDEAL_EDGE_LENGTH;
+        double cx = centerX, cy = centerY;
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            int[] stack = new int[4 * (MAX_DEPTH + 2)];
+            double[] force = new double[2];
+            int to = Math.min(n, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < to; i++) {
+                computeDisplacement(i, k2, cx, cy, stack, force);
+            }
+        });
+
+        double maxMove = 0;
+        for (int i = 0; i < n; i++) {
+            double length = Math.sqrt(dispX[i] * dispX[i] + dispY[i] * dispY[i]);
+            if (length == 0 || pinned[i]) continue;
+            double move = Math.min(length, temperature);
+            x[i] += dispX[i] / length * move;
+            y[i] += dispY[i] / length * move;
+            maxMove = Math.max(maxMove, move);
+        }
+        temperature *= COOLING;
+        return maxMove;
+    }
+
+    private void computeDisplacement(int i, double k2, double centerX, double centerY, int[] stack, double[] force) {
+        double px = x[i], py = y[i];
+        tree.repulsion(i, px, py, k2, stack, force);
+        double fx = force[0];
+        double fy = force[1];
+
+        int[] row = adjacency[i];
+        for (int e = 0; e < degree[i]; e++) {
+            int j = row[e];
+            double dx = x[j] - px;
+            double dy = y[j] - py;
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            // Притяжение d² / k вдоль ребра
+            fx += dx * distance / IDEAL_EDGE_LENGTH;
+            fy += dy * distance / IDEAL_EDGE_LENGTH;
+        }
+
+        fx += (centerX - px) * GRAVITY;
+        fy += (centerY - py) * GRAVITY;
+        dispX[i] = fx;
+        dispY[i] = fy;
+    }
+
+    /**
+     * Возвращает текущие координаты узлов, округленные до пикселей.
+     * Не должен вызываться, пока раскладка запущена через {@link #start}; используйте снимки слушателя.
+     *
+     * @return массив x0, y0, x1, y1, ... в порядке {@link #nodes()}
+     */
+    public int[] coordinates() {
+        int[] result = new int[2 * count];
+        for (int i = 0; i < count; i++) {
+            result[2 * i] = (int) Math.round(x[i]);
+            result[2 * i + 1] = (int) Math.round(y[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Запускает итерации в фоновом потоке.
+     *
+     * @param listener получатель снимков координат (вызывается в потоке обработки событий Swing)
+     * @throws IllegalArgumentException если listener равен null
+     * @throws IllegalStateException если раскладка уже запускалась
+     */
+    public void start(Listener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Слушатель не может быть null");
+        }
+        synchronized (monitor) {
+            if (worker != null) {
+                throw new IllegalStateException("Раскладка уже запущена");
+            }
+            worker = new Thread(() -> run(listener), "force-layout");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * Приостанавливает итерации; текущие координаты сохраняются.
+     */
+    public void pause() {
+        synchronized (monitor) {
+            paused = true;
+        }
+    }
+
+    /**
+     * Продолжает итерации после паузы. Если раскладка уже сошлась, она немного "подогревается"
+     * и делает еще несколько итераций; перемещения, переданные через {@link #moveNode},
+     * при этом учитываются.
+     */
+    public void resume() {
+        synchronized (monitor) {
+            paused = false;
+            if (converged) {
+                converged = false;
+                reheat = true;
+            }
+            monitor.notifyAll();
+        }
+    }
+
+    /**
+     * Останавливает фоновый поток. Повторный запуск невозможен.
+     */
+    public void stop() {
+        synchronized (monitor) {
+            stopped = true;
+            monitor.notifyAll();
+        }
+    }
+
+    public boolean isPaused() {
+        synchronized (monitor) {
+            return paused;
+        }
+    }
+
+    public boolean isConverged() {
+        synchronized (monitor) {
+            return converged;
+        }
+    }
+
+    private void run(Listener listener) {
+        long lastPublish = 0;
+        while (true) {
+            synchronized (monitor) {
+                while (!stopped && (paused || converged)) {
+                    try {
+                        monitor.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (stopped) return;
+                if (reheat) {
+                    temperature = Math.max(temperature, IDEAL_EDGE_LENGTH);
+                    reheat = false;
+                }
+            }
+
+            boolean done = step() < convergenceThreshold;
+            if (done) {
+                synchronized (monitor) {
+                    // Правка, пришедшая во время итерации, должна быть применена следующей итерацией
+                    done = edits.isEmpty();
+                    converged = done;
+                }
+            }
+
+            long now = System.nanoTime();
+            if (done || now - lastPublish >= PUBLISH_INTERVAL_NANOS) {
+                publish(listener, done);
+                lastPublish = now;
+            }
+        }
+    }
+
+    private void publish(Listener listener, boolean done) {
+        latest.set(coordinates());
+        // Пока предыдущий снимок не обработан, новые задачи в очередь событий не ставятся
+        if (done || publishPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                publishPending.set(false);
+                int[] snapshot = latest.get();
+                boolean stillRunning;
+                synchronized (monitor) {
+                    stillRunning = !stopped;
+                }
+                if (snapshot != null && stillRunning) {
+                    listener.positionsUpdated(snapshot, isConverged());
+                }
+            });
+        }
+    }
+
+    /**
+     * Квадродерево на массивах, пересобираемое на каждой итерации без выделения памяти
+     * (массивы только растут). Ячейка хранит суммарную массу и центр масс своих узлов;
+     * лист хранит индекс единственного узла.
+     */
+    private static final class QuadTree {
+        private int[] children;
+        private int[] body;
+        private int[] mass;
+        private double[] comX, comY;
+        private double[] cellX, cellY, cellSize;
+        private int count;
+
+        QuadTree(int expectedBodies) {
+            allocate(Math.max(16, 2 * expectedBodies + 1));
+        }
+
+        private void allocate(int capacity) {
+            children = children == null ? new int[4 * capacity] : Arrays.copyOf(children, 4 * capacity);
+            body = body == null ? new int[capacity] : Arrays.copyOf(body, capacity);
+            mass = mass == null ? new int[capacity] : Arrays.copyOf(mass, capacity);
+            comX = comX == null ? new double[capacity] : Arrays.copyOf(comX, capacity);
+            comY = comY == null ? new double[capacity] : Arrays.copyOf(comY, capacity);
+            cellX = cellX == null ? new double[capacity] : Arrays.copyOf(cellX, capacity);
+            cellY = cellY == null ? new double[capacity] : Arrays.copyOf(cellY, capacity);
+            cellSize = cellSize == null ? new double[capacity] : Arrays.copyOf(cellSize, capacity);
+        }
+
+        void build(double[] x, double[] y, int n) {
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                minX = Math.min(minX, x[i]);
+                minY = Math.min(minY, y[i]);
+                maxX = Math.max(maxX, x[i]);
+                maxY = Math.max(maxY, y[i]);
+            }
+            count = 0;
+            newCell(minX, minY, Math.max(1, Math.max(maxX - minX, maxY - minY)) * 1.0001);
+            for (int i = 0; i < n; i++) {
+                insert(i, x, y);
+            }
+        }
+
+        private int newCell(double left, double top, double size) {
+            if (count == body.length) {
+                allocate(body.length * 2);
+            }
+            int cell = count++;
+            Arrays.fill(children, 4 * cell, 4 * cell + 4, -1);
+            body[cell] = -1;
+            mass[cell] = 0;
+            comX[cell] = 0;
+            comY[cell] = 0;
+            cellX[cell] = left;
+            cellY[cell] = top;
+            cellSize[cell] = size;
+            return cell;
+        }
+
+        private void insert(int i, double[] x, double[] y) {
+            int cell = 0;
+            for (int depth = 0; ; depth++) {
+                int m = mass[cell];
+                comX[cell] = (comX[cell] * m + x[i]) / (m + 1);
+                comY[cell] = (comY[cell] * m + y[i]) / (m + 1);
+                mass[cell] = m + 1;
+                if (m == 0) {
+                    body[cell] = i;
+                    return;
+                }
+                if (body[cell] >= 0) {
+                    // Совпадающие точки на предельной глубине просто копятся в листе
+                    if (depth >= MAX_DEPTH) return;
+                    int existing = body[cell];
+                    body[cell] = -1;
+                    int child = child(cell, quadrant(cell, x[existing], y[existing]));
+                    body[child] = existing;
+                    mass[child] = 1;
+                    comX[child] = x[existing];
+                    comY[child] = y[existing];
+                }
+                cell = child(cell, quadrant(cell, x[i], y[i]));
+            }
+        }
+
+        private int quadrant(int cell, double px, double py) {
+            double half = cellSize[cell] / 2;
+            int q = px >= cellX[cell] + half ? 1 : 0;
+            return py >= cellY[cell] + half ? q + 2 : q;
+        }
+
+        private int child(int cell, int quadrant) {
+            int existing = children[4 * cell + quadrant];
+            if (existing >= 0) return existing;
+            double half = cellSize[cell] / 2;
+            int created = newCell(cellX[cell] + (quadrant & 1) * half, cellY[cell] + (quadrant >> 1) * half, half);
+            children[4 * cell + quadrant] = created;
+            return created;
+        }
+
+        /**
+         * Считает силу отталкивания k² · m / d для узла i и записывает ее компоненты в force.
+         * Дерево только читается, поэтому метод можно вызывать из нескольких потоков.
+         */
+        void repulsion(int i, double px, double py, double k2, int[] stack, double[] force) {
+            double fx = 0, fy = 0;
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int cell = stack[--top];
+                int m = mass[cell];
+                if (m == 0) continue;
+                double dx = px - comX[cell];
+                double dy = py - comY[cell];
+                double d2 = dx * dx + dy * dy;
+                boolean leaf = body[cell] >= 0;
+                if (leaf || cellSize[cell] * cellSize[cell] < THETA * THETA * d2) {
+                    if (leaf && body[cell] == i) {
+                        if (m == 1) continue;
+                        m--; // остальные узлы, совпадающие с i
+                    }
+                    if (d2 < 0.01) {
+                        // Совпадающие точки разводятся в детерминированном направлении
+                        dx = Math.cos(i);
+                        dy = Math.sin(i);
+                        d2 = 1;
+                    }
+                    double f = k2 * m / d2;
+                    fx += dx * f;
+                    fy += dy * f;
+                } else {
+                    for (int q = 0; q < 4; q++) {
+                        int child = children[4 * cell + q];
+                        if (child >= 0) stack[top++] = child;
+                    }
+                }
+            }
+            force[0] = fx;
+            force[1] = fy;
+        }
+    }
+}
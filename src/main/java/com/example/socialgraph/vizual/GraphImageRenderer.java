@@ -0,0 +1,297 @@
+package com.example.socialgraph.vizual;
+
+import com.example.socialgraph.Graph;
+import com.example.socialgraph.Node;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Отрисовка графа в PNG и SVG средствами Java2D, без запуска внешнего процесса Graphviz.
+ * Используются готовые координаты узлов (например, из {@link GraphPanel}), поэтому
+ * раскладка не пересчитывается, а экспорт не требует временных файлов.
+ *
+ * <p>Рисуются только узлы графа: узлы без координат пропускаются, а координаты узлов,
+ * которых уже нет в графе, игнорируются. Ребро рисуется один раз, если известны координаты
+ * обоих концов. Оформление совпадает с отображением в {@link GraphPanel}.</p>
+ *
+ * <p>Растровое изображение хранится в памяти целиком (4 байта на пиксель), поэтому его
+ * сторона по умолчанию ограничена {@value #DEFAULT_IMAGE_SIZE} пикселями (около 64 МБ);
+ * больший предел, но не выше {@value #MAX_IMAGE_SIZE}, вызывающий задает явно.</p>
+ *
+ * @example Пример использования:
+ * {@code
+ * GraphImageRenderer.writePng(panel.getGraph(), panel.getNodePositions(), Path.of("graph.png"));
+ * }
+ */
+public class GraphImageRenderer {
+
+    /** Радиус круга узла в пикселях. */
+    static final int NODE_RADIUS = 15;
+
+    /** Предел ширины и высоты растрового изображения по умолчанию, в пикселях. */
+    public static final int DEFAULT_IMAGE_SIZE = 4096;
+
+    /** Наибольший допустимый предел ширины и высоты растрового изображения, в пикселях. */
+    public static final int MAX_IMAGE_SIZE = 8192;
+
+    private static final int MARGIN = 40;
+
+    /**
+     * Отрисовывает граф в растровое изображение со стороной не больше {@link #DEFAULT_IMAGE_SIZE}.
+     *
+     * @param graph граф (не может быть null)
+     * @param positions координаты узлов (не может быть null)
+     * @return изображение графа
+     * @throws IllegalArgumentException если graph или positions равны null
+     * @see #render(Graph, Map, int)
+     */
+    public static BufferedImage render(Graph<Node> graph, Map<Node, Point> positions) {
+        return render(graph, positions, DEFAULT_IMAGE_SIZE);
+    }
+
+    /**
+     * Отрисовывает граф в растровое изображение. Изображение охватывает все узлы графа
+     * с координатами; если оно больше maxSize, рисунок пропорционально уменьшается.
+     *
+     * @param graph граф (не может быть null)
+     * @param positions координаты узлов (не может быть null)
+     * @param maxSize предел ширины и высоты изображения в пикселях
+     * @return изображение графа
+     * @throws IllegalArgumentException если graph или positions равны null или maxSize
+     *         вне диапазона от 1 до {@link #MAX_IMAGE_SIZE}
+     */
+    public static BufferedImage render(Graph<Node> graph, Map<Node, Point> positions, int maxSize) {
+        validate(graph, positions);
+        if (maxSize < 1 || maxSize > MAX_IMAGE_SIZE) {
+            throw new IllegalArgumentException("Размер изображения должен быть от 1 до " + MAX_IMAGE_SIZE);
+        }
+        List<Node> nodes = drawableNodes(graph, positions);
+        Rectangle bounds = bounds(nodes, positions);
+        double scale = Math.min(1.0, (double) maxSize / Math.max(bounds.width, bounds.height));
+        int width = Math.max(1, (int) Math.ceil(bounds.width * scale));
+        int height = Math.max(1, (int) Math.ceil(bounds.height * scale));
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        try {
+            g2.setColor(Color.WHITE);
+            g2.fillRect(0, 0, width, height);
+            g2.scale(scale, scale);
+            g2.translate(-bounds.x, -bounds.y);
+            paint(g2, graph, nodes, positions, Set.of());
+        } finally {
+            g2.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Отрисовывает граф и записывает изображение в формате PNG.
+     *
+     * @param graph граф (не может быть null)
+     * @param positions координаты узлов (не может быть null)
+     * @param out поток для записи (не закрывается)
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если любой из аргументов равен null
+     */
+    public static void writePng(Graph<Node> graph, Map<Node, Point> positions, OutputStream out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Поток не может быть null");
+        }
+        if (!ImageIO.write(render(graph, positions), "png", out)) {
+            throw new IOException("Формат PNG не поддерживается");
+        }
+    }
+
+    /**
+     * Отрисовывает граф и сохраняет изображение в PNG-файл.
+     *
+     * @param graph граф (не может быть null)
+     * @param positions координаты узлов (не может быть null)
+     * @param path путь к файлу
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если любой из аргументов равен null
+     */
+    public static void writePng(Graph<Node> graph, Map<Node, Point> positions, Path path) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            writePng(graph, positions, out);
+        }
+    }
+
+    /**
+     * Записывает граф в формате SVG. Элементы выводятся потоково, по одному на строку,
+     * поэтому память не зависит от размера графа.
+     *
+     * @param graph граф (не может быть null)
+     * @param positions координаты узлов (не может быть null)
+     * @param writer приемник текста (не закрывается)
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если любой из аргументов равен null
+     */
+    public static void writeSvg(Graph<Node> graph, Map<Node, Point> positions, Writer writer) throws IOException {
+        validate(graph, positions);
+        if (writer == null) {
+            throw new IllegalArgumentException("Приемник не может быть null");
+        }
+        List<Node> nodes = drawableNodes(graph, positions);
+        Rectangle bounds = bounds(nodes, positions);
+        writer.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + bounds.width + "\" height=\"" + bounds.height
+                + "\" viewBox=\"" + bounds.x + " " + bounds.y + " " + bounds.width + " " + bounds.height + "\">\n");
+        writer.write("<rect x=\"" + bounds.x + "\" y=\"" + bounds.y + "\" width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+
+        writer.write("<g stroke=\"gray\">\n");
+        Map<Node, Integer> ordinals = ordinals(nodes);
+        for (int i = 0; i < nodes.size(); i++) {
+            Point p1 = positions.get(nodes.get(i));
+            for (Node to : graph.getConnections(nodes.get(i))) {
+                Integer j = ordinals.get(to);
+                if (j == null || j <= i) continue;
+                Point p2 = positions.get(to);
+                writer.write("<line x1=\"" + p1.x + "\" y1=\"" + p1.y + "\" x2=\"" + p2.x + "\" y2=\"" + p2.y + "\"/>\n");
+            }
+        }
+        writer.write("</g>\n");
+
+        writer.write("<g font-family=\"sans-serif\" font-size=\"12\">\n");
+        for (Node node : nodes) {
+            Point p = positions.get(node);
+            writer.write("<circle cx=\"" + p.x + "\" cy=\"" + p.y + "\" r=\"" + NODE_RADIUS
+                    + "\" fill=\"orange\" stroke=\"black\"/>\n");
+            writer.write("<text x=\"" + (p.x - 20) + "\" y=\"" + (p.y - 20) + "\">");
+            writeEscaped(writer, node.getName());
+            writer.write("</text>\n");
+        }
+        writer.write("</g>\n</svg>\n");
+        writer.flush();
+    }
+
+    /**
+     * Записывает граф в SVG-файл в кодировке UTF-8.
+     *
+     * @param graph граф (не может быть null)
+     * @param positions координаты узлов (не может быть null)
+     * @param path путь к файлу
+     * @throws IOException если произошла ошибка записи
+     * @throws IllegalArgumentException если любой из аргументов равен null
+     */
+    public static void writeSvg(Graph<Node> graph, Map<Node, Point> positions, Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeSvg(graph, positions, writer);
+        }
+    }
+
+    /**
+     * Рисует ребра, узлы и подписи на переданном контексте в координатах узлов.
+     *
+     * @param g2 контекст рисования
+     * @param graph граф
+     * @param nodes узлы графа с координатами
+     * @param positions координаты узлов
+     * @param selected выделенные узлы (рисуются зеленым)
+     */
+    private static void paint(Graphics2D g2, Graph<Node> graph, List<Node> nodes, Map<Node, Point> positions,
+                              Collection<Node> selected) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        Map<Node, Integer> ordinals = ordinals(nodes);
+        g2.setColor(Color.GRAY);
+        for (int i = 0; i < nodes.size(); i++) {
+            Point p1 = positions.get(nodes.get(i));
+            for (Node to : graph.getConnections(nodes.get(i))) {
+                Integer j = ordinals.get(to);
+                if (j == null || j <= i) continue;
+                Point p2 = positions.get(to);
+                g2.drawLine(p1.x, p1.y, p2.x, p2.y);
+            }
+        }
+
+        for (Node node : nodes) {
+            paintNode(g2, node, positions.get(node), selected.contains(node), true);
+        }
+    }
+
+    /**
+     * Рисует один узел: круг с обводкой и, при необходимости, подпись.
+     */
+    static void paintNode(Graphics2D g2, Node node, Point p, boolean selected, boolean label) {
+        g2.setColor(selected ? Color.GREEN : Color.ORANGE);
+        g2.fillOval(p.x - NODE_RADIUS, p.y - NODE_RADIUS, 2 * NODE_RADIUS, 2 * NODE_RADIUS);
+
+        g2.setColor(Color.BLACK);
+        g2.drawOval(p.x - NODE_RADIUS, p.y - NODE_RADIUS, 2 * NODE_RADIUS, 2 * NODE_RADIUS);
+        if (label) {
+            g2.drawString(node.getName(), p.x - 20, p.y - 20);
+        }
+    }
+
+    /**
+     * Возвращает узлы графа, для которых известны координаты.
+     */
+    private static List<Node> drawableNodes(Graph<Node> graph, Map<Node, Point> positions) {
+        Set<Node> all = graph.getAllNodes();
+        List<Node> nodes = new ArrayList<>(Math.min(all.size(), positions.size()));
+        for (Node node : all) {
+            if (positions.get(node) != null) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    private static Map<Node, Integer> ordinals(List<Node> nodes) {
+        Map<Node, Integer> ordinals = HashMap.newHashMap(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            ordinals.put(nodes.get(i), i);
+        }
+        return ordinals;
+    }
+
+    /**
+     * Вычисляет область, охватывающую все узлы вместе с подписями и полями.
+     */
+    private static Rectangle bounds(List<Node> nodes, Map<Node, Point> positions) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (Node node : nodes) {
+            Point p = positions.get(node);
+            minX = Math.min(minX, p.x);
+            minY = Math.min(minY, p.y);
+            maxX = Math.max(maxX, p.x);
+            maxY = Math.max(maxY, p.y);
+        }
+        if (minX > maxX) {
+            return new Rectangle(0, 0, 2 * MARGIN, 2 * MARGIN);
+        }
+        return new Rectangle(minX - MARGIN, minY - MARGIN, maxX - minX + 2 * MARGIN, maxY - minY + 2 * MARGIN);
+    }
+
+    private static void writeEscaped(Writer writer, String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '&' -> writer.write("&amp;");
+                case '"' -> writer.write("&quot;");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    private static void validate(Graph<Node> graph, Map<Node, Point> positions) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Граф не может быть null");
+        }
+        if (positions == null) {
+            throw new IllegalArgumentException("Координаты узлов не могут быть null");
+        }
+    }
+}
@@ -7,46 +7,257 @@ import com.example.socialgraph.SocialGraph;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
 import java.util.*;
 import java.util.List;
 
 public class GraphPanel extends JPanel {
+    /** Масштаб, ниже которого подписи узлов не рисуются. */
+    private static final double LABEL_MIN_SCALE = 0.6;
+    /** Количество видимых ребер, после которого они заменяются картой плотности. */
+    private static final int EDGE_BUDGET = 20_000;
+    /** Масштаб, ниже которого узлы рисуются точками без обводки. */
+    private static final double OUTLINE_MIN_SCALE = 0.2;
+    /** Количество видимых узлов, после которого они рисуются точками без обводки. */
+    private static final int NODE_BUDGET = 20_000;
+    /** Размер ячейки сетки ребер в координатах графа. */
+    private static final int EDGE_CELL = 256;
+    /** Размер ячейки карты плотности ребер в экранных пикселях. */
+    private static final int DENSITY_CELL = 6;
+    private static final double MIN_SCALE = 0.01;
+    private static final double MAX_SCALE = 8;
+    private static final Color[] DENSITY_COLORS = new Color[256];
+    private static final Color SELECTION_FILL = new Color(0, 120, 215, 40);
+    private static final Color SELECTION_BORDER = new Color(0, 120, 215);
+
+    static {
+        for (int alpha = 0; alpha < DENSITY_COLORS.length; alpha++) {
+            DENSITY_COLORS[alpha] = new Color(128, 128, 128, alpha);
+        }
+    }
+
     private final Map<Node, Point> nodePositions = new HashMap<>();
+    private final SpatialGrid<Node> nodeIndex = new SpatialGrid<>(2 * GraphImageRenderer.NODE_RADIUS);
+    // Порядковые номера узлов и их координаты в примитивных массивах для отрисовки
     private final List<Node> nodes = new ArrayList<>();
+    private final Map<Node, Integer> nodeOrdinals = new HashMap<>();
+    private int[] xs = new int[16];
+    private int[] ys = new int[16];
+    private int[] adjacencyOffsets = {0};
+    private int[] adjacencyTargets = new int[0];
+    private int[] adjacencySources = new int[0];
+    private boolean edgesDirty;
+    // Сетка ребер для поиска видимых отрезков; ребро обозначается номером записи a -> b, где a < b
+    private final EdgeGrid edgeGrid = new EdgeGrid(EDGE_CELL);
+    private boolean edgeGridDirty = true;
+    private final BitSet movedNodes = new BitSet();
+    private long movedEntries;
+    private long reinsertedEdges;
     private Graph<Node> graph = new SocialGraph<>();
-    private final List<Node> selectedNodes = new ArrayList<>();
+    private final Set<Node> selectedNodes = new LinkedHashSet<>();
     private int nodeCounter = 0;
 
+    private Node hoveredNode;
+    private Node draggedNode;
+    private Point dragStart;
+    private Rectangle selectionArea;
+    private ForceLayout layout;
+
+    // Преобразование из координат графа в экранные: только масштаб и сдвиг
+    private final AffineTransform view = new AffineTransform();
+    private Point panStart;
+
+    // Закэшированный слой с ребрами и невыделенными узлами
+    private BufferedImage sceneLayer;
+    private boolean sceneDirty = true;
+    private boolean sceneLabels;
+    private int scenePointRadius;
+    private int[] segments = new int[64];
+    private int[] density = new int[0];
+
     public GraphPanel() {
         setBackground(Color.WHITE);
-        addMouseListener(new MouseAdapter() {
+        MouseAdapter mouseHandler = new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                Node clicked = getNodeAt(e.getPoint());
+                if (!SwingUtilities.isLeftMouseButton(e)) return;
+                Point point = toWorld(e.getPoint());
+                Node clicked = getNodeAt(point);
                 if (clicked != null) {
                     toggleSelection(clicked);
                 } else {
-                    String id = "" + nodeCounter;
-                    String name = "User " + nodeCounter;
-                    Node newNode = new Node(id, name);
-
-                    if (graph.addNode(newNode)) {
-                        nodePositions.put(newNode, e.getPoint());
-                        nodes.add(newNode);
+                    // id загруженных узлов сохраняются, поэтому пропускаем уже занятые
+                    Node newNode;
+                    do {
+                        newNode = new Node("" + nodeCounter, "User " + nodeCounter);
                         nodeCounter++;
-                        repaint();
-                    }
+                    } while (!graph.addNode(newNode));
+
+                    addNodeAt(newNode, point);
+                    if (layout != null) layout.addNode(newNode, point.x, point.y);
+                    repaint();
                 }
             }
-        });
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (!SwingUtilities.isLeftMouseButton(e)) {
+                    // Правая или средняя кнопка сдвигают вид
+                    panStart = e.getPoint();
+                    return;
+                }
+                Point point = toWorld(e.getPoint());
+                draggedNode = getNodeAt(point);
+                dragStart = point;
+                // Пока узел тащат, раскладка его не двигает
+                if (draggedNode != null && layout != null) layout.setPinned(draggedNode, true);
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (panStart != null) {
+                    view.preConcatenate(AffineTransform.getTranslateInstance(
+                            e.getX() - panStart.x, e.getY() - panStart.y));
+                    panStart = e.getPoint();
+                    invalidateScene();
+                    return;
+                }
+                if (dragStart == null) return;
+                Point point = toWorld(e.getPoint());
+                if (draggedNode != null) {
+                    placeNode(draggedNode, point);
+                    if (layout != null) layout.moveNode(draggedNode, point.x, point.y);
+                } else {
+                    // Выделение рамкой по пустому месту
+                    selectionArea = new Rectangle(dragStart);
+                    selectionArea.add(point);
+                }
+                repaint();
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (selectionArea != null) {
+                    selectedNodes.clear();
+                    selectedNodes.addAll(nodeIndex.within(selectionArea));
+                    selectionArea = null;
+                    repaint();
+                }
+                // Отпущенный узел остается на новом месте, а соседи подстраиваются под него
+                if (draggedNode != null && layout != null) layout.setPinned(draggedNode, false);
+                draggedNode = null;
+                dragStart = null;
+                panStart = null;
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(Math.pow(1.1, -e.getPreciseWheelRotation()), e.getPoint());
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                Node hovered = getNodeAt(toWorld(e.getPoint()));
+                if (!Objects.equals(hovered, hoveredNode)) {
+                    hoveredNode = hovered;
+                    setToolTipText(hovered == null ? null : hovered.getName());
+                    repaint();
+                }
+            }
+        };
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+        addMouseWheelListener(mouseHandler);
+    }
+
+    /**
+     * Масштабирует вид относительно точки экрана, которая остается на месте.
+     *
+     * @param factor множитель масштаба (больше 1 — приближение)
+     * @param anchor точка в экранных координатах
+     */
+    public void zoom(double factor, Point anchor) {
+        double scale = view.getScaleX();
+        double target = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        if (target == scale) return;
+        AffineTransform zoom = new AffineTransform();
+        zoom.translate(anchor.x, anchor.y);
+        zoom.scale(target / scale, target / scale);
+        zoom.translate(-anchor.x, -anchor.y);
+        view.preConcatenate(zoom);
+        invalidateScene();
+    }
+
+    /**
+     * Сбрасывает масштаб и сдвиг вида.
+     */
+    public void resetView() {
+        view.setToIdentity();
+        invalidateScene();
+    }
+
+    private Point toWorld(Point screen) {
+        try {
+            Point2D world = view.inverseTransform(screen, null);
+            return new Point((int) Math.round(world.getX()), (int) Math.round(world.getY()));
+        } catch (NoninvertibleTransformException e) {
+            return new Point(screen);
+        }
+    }
+
+    /**
+     * Возвращает видимую область в координатах графа с запасом на радиус узла и подпись.
+     */
+    private Rectangle visibleArea() {
+        double scale = view.getScaleX();
+        int margin = 3 * GraphImageRenderer.NODE_RADIUS;
+        int x = (int) Math.floor(-view.getTranslateX() / scale) - margin;
+        int y = (int) Math.floor(-view.getTranslateY() / scale) - margin;
+        int width = (int) Math.ceil(getWidth() / scale) + 2 * margin;
+        int height = (int) Math.ceil(getHeight() / scale) + 2 * margin;
+        return new Rectangle(x, y, width, height);
     }
 
     private Node getNodeAt(Point point) {
-        for (Node node : nodes) {
-            Point p = nodePositions.get(node);
-            if (p != null && p.distance(point) <= 15) return node;
+        return nodeIndex.nearest(point, GraphImageRenderer.NODE_RADIUS);
+    }
+
+    private void addNodeAt(Node node, Point point) {
+        int ordinal = nodes.size();
+        nodes.add(node);
+        nodeOrdinals.put(node, ordinal);
+        if (ordinal == xs.length) {
+            xs = Arrays.copyOf(xs, 2 * ordinal);
+            ys = Arrays.copyOf(ys, 2 * ordinal);
         }
-        return null;
+        // Узел без ребер: массив смежности достаточно продлить
+        if (!edgesDirty) {
+            adjacencyOffsets = Arrays.copyOf(adjacencyOffsets, ordinal + 2);
+            adjacencyOffsets[ordinal + 1] = adjacencyOffsets[ordinal];
+        }
+        placeNode(node, point);
+    }
+
+    private void placeNode(Node node, Point point) {
+        int ordinal = nodeOrdinals.get(node);
+        xs[ordinal] = point.x;
+        ys[ordinal] = point.y;
+        nodePositions.put(node, new Point(point));
+        nodeIndex.put(node, point);
+        // Ребра перемещенных узлов попадут в сетку заново при следующей перерисовке
+        if (!edgesDirty && !edgeGridDirty && !movedNodes.get(ordinal)) {
+            movedNodes.set(ordinal);
+            movedEntries += adjacencyOffsets[ordinal + 1] - adjacencyOffsets[ordinal];
+        }
+        sceneDirty = true;
+    }
+
+    private void invalidateScene() {
+        sceneDirty = true;
+        repaint();
     }
 
     private void toggleSelection(Node node) {
@@ -61,51 +272,260 @@ public class GraphPanel extends JPanel {
 
     public void connectSelectedNodes() {
         if (selectedNodes.size() == 2) {
-            Node n1 = selectedNodes.get(0);
-            Node n2 = selectedNodes.get(1);
-            if (!graph.hasEdge(n1, n2)) {
-                graph.addEdge(n1, n2);
+            Iterator<Node> selected = selectedNodes.iterator();
+            Node n1 = selected.next();
+            Node n2 = selected.next();
+            if (!graph.hasEdge(n1, n2) && graph.addEdge(n1, n2)) {
+                edgesDirty = true;
+                sceneDirty = true;
+                if (layout != null) layout.addEdge(n1, n2);
             }
         }
         selectedNodes.clear();
         repaint();
     }
 
+    /**
+     * Рисует закэшированный слой сцены и поверх него — выделение, наведение и рамку.
+     * Слой перерисовывается только после изменения графа, координат или вида,
+     * поэтому выделение и наведение стоят лишь нескольких операций рисования.
+     */
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g;
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        Set<String> drawnEdges = new HashSet<>();
-        for (Node from : nodes) {
-            for (Node to : graph.getConnections(from)) {
-                String key = from.toString().compareTo(to.toString()) < 0 ?
-                        from + "--" + to :
-                        to + "--" + from;
-                if (!drawnEdges.contains(key)) {
-                    Point p1 = nodePositions.get(from);
-                    Point p2 = nodePositions.get(to);
-                    if (p1 != null && p2 != null) {
-                        g2.setColor(Color.GRAY);
-                        g2.drawLine(p1.x, p1.y, p2.x, p2.y);
-                        drawnEdges.add(key);
-                    }
+        if (getWidth() <= 0 || getHeight() <= 0) return;
+        if (sceneLayer == null || sceneLayer.getWidth() != getWidth() || sceneLayer.getHeight() != getHeight()) {
+            sceneLayer = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+            sceneDirty = true;
+        }
+        if (sceneDirty) {
+            renderScene();
+        }
+        g.drawImage(sceneLayer, 0, 0, null);
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.transform(view);
+            for (Node node : selectedNodes) {
+                paintOverlayNode(g2, node, true);
+            }
+
+            Point hovered = hoveredNode == null ? null : nodePositions.get(hoveredNode);
+            if (hovered != null) {
+                int r = GraphImageRenderer.NODE_RADIUS + 3;
+                g2.setColor(Color.BLUE);
+                g2.drawOval(hovered.x - r, hovered.y - r, 2 * r, 2 * r);
+                if (!sceneLabels) {
+                    g2.drawString(hoveredNode.getName(), hovered.x - 20, hovered.y - 20);
                 }
             }
+            if (selectionArea != null) {
+                g2.setColor(SELECTION_FILL);
+                g2.fill(selectionArea);
+                g2.setColor(SELECTION_BORDER);
+                g2.draw(selectionArea);
+            }
+        } finally {
+            g2.dispose();
         }
+    }
 
-        for (Node node : nodes) {
-            Point p = nodePositions.get(node);
-            if (p == null) continue;
-
-            boolean selected = selectedNodes.contains(node);
+    private void paintOverlayNode(Graphics2D g2, Node node, boolean selected) {
+        Point p = nodePositions.get(node);
+        if (p == null) return;
+        if (scenePointRadius == 0) {
+            GraphImageRenderer.paintNode(g2, node, p, selected, sceneLabels);
+        } else {
             g2.setColor(selected ? Color.GREEN : Color.ORANGE);
-            g2.fillOval(p.x - 15, p.y - 15, 30, 30);
+            g2.fillRect(p.x - scenePointRadius, p.y - scenePointRadius, 2 * scenePointRadius, 2 * scenePointRadius);
+        }
+    }
+
+    /**
+     * Перерисовывает слой сцены: только видимые узлы из пространственного индекса и
+     * пересекающие видимую область ребра из массива смежности. При отдалении подписи скрываются,
+     * а слишком большое количество ребер заменяется картой плотности.
+     */
+    private void renderScene() {
+        if (edgesDirty) {
+            rebuildEdges();
+        }
+        refreshEdgeGrid();
+        Graphics2D g2 = sceneLayer.createGraphics();
+        try {
+            g2.setComposite(AlphaComposite.Clear);
+            g2.fillRect(0, 0, sceneLayer.getWidth(), sceneLayer.getHeight());
+            g2.setComposite(AlphaComposite.SrcOver);
+
+            Rectangle visible = visibleArea();
+            List<Node> onScreen = nodeIndex.within(visible);
+            if (onScreen.size() < 5_000) {
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            }
+
+            int edgeCount = collectVisibleEdges(visible);
+            if (edgeCount > EDGE_BUDGET) {
+                paintEdgeDensity(g2, edgeCount);
+            }
+
+            g2.transform(view);
+            if (edgeCount <= EDGE_BUDGET) {
+                g2.setColor(Color.GRAY);
+                for (int i = 0; i < edgeCount; i++) {
+                    g2.drawLine(segments[4 * i], segments[4 * i + 1], segments[4 * i + 2], segments[4 * i + 3]);
+                }
+            }
+
+            boolean detailed = view.getScaleX() >= OUTLINE_MIN_SCALE && onScreen.size() <= NODE_BUDGET;
+            sceneLabels = detailed && view.getScaleX() >= LABEL_MIN_SCALE;
+            // Издалека или в толпе круги неразличимы: узлы рисуются точками в несколько пикселей
+            scenePointRadius = detailed ? 0
+                    : (int) Math.max(1, Math.min(GraphImageRenderer.NODE_RADIUS, 1.5 / view.getScaleX()));
+            for (Node node : onScreen) {
+                paintOverlayNode(g2, node, false);
+            }
+        } finally {
+            g2.dispose();
+        }
+        sceneDirty = false;
+    }
+
+    /**
+     * Перестраивает массив смежности (CSR) по порядковым номерам узлов панели.
+     * Строки сортируются, чтобы обратную запись ребра можно было найти двоичным поиском.
+     */
+    private void rebuildEdges() {
+        int n = nodes.size();
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[16];
+        int[] sources = new int[16];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            for (Node neighbor : graph.getConnections(nodes.get(i))) {
+                Integer j = nodeOrdinals.get(neighbor);
+                if (j == null) continue;
+                if (count == targets.length) {
+                    targets = Arrays.copyOf(targets, 2 * count);
+                    sources = Arrays.copyOf(sources, 2 * count);
+                }
+                sources[count] = i;
+                targets[count++] = j;
+            }
+            offsets[i + 1] = count;
+            Arrays.sort(targets, offsets[i], count);
+        }
+        adjacencyOffsets = offsets;
+        adjacencyTargets = targets;
+        adjacencySources = sources;
+        edgesDirty = false;
+        edgeGridDirty = true;
+    }
+
+    /**
+     * Приводит сетку ребер в соответствие с координатами. Если перемещено немного узлов,
+     * заново добавляются только их ребра; если много (раскладка, новый граф) или устаревших
+     * записей накопилось больше, чем ребер, сетка строится заново.
+     */
+    private void refreshEdgeGrid() {
+        long edgeCount = adjacencyOffsets[adjacencyOffsets.length - 1] / 2;
+        if (movedEntries > edgeCount / 4 || reinsertedEdges > edgeCount) {
+            edgeGridDirty = true;
+        }
+        if (edgeGridDirty) {
+            edgeGrid.clear();
+            for (int e = 0; e < adjacencyOffsets[adjacencyOffsets.length - 1]; e++) {
+                if (adjacencySources[e] < adjacencyTargets[e]) addToEdgeGrid(e);
+            }
+            reinsertedEdges = 0;
+        } else {
+            for (int v = movedNodes.nextSetBit(0); v >= 0; v = movedNodes.nextSetBit(v + 1)) {
+                for (int e = adjacencyOffsets[v]; e < adjacencyOffsets[v + 1]; e++) {
+                    int u = adjacencyTargets[e];
+                    addToEdgeGrid(v < u ? e : Arrays.binarySearch(adjacencyTargets, adjacencyOffsets[u], adjacencyOffsets[u + 1], v));
+                    reinsertedEdges++;
+                }
+            }
+        }
+        movedNodes.clear();
+        movedEntries = 0;
+        edgeGridDirty = false;
+    }
+
+    private void addToEdgeGrid(int entry) {
+        int from = adjacencySources[entry];
+        int to = adjacencyTargets[entry];
+        edgeGrid.add(entry, xs[from], ys[from], xs[to], ys[to]);
+    }
+
+    /**
+     * Собирает в {@link #segments} отрезки ребер, пересекающих видимую область, в координатах графа.
+     * Кандидаты берутся из сетки ребер только по ячейкам видимой области, поэтому попадают
+     * и ребра, оба конца которых за краем экрана, а работа не зависит от размера графа.
+     * Каждое ребро попадает один раз.
+     *
+     * @return количество ребер
+     */
+    private int collectVisibleEdges(Rectangle visible) {
+        int[] count = {0};
+        edgeGrid.candidates(visible, entry -> {
+            int from = adjacencySources[entry];
+            int to = adjacencyTargets[entry];
+            int x1 = xs[from], y1 = ys[from], x2 = xs[to], y2 = ys[to];
+            // Запись могла устареть после перемещения концов ребра
+            if (!visible.intersectsLine(x1, y1, x2, y2)) return;
+            int i = count[0]++;
+            if (4 * i + 4 > segments.length) {
+                segments = Arrays.copyOf(segments, 2 * segments.length);
+            }
+            segments[4 * i] = x1;
+            segments[4 * i + 1] = y1;
+            segments[4 * i + 2] = x2;
+            segments[4 * i + 3] = y2;
+        });
+        return count[0];
+    }
 
-            g2.setColor(Color.BLACK);
-            g2.drawOval(p.x - 15, p.y - 15, 30, 30);
-            g2.drawString(node.getName(), p.x - 20, p.y - 20);
+    /**
+     * Рисует ребра картой плотности: экран делится на ячейки, и каждая ячейка закрашивается
+     * тем темнее, чем больше ребер через нее проходит. Длинное ребро учитывается
+     * не более чем в нескольких точках.
+     */
+    private void paintEdgeDensity(Graphics2D g2, int edgeCount) {
+        int columns = getWidth() / DENSITY_CELL + 1;
+        int rows = getHeight() / DENSITY_CELL + 1;
+        if (density.length < columns * rows) {
+            density = new int[columns * rows];
+        } else {
+            Arrays.fill(density, 0, columns * rows, 0);
+        }
+        double scale = view.getScaleX();
+        double shiftX = view.getTranslateX();
+        double shiftY = view.getTranslateY();
+        for (int i = 0; i < edgeCount; i++) {
+            double x1 = segments[4 * i] * scale + shiftX;
+            double y1 = segments[4 * i + 1] * scale + shiftY;
+            double x2 = segments[4 * i + 2] * scale + shiftX;
+            double y2 = segments[4 * i + 3] * scale + shiftY;
+            int samples = (int) Math.min(8, Math.max(1, Math.hypot(x2 - x1, y2 - y1) / DENSITY_CELL));
+            for (int s = 0; s <= samples; s++) {
+                double t = (double) s / samples;
+                int column = (int) ((x1 + (x2 - x1) * t) / DENSITY_CELL);
+                int row = (int) ((y1 + (y2 - y1) * t) / DENSITY_CELL);
+                if (column >= 0 && column < columns && row >= 0 && row < rows) {
+                    density[row * columns + column]++;
+                }
+            }
+        }
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int value = density[row * columns + column];
+                if (value == 0) continue;
+                int alpha = Math.min(255, 30 + (int) (40 * Math.log1p(value)));
+                g2.setColor(DENSITY_COLORS[alpha]);
+                g2.fillRect(column * DENSITY_CELL, row * DENSITY_CELL, DENSITY_CELL, DENSITY_CELL);
+            }
         }
     }
 
@@ -113,26 +533,81 @@ public class GraphPanel extends JPanel {
         return graph;
     }
 
+    /**
+     * Возвращает снимок текущих координат узлов, например для экспорта в изображение.
+     *
+     * @return неизменяемая копия координат
+     */
+    public Map<Node, Point> getNodePositions() {
+        Map<Node, Point> snapshot = HashMap.newHashMap(nodePositions.size());
+        nodePositions.forEach((node, point) -> snapshot.put(node, new Point(point)));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Запускает силовую раскладку текущего графа, приостанавливает ее или продолжает после паузы.
+     * Итерации идут в фоновом потоке, а панель получает готовые снимки координат.
+     */
+    public void toggleLayout() {
+        if (layout == null) {
+            ForceLayout started = new ForceLayout(graph, nodePositions);
+            started.start((coordinates, converged) -> {
+                if (layout == started) applyLayout(started.nodes(), coordinates);
+            });
+            layout = started;
+        } else if (layout.isPaused() || layout.isConverged()) {
+            layout.resume();
+        } else {
+            layout.pause();
+        }
+    }
+
+    private void stopLayout() {
+        if (layout != null) {
+            layout.stop();
+            layout = null;
+        }
+    }
+
+    private void applyLayout(List<Node> layoutNodes, int[] coordinates) {
+        // Узлы, добавленные после снимка, уже есть в списке, но еще не имеют координат
+        for (int i = 0; i < coordinates.length / 2; i++) {
+            Node node = layoutNodes.get(i);
+            // Снимок мог быть посчитан до того, как перетаскивание дошло до раскладки
+            if (node.equals(draggedNode) || !nodeOrdinals.containsKey(node)) continue;
+            placeNode(node, new Point(coordinates[2 * i], coordinates[2 * i + 1]));
+        }
+        repaint();
+    }
+
     public void setGraph(Graph<Node> newGraph) {
+        stopLayout();
         this.graph = newGraph;
         nodes.clear();
+        nodeOrdinals.clear();
         nodePositions.clear();
-        nodes.addAll(graph.getAllNodes());
+        nodeIndex.clear();
+        hoveredNode = null;
+        view.setToIdentity();
+        List<Node> loaded = new ArrayList<>(graph.getAllNodes());
+        xs = new int[Math.max(16, loaded.size())];
+        ys = new int[xs.length];
+        edgesDirty = true;
 
-        nodeCounter = nodes.size();
+        nodeCounter = loaded.size();
 
         int centerX = getWidth() / 2;
         int centerY = getHeight() / 2;
         int radius = Math.min(centerX, centerY) - 50;
-        int n = nodes.size();
+        int n = loaded.size();
 
         for (int i = 0; i < n; i++) {
             double angle = 2 * Math.PI * i / n;
             int x = centerX + (int) (radius * Math.cos(angle));
             int y = centerY + (int) (radius * Math.sin(angle));
-            nodePositions.put(nodes.get(i), new Point(x, y));
+            addNodeAt(loaded.get(i), new Point(x, y));
         }
         selectedNodes.clear();
-        repaint();
+        invalidateScene();
     }
 }
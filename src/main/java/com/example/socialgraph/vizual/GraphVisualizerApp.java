@@ -1,10 +1,10 @@
 package com.example.socialgraph.vizual;
 
+import com.example.socialgraph.CsrGraph;
 import com.example.socialgraph.Graph;
 import com.example.socialgraph.GraphFileReader;
 import com.example.socialgraph.GraphFileWriter;
 import com.example.socialgraph.Node;
-import com.example.socialgraph.GraphvizRenderer;
 import com.example.socialgraph.GraphGenerator;
 
 
@@ -12,7 +12,10 @@ import javax.swing.*;
 import java.awt.*;
 
 import java.io.File;
-import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
 
 public class GraphVisualizerApp {
     public static void main(String[] args) {
@@ -27,12 +30,22 @@ public class GraphVisualizerApp {
             addFriendButton.addActionListener(e -> graphPanel.connectSelectedNodes());
 
 
+            JButton layoutButton = new JButton("Раскладка / пауза");
+            layoutButton.addActionListener(e -> graphPanel.toggleLayout());
+
             JPanel controlPanel = new JPanel();
             controlPanel.add(addFriendButton);
+            controlPanel.add(layoutButton);
+
+            // Индикатор и отмена фоновых операций
+            TaskPanel taskPanel = new TaskPanel();
+            JPanel southPanel = new JPanel(new BorderLayout());
+            southPanel.add(controlPanel, BorderLayout.CENTER);
+            southPanel.add(taskPanel, BorderLayout.SOUTH);
 
             frame.setLayout(new BorderLayout());
             frame.add(graphPanel, BorderLayout.CENTER);
-            frame.add(controlPanel, BorderLayout.SOUTH);
+            frame.add(southPanel, BorderLayout.SOUTH);
 
             JMenuBar menuBar = new JMenuBar();
             JMenu fileMenu = new JMenu("Файл");
@@ -44,24 +57,16 @@ public class GraphVisualizerApp {
                 JFileChooser chooser = new JFileChooser(projectDir);
                 int res = chooser.showOpenDialog(frame);
                 if (res == JFileChooser.APPROVE_OPTION) {
-                    File file = chooser.getSelectedFile();
-                    try {
-                        Graph<Node> loadedGraph = GraphFileReader.readFromDotFile(
-                                file.getAbsolutePath(),
-                                s -> {
-                                    String name = s.split("\\s*\\(")[0].trim();
-                                    return new Node(name, name);
-                                }
-                        );
-                        graphPanel.setGraph(loadedGraph);
-                        graphPanel.repaint();
-                    } catch (IOException ex) {
-                        JOptionPane.showMessageDialog(frame, "Ошибка загрузки файла: " + ex.getMessage());
-                    }
+                    Path path = chooser.getSelectedFile().toPath();
+                    // Граф собирается в фоне целиком и подменяется в панели одним вызовом
+                    taskPanel.run("Загрузка", progress -> {
+                        long size = Files.size(path);
+                        return GraphFileReader.readLabeledDotFile(path, bytes -> progress.update(bytes, size));
+                    }, graphPanel::setGraph);
                 }
             });
 
-            SpinnerNumberModel nodesModel = new SpinnerNumberModel(10, 1, 100, 1);
+            SpinnerNumberModel nodesModel = new SpinnerNumberModel(10, 1, 100_000, 1);
             JSpinner numberOfNodesSpinner = new JSpinner(nodesModel);
             JLabel nodesLabel = new JLabel("Количество узлов:");
 
@@ -71,16 +76,12 @@ public class GraphVisualizerApp {
 
             JButton generateGraphButton = new JButton("Сгенерировать граф");
             generateGraphButton.addActionListener(e -> {
-                try {
-                    int numberOfNodes = (Integer) numberOfNodesSpinner.getValue();
-                    int maxConnections = (Integer) maxConnectionsSpinner.getValue();
-
-                    Graph<Node> randomGraph = GraphGenerator.generateRandomGraph(numberOfNodes, maxConnections);
-                    graphPanel.setGraph(randomGraph);
-                    graphPanel.repaint();
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(frame, "Ошибка генерации графа: " + ex.getMessage());
-                }
+                int numberOfNodes = (Integer) numberOfNodesSpinner.getValue();
+                int maxConnections = (Integer) maxConnectionsSpinner.getValue();
+
+                taskPanel.run("Генерация графа", progress -> GraphGenerator.generateRandomGraphWithProgress(
+                        numberOfNodes, maxConnections, processed -> progress.update(processed, numberOfNodes)),
+                        graphPanel::setGraph);
             });
 
 
@@ -89,12 +90,11 @@ public class GraphVisualizerApp {
                 JFileChooser chooser = new JFileChooser(projectDir);
                 int res = chooser.showSaveDialog(frame);
                 if (res == JFileChooser.APPROVE_OPTION) {
-                    File file = chooser.getSelectedFile();
-                    try {
-                        GraphFileWriter.writeToDotFile(graphPanel.getGraph(), file.getAbsolutePath());
-                    } catch (IOException ex) {
-                        JOptionPane.showMessageDialog(frame, "Ошибка сохранения файла: " + ex.getMessage());
-                    }
+                    Path path = chooser.getSelectedFile().toPath();
+                    // Неизменяемый снимок: пользователь может править граф, пока идет запись
+                    Graph<Node> snapshot = CsrGraph.of(graphPanel.getGraph());
+                    taskPanel.run("Сохранение", progress -> TaskPanel.writeReplacing(path,
+                            target -> GraphFileWriter.writeLabeledDotFile(snapshot, target)), saved -> { });
                 }
             });
 
@@ -110,32 +110,42 @@ public class GraphVisualizerApp {
                         pngPath += ".png";
                     }
 
-                    String tempDotPath = pngPath + ".temp.dot";
-
-                    try {
-                        // Сохраняем временный .dot файл
-                        GraphFileWriter.writeToDotFile(graphPanel.getGraph(), tempDotPath);
+                    Path path = Paths.get(pngPath);
+                    Graph<Node> snapshot = CsrGraph.of(graphPanel.getGraph());
+                    Map<Node, Point> positions = graphPanel.getNodePositions();
+                    taskPanel.run("Экспорт PNG", progress -> TaskPanel.writeReplacing(path,
+                            target -> GraphImageRenderer.writePng(snapshot, positions, target)), saved -> JOptionPane.showMessageDialog(frame, "PNG успешно сохранён:\n" + saved));
+                }
+            });
 
-                        // Генерируем PNG через Graphviz
-                        GraphvizRenderer.generatePng(tempDotPath, pngPath);
 
-                        // Удаляем временный файл
-                        new File(tempDotPath).delete();
 
-                        JOptionPane.showMessageDialog(frame, "PNG успешно сохранён:\n" + pngPath);
-                    } catch (Exception ex) {
-                        JOptionPane.showMessageDialog(frame, "Ошибка при экспорте PNG:\n" + ex.getMessage());
+            JMenuItem saveSvgItem = new JMenuItem("Сохранить как SVG");
+            saveSvgItem.addActionListener(e -> {
+                JFileChooser chooser = new JFileChooser(projectDir);
+                chooser.setDialogTitle("Сохранить SVG");
+                int res = chooser.showSaveDialog(frame);
+                if (res == JFileChooser.APPROVE_OPTION) {
+                    String svgPath = chooser.getSelectedFile().getAbsolutePath();
+                    if (!svgPath.toLowerCase().endsWith(".svg")) {
+                        svgPath += ".svg";
                     }
+
+                    Path path = Paths.get(svgPath);
+                    Graph<Node> snapshot = CsrGraph.of(graphPanel.getGraph());
+                    Map<Node, Point> positions = graphPanel.getNodePositions();
+                    taskPanel.run("Экспорт SVG", progress -> TaskPanel.writeReplacing(path,
+                            target -> GraphImageRenderer.writeSvg(snapshot, positions, target)), saved -> JOptionPane.showMessageDialog(frame, "SVG успешно сохранён:\n" + saved));
                 }
             });
 
-
-
             fileMenu.add(loadItem);
             fileMenu.add(saveItem);
             fileMenu.add(savePngItem);
+            fileMenu.add(saveSvgItem);
             menuBar.add(fileMenu);
             frame.setJMenuBar(menuBar);
+            taskPanel.lockWhileRunning(fileMenu, generateGraphButton);
             controlPanel.add(generateGraphButton);
             controlPanel.add(nodesLabel);
             controlPanel.add(numberOfNodesSpinner);
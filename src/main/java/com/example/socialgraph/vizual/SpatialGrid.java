@@ -0,0 +1,147 @@
+package com.example.socialgraph.vizual;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Равномерная сетка для быстрого поиска объектов по координатам.
+ * Плоскость разбита на квадратные ячейки, и каждый объект хранится в ячейке своей точки,
+ * поэтому поиск рядом с точкой просматривает только соседние ячейки, а не все объекты.
+ * Пустые ячейки не хранятся.
+ *
+ * @param <T> тип объектов (должен корректно реализовывать equals() и hashCode())
+ */
+class SpatialGrid<T> {
+
+    private final int cellSize;
+    private final Map<Long, List<T>> cells = new HashMap<>();
+    private final Map<T, Point> positions = new HashMap<>();
+
+    /**
+     * @param cellSize размер ячейки; разумно выбирать порядка радиуса поиска
+     * @throws IllegalArgumentException если cellSize не положителен
+     */
+    SpatialGrid(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Размер ячейки должен быть положительным");
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Помещает объект в точку; если объект уже есть в сетке, он перемещается.
+     */
+    void put(T item, Point point) {
+        Point previous = positions.put(item, new Point(point));
+        if (previous != null) {
+            if (cellKey(previous) == cellKey(point)) return;
+            removeFromCell(item, previous);
+        }
+        cells.computeIfAbsent(cellKey(point), key -> new ArrayList<>(4)).add(item);
+    }
+
+    void remove(T item) {
+        Point previous = positions.remove(item);
+        if (previous != null) {
+            removeFromCell(item, previous);
+        }
+    }
+
+    void clear() {
+        cells.clear();
+        positions.clear();
+    }
+
+    int size() {
+        return positions.size();
+    }
+
+    /**
+     * Возвращает ближайший к точке объект на расстоянии не больше radius.
+     *
+     * @return найденный объект, или null если рядом ничего нет
+     */
+    T nearest(Point point, int radius) {
+        T best = null;
+        long bestDistance = (long) radius * radius;
+        int fromX = cell(point.x - radius), toX = cell(point.x + radius);
+        int fromY = cell(point.y - radius), toY = cell(point.y + radius);
+        for (int cx = fromX; cx <= toX; cx++) {
+            for (int cy = fromY; cy <= toY; cy++) {
+                List<T> items = cells.get(key(cx, cy));
+                if (items == null) continue;
+                for (T item : items) {
+                    Point p = positions.get(item);
+                    long dx = p.x - point.x;
+                    long dy = p.y - point.y;
+                    long distance = dx * dx + dy * dy;
+                    if (distance <= bestDistance) {
+                        best = item;
+                        bestDistance = distance;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Возвращает объекты, точки которых лежат внутри прямоугольника (включая границы).
+     */
+    List<T> within(Rectangle area) {
+        List<T> result = new ArrayList<>();
+        int fromX = cell(area.x), toX = cell(area.x + area.width);
+        int fromY = cell(area.y), toY = cell(area.y + area.height);
+        long covered = ((long) toX - fromX + 1) * ((long) toY - fromY + 1);
+        if (covered > cells.size()) {
+            // Прямоугольник больше занятой части сетки: дешевле обойти непустые ячейки
+            for (List<T> items : cells.values()) {
+                collect(items, area, result);
+            }
+            return result;
+        }
+        for (int cx = fromX; cx <= toX; cx++) {
+            for (int cy = fromY; cy <= toY; cy++) {
+                List<T> items = cells.get(key(cx, cy));
+                if (items != null) {
+                    collect(items, area, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void collect(List<T> items, Rectangle area, List<T> result) {
+        for (T item : items) {
+            Point p = positions.get(item);
+            if (p.x >= area.x && p.x <= area.x + area.width
+                    && p.y >= area.y && p.y <= area.y + area.height) {
+                result.add(item);
+            }
+        }
+    }
+
+    private void removeFromCell(T item, Point point) {
+        long key = cellKey(point);
+        List<T> items = cells.get(key);
+        items.remove(item);
+        if (items.isEmpty()) {
+            cells.remove(key);
+        }
+    }
+
+    private long cellKey(Point point) {
+        return key(cell(point.x), cell(point.y));
+    }
+
+    private int cell(int coordinate) {
+        return Math.floorDiv(coordinate, cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.socialgraph.vizual;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Панель фоновых операций: индикатор выполнения и кнопка отмены.
+ * Длительная работа (загрузка, сохранение, генерация) выполняется в {@link SwingWorker},
+ * поэтому поток обработки событий не блокируется. Результат передается обработчику
+ * в потоке обработки событий одним вызовом, когда работа полностью завершена.
+ *
+ * <p>Отмена прерывает рабочий поток; операции, поддерживающие отмену, проверяют
+ * прерывание и завершаются {@link InterruptedIOException} или {@link CancellationException}.
+ * Элементы управления остаются заблокированными, пока рабочий поток действительно не
+ * завершится, а файлы записываются через {@link #writeReplacing}, чтобы прерванная запись
+ * не портила существующий файл.</p>
+ */
+class TaskPanel extends JPanel {
+
+    /**
+     * Фоновая работа.
+     *
+     * @param <T> тип результата
+     */
+    @FunctionalInterface
+    interface Work<T> {
+        T run(Progress progress) throws Exception;
+    }
+
+    /**
+     * Получатель прогресса; может вызываться из любого потока.
+     */
+    @FunctionalInterface
+    interface Progress {
+        void update(long done, long total);
+    }
+
+    /**
+     * Запись в файл по указанному пути.
+     */
+    @FunctionalInterface
+    interface FileOutput {
+        void write(Path path) throws IOException;
+    }
+
+    private final JProgressBar progressBar = new JProgressBar(0, 100);
+    private final JButton cancelButton = new JButton("Отмена");
+    private final List<Component> lockedWhileRunning = new ArrayList<>();
+    private SwingWorker<?, ?> current;
+
+    TaskPanel() {
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> {
+            if (current != null) {
+                current.cancel(true);
+                cancelButton.setEnabled(false);
+            }
+        });
+        add(progressBar);
+        add(cancelButton);
+    }
+
+    /**
+     * Регистрирует элементы управления, которые недоступны, пока выполняется работа.
+     */
+    void lockWhileRunning(Component... components) {
+        lockedWhileRunning.addAll(List.of(components));
+    }
+
+    /**
+     * Запускает работу в фоне. Одновременно выполняется не больше одной работы.
+     *
+     * @param description название операции для индикатора и сообщений об ошибках
+     * @param work фоновая работа
+     * @param onSuccess обработчик результата (вызывается в потоке обработки событий)
+     */
+    <T> void run(String description, Work<T> work, Consumer<T> onSuccess) {
+        if (current != null) return;
+
+        // Кто первым взял флаг — рабочий поток или отмена до его старта, — тот и снимает блокировку
+        AtomicBoolean started = new AtomicBoolean();
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                if (!started.compareAndSet(false, true)) return null;
+                try {
+                    return work.run((done, total) -> {
+                        if (total > 0) {
+                            setProgress((int) Math.min(100, done * 100 / total));
+                        }
+                    });
+                } finally {
+                    // done() после cancel(true) вызывается сразу, не дожидаясь рабочего потока
+                    SwingUtilities.invokeLater(TaskPanel.this::finish);
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() && started.compareAndSet(false, true)) {
+                    finish();
+                }
+                if (isCancelled()) {
+                    progressBar.setString(description + ": отменено");
+                    return;
+                }
+                try {
+                    onSuccess.accept(get());
+                    progressBar.setVisible(false);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof InterruptedIOException || cause instanceof CancellationException) {
+                        progressBar.setString(description + ": отменено");
+                    } else {
+                        progressBar.setVisible(false);
+                        JOptionPane.showMessageDialog(TaskPanel.this, description + ": ошибка\n" + cause.getMessage());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        worker.addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                progressBar.setIndeterminate(false);
+                progressBar.setValue((Integer) event.getNewValue());
+                progressBar.setString(description + ": " + event.getNewValue() + "%");
+            }
+        });
+
+        current = worker;
+        progressBar.setValue(0);
+        progressBar.setIndeterminate(true);
+        progressBar.setString(description + "...");
+        progressBar.setVisible(true);
+        cancelButton.setEnabled(true);
+        for (Component component : lockedWhileRunning) {
+            component.setEnabled(false);
+        }
+        revalidate();
+        worker.execute();
+    }
+
+    /**
+     * Записывает файл во временный файл рядом с ним и атомарно заменяет им исходный.
+     * Если запись прервана или завершилась ошибкой, временный файл удаляется, а прежнее
+     * содержимое файла сохраняется.
+     *
+     * @param path путь итогового файла
+     * @param output запись в файл по переданному пути
+     * @return path
+     * @throws InterruptedIOException если поток прерван до замены файла
+     * @throws IOException при ошибке записи или замены
+     */
+    static Path writeReplacing(Path path, FileOutput output) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            output.write(temp);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Запись отменена");
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return path;
+    }
+
+    private void finish() {
+        current = null;
+        cancelButton.setEnabled(false);
+        for (Component component : lockedWhileRunning) {
+            component.setEnabled(true);
+        }
+    }
+}
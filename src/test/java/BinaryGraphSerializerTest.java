@@ -0,0 +1,118 @@
+import com.example.socialgraph.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryGraphSerializerTest {
+
+    private static SocialGraph<Node> sampleGraph(int size) {
+        GraphBuilder<Node> builder = new GraphBuilder<>();
+        for (int i = 0; i < size; i++) {
+            builder.addNode(new Node(String.valueOf(i), "Пользователь " + i));
+        }
+        for (int i = 0; i < size; i++) {
+            builder.addEdgeByIndex(i, (i + 1) % size);
+            builder.addEdgeByIndex(i, (i * 17 + 5) % size);
+        }
+        return builder.build();
+    }
+
+    private static byte[] toBytes(Graph<Node> graph) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryGraphSerializer.serialize(graph, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void roundTripShouldPreserveNodesNamesAndEdges() throws IOException {
+        SocialGraph<Node> graph = sampleGraph(500);
+
+        SocialGraph<Node> restored = BinaryGraphDeserializer.deserialize(new ByteArrayInputStream(toBytes(graph)));
+
+        assertEquals(graph.getAllNodes(), restored.getAllNodes());
+        for (Node node : restored.getAllNodes()) {
+            assertEquals("Пользователь " + node.getId(), node.getName());
+            assertEquals(graph.getConnections(node), restored.getConnections(node));
+        }
+    }
+
+    @Test
+    void deserializeCsrShouldMatchGraph() throws IOException {
+        SocialGraph<Node> graph = sampleGraph(100);
+
+        CsrGraph<Node> csr = BinaryGraphDeserializer.deserializeCsr(new ByteArrayInputStream(toBytes(graph)));
+
+        for (Node node : graph.getAllNodes()) {
+            assertEquals(graph.getConnections(node), csr.getConnections(node));
+        }
+    }
+
+    @Test
+    void binaryFormShouldBeSmallerThanDot() throws IOException {
+        SocialGraph<Node> graph = sampleGraph(2_000);
+
+        int dotSize = GraphvizSerializer.serialize(graph).getBytes(StandardCharsets.UTF_8).length;
+
+        assertTrue(toBytes(graph).length * 4 < dotSize);
+    }
+
+    @Test
+    void emptyGraphShouldRoundTrip() throws IOException {
+        SocialGraph<Node> restored = BinaryGraphDeserializer.deserialize(
+                new ByteArrayInputStream(toBytes(new SocialGraph<>())));
+
+        assertTrue(restored.getAllNodes().isEmpty());
+    }
+
+    /** Заголовок SGB и числа в формате unsigned LEB128. */
+    private static byte[] sgb(long... values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[]{'S', 'G', 'B', 1});
+        for (long value : values) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void shouldRejectCorruptedCountsAndIndices() {
+        // Два узла с пустыми id и именами, затем списки соседей
+        long[] zeroDelta = {2, 0, 0, 0, 0, 1, 0, 0};
+        long[] hugeDelta = {2, 0, 0, 0, 0, 1, -1L, 0};
+        long[] outOfRange = {2, 0, 0, 0, 0, 1, 2, 0};
+        long[] tooManyNeighbors = {2, 0, 0, 0, 0, 2, 1, 1, 0};
+        for (long[] values : new long[][]{zeroDelta, hugeDelta, outOfRange, tooManyNeighbors}) {
+            assertThrows(StreamCorruptedException.class,
+                    () -> BinaryGraphDeserializer.deserialize(new ByteArrayInputStream(sgb(values))));
+        }
+
+        // Заявленные размеры не выделяются заранее: данные заканчиваются раньше
+        assertThrows(EOFException.class, () -> BinaryGraphDeserializer.deserialize(
+                new ByteArrayInputStream(sgb(Integer.MAX_VALUE))));
+        assertThrows(EOFException.class, () -> BinaryGraphDeserializer.deserialize(
+                new ByteArrayInputStream(sgb(1, Integer.MAX_VALUE))));
+    }
+
+    @Test
+    void shouldRejectForeignOrTruncatedData() throws IOException {
+        byte[] bytes = toBytes(sampleGraph(10));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        assertThrows(IOException.class, () -> BinaryGraphDeserializer.deserialize(
+                new ByteArrayInputStream("graph {}".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IOException.class, () -> BinaryGraphDeserializer.deserialize(new ByteArrayInputStream(truncated)));
+        assertThrows(IllegalArgumentException.class, () -> BinaryGraphSerializer.serialize(null, new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,103 @@
+import com.example.socialgraph.ConcurrentSocialGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentSocialGraphTest {
+
+    private ConcurrentSocialGraph<Integer> graph;
+
+    @BeforeEach
+    public void setUp() {
+        graph = new ConcurrentSocialGraph<>();
+    }
+
+    @Test
+    void shouldFollowSocialGraphSemantics() {
+        assertTrue(graph.addNode(1));
+        assertFalse(graph.addNode(1));
+        assertFalse(graph.addNode(null));
+        graph.addNode(2);
+
+        assertTrue(graph.addEdge(1, 2));
+        assertFalse(graph.addEdge(2, 1));
+        assertFalse(graph.addEdge(1, 1));
+        assertFalse(graph.addEdge(1, 3));
+        assertFalse(graph.addEdge(null, 2));
+
+        assertTrue(graph.hasEdge(2, 1));
+        assertEquals(Set.of(2), graph.getConnections(1));
+        assertTrue(graph.getConnections(3).isEmpty());
+    }
+
+    @Test
+    void parallelIngest_shouldKeepEdgesSymmetric() throws Exception {
+        int nodes = 500;
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        AtomicInteger added = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int seed = t;
+                futures.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        int a = random.nextInt(nodes);
+                        int b = (a + 1 + random.nextInt(nodes - 1) + seed) % nodes;
+                        graph.addNode(a);
+                        graph.addNode(b);
+                        if (graph.addEdge(a, b)) {
+                            added.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long degreeSum = 0;
+        for (Integer from : graph.getAllNodes()) {
+            for (Integer to : graph.getConnections(from)) {
+                assertTrue(graph.hasEdge(to, from));
+                degreeSum++;
+            }
+        }
+        assertEquals(2L * added.get(), degreeSum);
+    }
+
+    @Test
+    void readers_shouldNeverSeeHalfAddedEdge() throws Exception {
+        int pairs = 2_000;
+        for (int i = 0; i < 2 * pairs; i++) {
+            graph.addNode(i);
+        }
+
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < pairs; i++) {
+                graph.addEdge(2 * i, 2 * i + 1);
+            }
+        });
+        writer.start();
+
+        while (writer.isAlive()) {
+            for (int i = 0; i < pairs; i++) {
+                if (graph.getConnections(2 * i).contains(2 * i + 1)) {
+                    assertTrue(graph.hasEdge(2 * i + 1, 2 * i));
+                }
+            }
+        }
+        writer.join();
+    }
+}
@@ -0,0 +1,90 @@
+import com.example.socialgraph.CsrGraph;
+import com.example.socialgraph.SocialGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsrGraphTest {
+
+    private SocialGraph<String> graph;
+
+    @BeforeEach
+    public void setUp() {
+        graph = new SocialGraph<>();
+        for (String node : new String[]{"A", "B", "C", "D"}) {
+            graph.addNode(node);
+        }
+        graph.addEdge("A", "B");
+        graph.addEdge("A", "C");
+        graph.addEdge("B", "D");
+    }
+
+    @Test
+    void freeze_shouldKeepNodesAndEdges() {
+        CsrGraph<String> csr = graph.freeze();
+
+        assertEquals(graph.getAllNodes(), csr.getAllNodes());
+        assertEquals(4, csr.nodeCount());
+        assertEquals(3, csr.edgeCount());
+        for (String from : graph.getAllNodes()) {
+            assertEquals(graph.getConnections(from), csr.getConnections(from));
+            for (String to : graph.getAllNodes()) {
+                assertEquals(graph.hasEdge(from, to), csr.hasEdge(from, to));
+            }
+        }
+    }
+
+    @Test
+    void neighbors_shouldBeSortedByIndex() {
+        CsrGraph<String> csr = graph.freeze();
+
+        for (int v = 0; v < csr.nodeCount(); v++) {
+            int[] neighbors = csr.neighbors(v);
+            assertEquals(csr.degree(v), neighbors.length);
+            for (int i = 1; i < neighbors.length; i++) {
+                assertTrue(neighbors[i - 1] < neighbors[i]);
+            }
+        }
+    }
+
+    @Test
+    void indexOf_shouldRoundTripWithNodeAt() {
+        CsrGraph<String> csr = graph.freeze();
+
+        for (String node : graph.getAllNodes()) {
+            assertEquals(node, csr.nodeAt(csr.indexOf(node)));
+        }
+        assertEquals(-1, csr.indexOf("X"));
+        assertEquals(-1, csr.indexOf(null));
+    }
+
+    @Test
+    void getConnections_shouldReturnEmptySetForUnknownNode() {
+        CsrGraph<String> csr = graph.freeze();
+
+        assertTrue(csr.getConnections("X").isEmpty());
+        assertTrue(csr.getConnections(null).isEmpty());
+        assertFalse(csr.hasEdge("A", "X"));
+    }
+
+    @Test
+    void snapshot_shouldNotSeeLaterChanges() {
+        CsrGraph<String> csr = graph.freeze();
+        graph.addEdge("C", "D");
+
+        assertFalse(csr.hasEdge("C", "D"));
+        assertEquals(Set.of("A"), csr.getConnections("C"));
+    }
+
+    @Test
+    void snapshot_shouldBeImmutable() {
+        CsrGraph<String> csr = graph.freeze();
+
+        assertThrows(UnsupportedOperationException.class, () -> csr.addNode("E"));
+        assertThrows(UnsupportedOperationException.class, () -> csr.addEdge("C", "D"));
+        assertThrows(UnsupportedOperationException.class, () -> csr.getConnections("A").add("D"));
+    }
+}
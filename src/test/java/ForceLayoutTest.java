@@ -0,0 +1,183 @@
+import com.example.socialgraph.Graph;
+import com.example.socialgraph.GraphGenerator;
+import com.example.socialgraph.Node;
+import com.example.socialgraph.SocialGraph;
+import com.example.socialgraph.vizual.ForceLayout;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForceLayoutTest {
+
+    private static double distance(int[] xy, int a, int b) {
+        return Math.hypot(xy[2 * a] - xy[2 * b], xy[2 * a + 1] - xy[2 * b + 1]);
+    }
+
+    @Test
+    void step_shouldSeparateCoincidentNodesAndKeepEdgesShort() {
+        SocialGraph<Node> graph = new SocialGraph<>();
+        Map<Node, Point> positions = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            Node node = new Node("" + i, "User " + i);
+            graph.addNode(node);
+            positions.put(node, new Point(100, 100));
+        }
+        graph.addEdge(new Node("0", ""), new Node("1", ""));
+        graph.addEdge(new Node("2", ""), new Node("3", ""));
+
+        ForceLayout layout = new ForceLayout(graph, positions);
+        double move = Double.MAX_VALUE;
+        for (int i = 0; i < 1000 && move >= ForceLayout.DEFAULT_CONVERGENCE_THRESHOLD; i++) {
+            move = layout.step();
+        }
+        int[] xy = layout.coordinates();
+
+        assertTrue(move < ForceLayout.DEFAULT_CONVERGENCE_THRESHOLD);
+        List<Node> order = layout.nodes();
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < order.size(); i++) {
+            index.put(order.get(i).getId(), i);
+        }
+        for (int a = 0; a < 4; a++) {
+            for (int b = a + 1; b < 4; b++) {
+                assertTrue(distance(xy, a, b) > 10, "узлы не должны совпадать");
+            }
+        }
+        double connected = distance(xy, index.get("0"), index.get("1"));
+        double unrelated = distance(xy, index.get("0"), index.get("2"));
+        assertTrue(connected < unrelated);
+    }
+
+    @Test
+    void step_shouldHandleLargeGraphs() {
+        SocialGraph<Node> graph = new SocialGraph<>(50_000);
+        Random random = new Random(1);
+        Node[] nodes = new Node[50_000];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node("" + i, "User " + i);
+            graph.addNode(nodes[i]);
+            if (i > 0) graph.addEdge(nodes[i], nodes[random.nextInt(i)]);
+        }
+        ForceLayout layout = new ForceLayout(graph, Map.of());
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(Double.isFinite(layout.step()));
+        }
+        for (int value : layout.coordinates()) {
+            assertNotEquals(Integer.MIN_VALUE, value);
+        }
+    }
+
+    @Test
+    void moveNode_shouldKeepPinnedNodeWhereUserPutIt() {
+        SocialGraph<Node> graph = new SocialGraph<>();
+        Node a = new Node("a", "A");
+        Node b = new Node("b", "B");
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addEdge(a, b);
+        ForceLayout layout = new ForceLayout(graph, Map.of(a, new Point(0, 0), b, new Point(50, 0)));
+        int ia = layout.nodes().indexOf(a);
+        int ib = layout.nodes().indexOf(b);
+
+        layout.setPinned(a, true);
+        layout.moveNode(a, 1000, 1000);
+        for (int i = 0; i < 200; i++) {
+            layout.step();
+        }
+        int[] xy = layout.coordinates();
+        assertEquals(1000, xy[2 * ia]);
+        assertEquals(1000, xy[2 * ia + 1]);
+        assertTrue(distance(xy, ia, ib) < 200, "сосед должен подтянуться к перемещенному узлу");
+
+        assertDoesNotThrow(() -> layout.moveNode(new Node("missing", ""), 0, 0));
+    }
+
+    @Test
+    void addNode_shouldGrowLayoutInPlace() {
+        SocialGraph<Node> graph = new SocialGraph<>();
+        Node a = new Node("a", "A");
+        Node b = new Node("b", "B");
+        graph.addNode(a);
+        graph.addNode(b);
+        graph.addEdge(a, b);
+        ForceLayout layout = new ForceLayout(graph, Map.of(a, new Point(0, 0), b, new Point(50, 0)));
+        for (int i = 0; i < 300; i++) {
+            layout.step();
+        }
+
+        Node c = new Node("c", "C");
+        layout.addNode(c, 2000, 2000);
+        layout.addNode(c, -2000, -2000);
+        layout.addEdge(a, c);
+        layout.addEdge(c, a);
+        layout.addEdge(c, new Node("missing", ""));
+        layout.moveNode(c, 1500, 1500);
+        assertEquals(2, layout.coordinates().length / 2, "изменения применяются рабочим потоком");
+
+        layout.step();
+        assertEquals(List.of(a, b, c), layout.nodes());
+        assertEquals(6, layout.coordinates().length);
+        for (int i = 0; i < 200; i++) {
+            layout.step();
+        }
+        int[] xy = layout.coordinates();
+        assertTrue(distance(xy, 0, 2) < 200, "новое ребро должно подтянуть новый узел");
+    }
+
+    @Test
+    void moveNode_shouldReheatConvergedLayout() throws Exception {
+        Graph<Node> graph = GraphGenerator.generateRandomGraph(20, 2);
+        ForceLayout layout = new ForceLayout(graph, Map.of());
+        layout.setConvergenceThreshold(5);
+        Node moved = layout.nodes().get(0);
+        CountDownLatch converged = new CountDownLatch(1);
+        CountDownLatch reheated = new CountDownLatch(1);
+
+        layout.start((coordinates, done) -> {
+            if (done) converged.countDown();
+            if (coordinates[0] == 5000 && coordinates[1] == 5000) reheated.countDown();
+        });
+
+        try {
+            assertTrue(converged.await(30, TimeUnit.SECONDS));
+            layout.setPinned(moved, true);
+            layout.moveNode(moved, 5000, 5000);
+            assertTrue(reheated.await(30, TimeUnit.SECONDS));
+        } finally {
+            layout.stop();
+        }
+    }
+
+    @Test
+    void start_shouldPublishSnapshotsOnEventThreadUntilConverged() throws Exception {
+        Graph<Node> graph = GraphGenerator.generateRandomGraph(30, 2);
+        ForceLayout layout = new ForceLayout(graph, Map.of());
+        layout.setConvergenceThreshold(5);
+        CountDownLatch converged = new CountDownLatch(1);
+
+        layout.start((coordinates, done) -> {
+            assertTrue(SwingUtilities.isEventDispatchThread());
+            assertEquals(2 * graph.getAllNodes().size(), coordinates.length);
+            if (done) converged.countDown();
+        });
+
+        try {
+            assertTrue(converged.await(30, TimeUnit.SECONDS));
+            assertTrue(layout.isConverged());
+            layout.pause();
+            assertTrue(layout.isPaused());
+        } finally {
+            layout.stop();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+import com.example.socialgraph.*;
+import com.example.socialgraph.FriendRecommender.Measure;
+import com.example.socialgraph.FriendRecommender.Recommendation;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FriendRecommenderTest {
+
+    /**
+     * A дружит с B, C и D; E знаком с B и C, F — только с D, а у D есть еще друг G.
+     */
+    private static SocialGraph<String> sample() {
+        SocialGraph<String> graph = new SocialGraph<>();
+        for (String node : List.of("A", "B", "C", "D", "E", "F", "G")) {
+            graph.addNode(node);
+        }
+        graph.addEdge("A", "B");
+        graph.addEdge("A", "C");
+        graph.addEdge("A", "D");
+        graph.addEdge("E", "B");
+        graph.addEdge("E", "C");
+        graph.addEdge("F", "D");
+        graph.addEdge("G", "D");
+        return graph;
+    }
+
+    private static List<String> nodes(List<Recommendation<String>> recommendations) {
+        return recommendations.stream().map(Recommendation::node).toList();
+    }
+
+    @Test
+    void commonNeighborsShouldRankFriendsOfFriends() {
+        FriendRecommender<String> recommender = new FriendRecommender<>(sample(), Measure.COMMON_NEIGHBORS);
+
+        List<Recommendation<String>> top = recommender.recommend("A", 10);
+
+        assertEquals(List.of("E", "F", "G"), nodes(top));
+        assertEquals(2.0, top.get(0).score());
+        assertEquals(1.0, top.get(1).score());
+        assertEquals(List.of("E"), nodes(recommender.recommend("A", 1)));
+        assertEquals(List.of(), recommender.recommend("missing", 3));
+        assertThrows(IllegalArgumentException.class, () -> recommender.recommend("A", -1));
+    }
+
+    @Test
+    void adamicAdarAndJaccardShouldWeightCommonFriends() {
+        SocialGraph<String> graph = sample();
+
+        List<Recommendation<String>> adamicAdar = new FriendRecommender<>(graph, Measure.ADAMIC_ADAR).recommend("A", 3);
+        assertEquals("E", adamicAdar.get(0).node());
+        assertEquals(2 / Math.log(2), adamicAdar.get(0).score(), 1e-5);
+        assertEquals(1 / Math.log(3), adamicAdar.get(1).score(), 1e-5);
+
+        List<Recommendation<String>> jaccard = new FriendRecommender<>(graph, Measure.JACCARD).recommend("A", 3);
+        // У A друзья {B, C, D}, у E — {B, C}: 2 общих из 3
+        assertEquals("E", jaccard.get(0).node());
+        assertEquals(2.0 / 3, jaccard.get(0).score(), 1e-6);
+        assertEquals(1.0 / 3, jaccard.get(1).score(), 1e-6);
+    }
+
+    @Test
+    void topKShouldMatchBruteForceAndBatch() throws InterruptedException {
+        CsrGraph<Node> graph = GraphGenerator.generateBarabasiAlbert(3_000, 3, 4L);
+        FriendRecommender<Node> recommender = new FriendRecommender<>(graph, Measure.COMMON_NEIGHBORS);
+
+        for (int u = 0; u < 3_000; u += 97) {
+            Node node = graph.nodeAt(u);
+            Map<Node, Integer> common = new HashMap<>();
+            for (Node friend : graph.getConnections(node)) {
+                for (Node candidate : graph.getConnections(friend)) {
+                    if (!candidate.equals(node) && !graph.hasEdge(node, candidate)) {
+                        common.merge(candidate, 1, Integer::sum);
+                    }
+                }
+            }
+            List<Recommendation<Node>> top = recommender.recommend(node, 5);
+            assertEquals(Math.min(5, common.size()), top.size());
+            int best = common.values().stream().max(Integer::compare).orElse(0);
+            if (!top.isEmpty()) {
+                assertEquals(best, top.get(0).score());
+            }
+            for (Recommendation<Node> recommendation : top) {
+                assertEquals(common.get(recommendation.node()), (int) recommendation.score());
+            }
+        }
+
+        Map<Node, List<Recommendation<Node>>> batch = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            recommender.recommendAll(5, pool, batch::put);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(3_000, batch.size());
+        for (int u = 0; u < 3_000; u += 101) {
+            assertEquals(recommender.recommend(graph.nodeAt(u), 5), batch.get(graph.nodeAt(u)));
+        }
+    }
+
+    @Test
+    void limitLargerThanGraphShouldReturnAllCandidates() throws InterruptedException {
+        FriendRecommender<String> recommender = new FriendRecommender<>(sample(), Measure.JACCARD);
+
+        assertEquals(List.of("E", "F", "G"), nodes(recommender.recommend("A", Integer.MAX_VALUE)));
+
+        Map<String, List<Recommendation<String>>> batch = new ConcurrentHashMap<>();
+        recommender.recommendAll(Integer.MAX_VALUE, batch::put);
+        assertEquals(7, batch.size());
+        assertEquals(recommender.recommend("A", 3), batch.get("A"));
+    }
+}
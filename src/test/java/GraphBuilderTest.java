@@ -0,0 +1,85 @@
+import com.example.socialgraph.CsrGraph;
+import com.example.socialgraph.GraphBuilder;
+import com.example.socialgraph.SocialGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphBuilderTest {
+
+    @Test
+    void build_shouldDeduplicateEdgesAndDropSelfLoops() {
+        SocialGraph<String> graph = new GraphBuilder<String>()
+                .expectedNodes(3)
+                .expectedEdges(4)
+                .addEdge("A", "B")
+                .addEdge("B", "A")
+                .addEdge("A", "A")
+                .addEdge("B", "C")
+                .build();
+
+        assertEquals(Set.of("A", "B", "C"), graph.getAllNodes());
+        assertEquals(Set.of("B"), graph.getConnections("A"));
+        assertEquals(Set.of("A", "C"), graph.getConnections("B"));
+        assertFalse(graph.hasEdge("A", "A"));
+    }
+
+    @Test
+    void addNode_shouldReturnStableIndices() {
+        GraphBuilder<String> builder = new GraphBuilder<>();
+
+        assertEquals(0, builder.addNode("A"));
+        assertEquals(1, builder.addNode("B"));
+        assertEquals(0, builder.addNode("A"));
+        assertEquals(2, builder.nodeCount());
+        assertThrows(IllegalArgumentException.class, () -> builder.addNode(null));
+    }
+
+    @Test
+    void addEdges_shouldAcceptBatches() {
+        GraphBuilder<String> builder = new GraphBuilder<>();
+        builder.addEdges(List.of(new GraphBuilder.Edge<>("A", "B"), new GraphBuilder.Edge<>("C", "D")));
+        builder.addEdges(new int[]{0, 1, 2}, new int[]{2, 3, 0});
+
+        SocialGraph<String> graph = builder.build();
+
+        assertTrue(graph.hasEdge("A", "B"));
+        assertTrue(graph.hasEdge("C", "D"));
+        assertTrue(graph.hasEdge("A", "C"));
+        assertTrue(graph.hasEdge("B", "D"));
+        assertEquals(Set.of("B", "C"), graph.getConnections("A"));
+    }
+
+    @Test
+    void addEdges_shouldRejectInvalidArrays() {
+        GraphBuilder<String> builder = new GraphBuilder<>();
+        builder.addNode("A");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.addEdges(new int[]{0}, new int[0]));
+        assertThrows(IndexOutOfBoundsException.class, () -> builder.addEdges(new int[]{0}, new int[]{5}));
+    }
+
+    @Test
+    void buildCsr_shouldMatchBuild() {
+        GraphBuilder<Integer> builder = new GraphBuilder<>();
+        for (int i = 0; i < 50; i++) {
+            builder.addEdge(i, (i * 7 + 3) % 50);
+            builder.addEdge(i, (i * 13 + 1) % 50);
+        }
+
+        SocialGraph<Integer> graph = builder.build();
+        CsrGraph<Integer> csr = builder.buildCsr();
+
+        assertEquals(graph.getAllNodes(), csr.getAllNodes());
+        for (Integer node : graph.getAllNodes()) {
+            assertEquals(graph.getConnections(node), csr.getConnections(node));
+            int[] neighbors = csr.neighbors(csr.indexOf(node));
+            for (int i = 1; i < neighbors.length; i++) {
+                assertTrue(neighbors[i - 1] < neighbors[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+import com.example.socialgraph.Graph;
+import com.example.socialgraph.GraphFileReader;
+import com.example.socialgraph.GraphFileWriter;
+import com.example.socialgraph.Node;
+import com.example.socialgraph.SocialGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphFileReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void parallelReadShouldMatchSequentialRead() throws IOException {
+        SocialGraph<String> graph = new SocialGraph<>();
+        int nodes = 60_000;
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode("Пользователь " + i);
+        }
+        for (int i = 0; i < nodes; i++) {
+            graph.addEdge("Пользователь " + i, "Пользователь " + (i * 31 + 7) % nodes);
+            graph.addEdge("Пользователь " + i, "Пользователь " + (i + 1) % nodes);
+        }
+        Path file = dir.resolve("big.dot");
+        GraphFileWriter.writeToDotFile(graph, file);
+        assertTrue(Files.size(file) > 3 << 20, "файл должен делиться на несколько фрагментов");
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Graph<String> sequential = GraphFileReader.readFromDotFile(file, s -> s);
+            Graph<String> parallel = GraphFileReader.readFromDotFileParallel(file, s -> s, pool);
+
+            assertEquals(sequential.getAllNodes(), parallel.getAllNodes());
+            for (String node : sequential.getAllNodes()) {
+                assertEquals(sequential.getConnections(node), parallel.getConnections(node));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelReadShouldNotSplitInsideCommentsOrQuotes() throws IOException {
+        // Многострочный комментарий больше фрагмента (1 МБ) гарантированно пересекает границу
+        StringBuilder dot = new StringBuilder("graph {\n  \"a\" -- \"b\";\n/*\n");
+        for (int i = 0; i < 60_000; i++) {
+            dot.append("  \"ghost ").append(i).append("\" -- \"x\"; // \"\n");
+        }
+        dot.append("*/\n");
+        for (int i = 0; i < 60_000; i++) {
+            dot.append("  \"c\" -- \"многострочный\\\nузел ").append(i).append("\";\n");
+        }
+        dot.append("}\n");
+        Path file = dir.resolve("comments.dot");
+        Files.writeString(file, dot);
+        assertTrue(Files.size(file) > 3 << 20, "файл должен делиться на несколько фрагментов");
+
+        Graph<String> sequential = GraphFileReader.readFromDotFile(file, s -> s);
+        Graph<String> parallel = GraphFileReader.readFromDotFileParallel(file, s -> s);
+
+        assertEquals(60_003, sequential.getAllNodes().size());
+        assertTrue(sequential.hasEdge("a", "b"));
+        assertTrue(sequential.hasEdge("c", "многострочныйузел 59999"));
+        assertEquals(sequential.getAllNodes(), parallel.getAllNodes());
+        assertEquals(sequential.getConnections("c"), parallel.getConnections("c"));
+    }
+
+    @Test
+    void parallelReadShouldHandleSmallFiles() throws IOException {
+        Path file = dir.resolve("small.dot");
+        Files.writeString(file, "graph {\n  \"A\";\n  \"A\" -- \"B\";\n}");
+
+        Graph<String> graph = GraphFileReader.readFromDotFileParallel(file, s -> s);
+
+        assertEquals(2, graph.getAllNodes().size());
+        assertTrue(graph.hasEdge("B", "A"));
+    }
+
+    @Test
+    void parallelReadShouldReportSyntaxErrors() throws IOException {
+        Path file = dir.resolve("broken.dot");
+        Files.writeString(file, "graph {\n  \"A -- B;\n}");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphFileReader.readFromDotFileParallel(file, s -> s));
+    }
+
+    @Test
+    void labeledReadShouldReportProgressAndStopWhenInterrupted() throws IOException {
+        SocialGraph<Node> graph = new SocialGraph<>();
+        for (int i = 0; i < 20_000; i++) {
+            graph.addNode(new Node("" + i, "Пользователь " + i));
+            if (i > 0) graph.addEdge(new Node("" + i, ""), new Node("" + (i - 1), ""));
+        }
+        Path file = dir.resolve("labeled.dot");
+        GraphFileWriter.writeLabeledDotFile(graph, file);
+
+        List<Long> reported = new ArrayList<>();
+        SocialGraph<Node> loaded = GraphFileReader.readLabeledDotFile(file, reported::add);
+
+        assertEquals(graph.getAllNodes(), loaded.getAllNodes());
+        assertTrue(reported.size() > 1);
+        assertEquals(Files.size(file), reported.get(reported.size() - 1));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(InterruptedIOException.class, () -> GraphFileReader.readLabeledDotFile(file, bytes -> { }));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
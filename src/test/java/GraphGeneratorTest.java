@@ -1,9 +1,14 @@
+import com.example.socialgraph.CsrGraph;
 import com.example.socialgraph.Graph;
 import com.example.socialgraph.GraphGenerator;
 import com.example.socialgraph.Node;
+import com.example.socialgraph.SocialGraph;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -135,6 +140,28 @@ public class GraphGeneratorTest {
                 GraphGenerator.generateRandomGraph(0, 3));
     }
 
+    @Test
+    void seededGeneratorShouldClampConnectionLimitToNodeCount() {
+        CsrGraph<Node> graph = GraphGenerator.generateRandomGraph(10, 1_000_000_000, 1L);
+        assertEquals(10, graph.nodeCount());
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            assertTrue(graph.degree(v) <= 9);
+        }
+        assertEquals(graph.edgeCount(), GraphGenerator.generateRandomGraph(10, 9, 1L).edgeCount());
+    }
+
+    @Test
+    void testHugeConnectionLimitShouldNotPreallocate() {
+        // Лимит связей больше n - 1 не должен выделять память под миллиард ребер
+        Graph<Node> graph = GraphGenerator.generateRandomGraph(10, 1_000_000_000);
+        assertEquals(10, graph.getAllNodes().size());
+        for (Node node : graph.getAllNodes()) {
+            assertTrue(graph.getConnections(node).size() <= 9);
+        }
+        Graph<Node> target = GraphGenerator.generateRandomGraph(10, 1_000_000_000, new SocialGraph<>());
+        assertEquals(10, target.getAllNodes().size());
+    }
+
     @Test
     public void testGenerateRandomGraph_NegativeConnections_ThrowsException() {
         // Проверяем, что при отрицательном числе связей выбрасывается исключение
@@ -143,4 +170,108 @@ public class GraphGeneratorTest {
     }
 
 
+
+    @Test
+    void testGenerateGraphWithProgressReportsAllNodes() {
+        List<Integer> reported = new ArrayList<>();
+        Graph<Node> graph = GraphGenerator.generateRandomGraphWithProgress(50, 3, reported::add);
+
+        assertEquals(50, graph.getAllNodes().size());
+        assertEquals(50, reported.get(reported.size() - 1));
+    }
+
+    @Test
+    void testGenerateGraphStopsWhenInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class,
+                    () -> GraphGenerator.generateRandomGraphWithProgress(50, 3, processed -> { }));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testSeededGraphIsReproducibleAndRespectsMaxConnections() {
+        CsrGraph<Node> first = GraphGenerator.generateRandomGraph(100_000, 6, 42L);
+        CsrGraph<Node> second = GraphGenerator.generateRandomGraph(100_000, 6, 42L);
+        CsrGraph<Node> other = GraphGenerator.generateRandomGraph(100_000, 6, 43L);
+
+        assertEquals(100_000, first.nodeCount());
+        assertEquals(first.edgeCount(), second.edgeCount());
+        assertNotEquals(first.edgeCount(), other.edgeCount());
+        assertTrue(first.edgeCount() > 100_000);
+        for (int v = 0; v < first.nodeCount(); v++) {
+            assertTrue(first.degree(v) <= 6);
+            assertArrayEquals(first.neighbors(v), second.neighbors(v));
+        }
+    }
+
+    @Test
+    void testLargeGraphCyclesNamesBeyondNameFile() {
+        CsrGraph<Node> graph = GraphGenerator.generateRandomGraph(1_000, 2, 7L);
+
+        Node first = graph.nodeAt(0);
+        Node cycled = graph.nodeAt(graph.indexOf(new Node("98", "")));
+        assertEquals(first.getName() + " 2", cycled.getName());
+        assertEquals(1_000, graph.getAllNodes().size());
+    }
+
+    @Test
+    void testBarabasiAlbertHasExpectedEdgesAndHeavyTail() {
+        CsrGraph<Node> graph = GraphGenerator.generateBarabasiAlbert(50_000, 3, 1L);
+        CsrGraph<Node> same = GraphGenerator.generateBarabasiAlbert(50_000, 3, 1L);
+
+        assertEquals(50_000, graph.nodeCount());
+        // Полный граф на 4 узлах и по 3 ребра у каждого следующего узла
+        assertEquals(6 + (50_000 - 4) * 3L, graph.edgeCount());
+        int maxDegree = 0;
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            assertTrue(graph.degree(v) >= 3);
+            maxDegree = Math.max(maxDegree, graph.degree(v));
+            assertArrayEquals(graph.neighbors(v), same.neighbors(v));
+        }
+        assertTrue(maxDegree > 100, "ожидается узел-хаб, максимальная степень " + maxDegree);
+    }
+
+    @Test
+    void testWattsStrogatzWithoutRewiringIsRingLattice() {
+        CsrGraph<Node> ring = GraphGenerator.generateWattsStrogatz(1_000, 4, 0.0, 5L);
+
+        assertEquals(2_000, ring.edgeCount());
+        for (int v = 0; v < ring.nodeCount(); v++) {
+            assertEquals(4, ring.degree(v));
+            assertTrue(ring.hasEdgeByIndex(v, (v + 2) % 1_000));
+        }
+
+        CsrGraph<Node> rewired = GraphGenerator.generateWattsStrogatz(1_000, 4, 0.5, 5L);
+        assertTrue(rewired.edgeCount() <= 2_000 && rewired.edgeCount() > 1_900);
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.generateWattsStrogatz(10, 3, 0.1, 5L));
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.generateWattsStrogatz(10, 4, 1.5, 5L));
+    }
+
+    @Test
+    void testStochasticBlockModelRespectsCommunities() {
+        CsrGraph<Node> separated = GraphGenerator.generateStochasticBlockModel(
+                new int[]{30, 20}, new double[][]{{1.0, 0.0}, {0.0, 1.0}}, 3L);
+        assertEquals(30 * 29 / 2 + 20 * 19 / 2, separated.edgeCount());
+        assertFalse(separated.hasEdgeByIndex(0, 30));
+
+        CsrGraph<Node> sparse = GraphGenerator.generateStochasticBlockModel(
+                new int[]{5_000, 5_000}, new double[][]{{0.002, 0.0002}, {0.0002, 0.002}}, 3L);
+        long inside = 0, across = 0;
+        for (int v = 0; v < sparse.nodeCount(); v++) {
+            for (int w : sparse.neighbors(v)) {
+                if (v < w) {
+                    if ((v < 5_000) == (w < 5_000)) inside++;
+                    else across++;
+                }
+            }
+        }
+        // Ожидается около 2 * 0.002 * C(5000, 2) ≈ 50 000 и 0.0002 * 5000^2 = 5 000 ребер
+        assertTrue(Math.abs(inside - 49_990) < 1_500, "ребер внутри сообществ: " + inside);
+        assertTrue(Math.abs(across - 5_000) < 500, "ребер между сообществами: " + across);
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.generateStochasticBlockModel(
+                new int[]{10, 10}, new double[][]{{0.1, 0.2}, {0.3, 0.1}}, 3L));
+    }
 }
@@ -0,0 +1,102 @@
+import com.example.socialgraph.Node;
+import com.example.socialgraph.SocialGraph;
+import com.example.socialgraph.vizual.GraphImageRenderer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphImageRendererTest {
+
+    private SocialGraph<Node> graph;
+    private Map<Node, Point> positions;
+
+    @BeforeEach
+    public void setUp() {
+        graph = new SocialGraph<>();
+        positions = new HashMap<>();
+        Node alice = new Node("1", "Alice");
+        Node bob = new Node("2", "Bob <&>");
+        Node carol = new Node("3", "Carol");
+        graph.addNode(alice);
+        graph.addNode(bob);
+        graph.addNode(carol);
+        graph.addEdge(alice, bob);
+        graph.addEdge(bob, carol);
+        positions.put(alice, new Point(100, 100));
+        positions.put(bob, new Point(300, 100));
+        positions.put(carol, new Point(200, 250));
+    }
+
+    @Test
+    void writePng_shouldProduceDecodableImageCoveringAllNodes() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphImageRenderer.writePng(graph, positions, out);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertNotNull(image);
+        assertEquals(200 + 80, image.getWidth());
+        assertEquals(150 + 80, image.getHeight());
+        // Центр первого узла закрашен, угол изображения остается фоном
+        assertEquals(Color.ORANGE.getRGB(), image.getRGB(40, 40));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(0, image.getHeight() - 1));
+    }
+
+    @Test
+    void render_shouldScaleDownHugeLayouts() {
+        Node far = new Node("4", "Far");
+        graph.addNode(far);
+        positions.put(far, new Point(100_000, 100));
+
+        BufferedImage image = GraphImageRenderer.render(graph, positions);
+        assertEquals(GraphImageRenderer.DEFAULT_IMAGE_SIZE, image.getWidth());
+        assertTrue(image.getHeight() < 100);
+
+        assertEquals(1000, GraphImageRenderer.render(graph, positions, 1000).getWidth());
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphImageRenderer.render(graph, positions, GraphImageRenderer.MAX_IMAGE_SIZE + 1));
+    }
+
+    @Test
+    void render_shouldIgnorePositionsOfNodesMissingFromGraph() {
+        positions.put(new Node("stale", "Stale"), new Point(100_000, 100));
+
+        BufferedImage image = GraphImageRenderer.render(graph, positions);
+
+        assertEquals(200 + 80, image.getWidth());
+    }
+
+    @Test
+    void writeSvg_shouldEmitEachEdgeOnceAndEscapeNames() throws Exception {
+        StringWriter writer = new StringWriter();
+        GraphImageRenderer.writeSvg(graph, positions, writer);
+        String svg = writer.toString();
+
+        assertTrue(svg.startsWith("<svg"));
+        assertEquals(2, svg.split("<line ", -1).length - 1);
+        assertEquals(3, svg.split("<circle ", -1).length - 1);
+        assertTrue(svg.contains(">Bob &lt;&amp;&gt;</text>"));
+    }
+
+    @Test
+    void nodesWithoutPositions_shouldBeSkipped() throws Exception {
+        Node hidden = new Node("5", "Hidden");
+        graph.addNode(hidden);
+        graph.addEdge(hidden, new Node("1", "Alice"));
+
+        StringWriter writer = new StringWriter();
+        GraphImageRenderer.writeSvg(graph, positions, writer);
+
+        assertFalse(writer.toString().contains("Hidden"));
+        assertEquals(2, writer.toString().split("<line ", -1).length - 1);
+    }
+}
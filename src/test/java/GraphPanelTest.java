@@ -0,0 +1,45 @@
+import com.example.socialgraph.Node;
+import com.example.socialgraph.SocialGraph;
+import com.example.socialgraph.vizual.GraphPanel;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphPanelTest {
+
+    @Test
+    void paint_shouldDrawEdgeCrossingViewportWithBothEndsOffScreen() {
+        SocialGraph<Node> graph = new SocialGraph<>();
+        Node left = new Node("1", "Left");
+        Node right = new Node("2", "Right");
+        graph.addNode(left);
+        graph.addNode(right);
+        graph.addEdge(left, right);
+
+        GraphPanel panel = new GraphPanel();
+        panel.setSize(400, 400);
+        panel.setGraph(graph);
+        // Узлы стоят на окружности радиусом 150 вокруг центра; при четырехкратном
+        // приближении оба оказываются за краями экрана, а ребро проходит через центр
+        panel.zoom(4, new Point(200, 200));
+        Point a = panel.getNodePositions().get(left);
+        Point b = panel.getNodePositions().get(right);
+        assertEquals(a.y, b.y);
+
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            panel.paint(g);
+        } finally {
+            g.dispose();
+        }
+
+        Color background = panel.getBackground();
+        int edgeY = 200 + (a.y - 200) * 4;
+        assertNotEquals(background.getRGB() & 0xFFFFFF, image.getRGB(200, edgeY) & 0xFFFFFF,
+                "ребро должно быть видно, хотя оба его конца за краем экрана");
+    }
+}
@@ -0,0 +1,98 @@
+import com.example.socialgraph.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphPathsTest {
+
+    /** Цепочка A - B - C - D - E и отдельный узел X. */
+    private static SocialGraph<String> chain() {
+        SocialGraph<String> graph = new SocialGraph<>();
+        for (String node : List.of("A", "B", "C", "D", "E", "X")) {
+            graph.addNode(node);
+        }
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "D");
+        graph.addEdge("D", "E");
+        return graph;
+    }
+
+    /** Расстояния от узла обычным поиском в ширину. */
+    private static Map<Integer, Integer> distancesFrom(Graph<Integer> graph, int start) {
+        Map<Integer, Integer> distances = new HashMap<>();
+        ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(start));
+        distances.put(start, 0);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int next : graph.getConnections(node)) {
+                if (distances.putIfAbsent(next, distances.get(node) + 1) == null) {
+                    queue.add(next);
+                }
+            }
+        }
+        return distances;
+    }
+
+    @Test
+    void shortestPathShouldFollowChainForBothImplementations() {
+        SocialGraph<String> graph = chain();
+
+        for (Graph<String> g : List.<Graph<String>>of(graph, graph.freeze())) {
+            assertEquals(List.of("A", "B", "C", "D", "E"), GraphPaths.shortestPath(g, "A", "E"));
+            assertEquals(List.of("C"), GraphPaths.shortestPath(g, "C", "C"));
+            assertEquals(List.of(), GraphPaths.shortestPath(g, "A", "X"));
+            assertEquals(List.of(), GraphPaths.shortestPath(g, "A", "missing"));
+        }
+    }
+
+    @Test
+    void distanceShouldRespectMaxHops() {
+        SocialGraph<String> graph = chain();
+
+        for (Graph<String> g : List.<Graph<String>>of(graph, graph.freeze())) {
+            assertEquals(4, GraphPaths.distance(g, "E", "A", 4));
+            assertEquals(-1, GraphPaths.distance(g, "E", "A", 3));
+            assertEquals(0, GraphPaths.distance(g, "B", "B", 0));
+            assertEquals(-1, GraphPaths.distance(g, "A", "X", 10));
+        }
+        assertThrows(IllegalArgumentException.class, () -> GraphPaths.distance(graph, "A", "B", -1));
+        assertThrows(IllegalArgumentException.class, () -> GraphPaths.shortestPath(graph, null, "B"));
+    }
+
+    @Test
+    void shouldMatchPlainBreadthFirstSearchOnRandomGraph() {
+        Random random = new Random(11);
+        SocialGraph<Integer> graph = new SocialGraph<>();
+        for (int i = 0; i < 2_000; i++) {
+            graph.addNode(i);
+        }
+        for (int i = 0; i < 3_000; i++) {
+            graph.addEdge(random.nextInt(2_000), random.nextInt(2_000));
+        }
+        CsrGraph<Integer> csr = graph.freeze();
+
+        for (int query = 0; query < 50; query++) {
+            int from = random.nextInt(2_000);
+            Map<Integer, Integer> expected = distancesFrom(graph, from);
+            for (int k = 0; k < 20; k++) {
+                int to = random.nextInt(2_000);
+                int distance = expected.getOrDefault(to, -1);
+                assertEquals(distance, GraphPaths.distance(graph, from, to, Integer.MAX_VALUE));
+                assertEquals(distance, GraphPaths.distance(csr, from, to, Integer.MAX_VALUE));
+
+                List<Integer> path = GraphPaths.shortestPath(csr, from, to);
+                assertEquals(distance + 1, path.size());
+                if (distance >= 0) {
+                    assertEquals(from, path.get(0));
+                    assertEquals(to, path.get(path.size() - 1));
+                    for (int i = 1; i < path.size(); i++) {
+                        assertTrue(graph.hasEdge(path.get(i - 1), path.get(i)));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,12 @@
 import com.example.socialgraph.GraphvizDeserializer;
+import com.example.socialgraph.GraphvizSerializer;
 import com.example.socialgraph.Node;
 import com.example.socialgraph.SocialGraph;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -75,4 +79,126 @@ class GraphvizDeserializerTest {
         assertFalse(graph.hasEdge(a, a));
         assertFalse(graph.hasEdge(b, b));
     }
+
+    @Test
+    void shouldParseChainsAttributesAndComments() {
+        String dot = """
+                /* выгрузка */
+                strict graph "Друзья" {
+                  node [shape=circle];
+                  rankdir = LR;
+                  "A" [label="Алиса", color=red]
+                  B; C
+                  # комментарий
+                  "A" -- B -- "C" [weight=2];
+                }
+                """;
+
+        SocialGraph<Node> graph = GraphvizDeserializer.deserialize(dot, NODE);
+
+        assertEquals(Set.of(NODE.apply("A"), NODE.apply("B"), NODE.apply("C")), graph.getAllNodes());
+        assertTrue(graph.hasEdge(NODE.apply("A"), NODE.apply("B")));
+        assertTrue(graph.hasEdge(NODE.apply("B"), NODE.apply("C")));
+        assertFalse(graph.hasEdge(NODE.apply("A"), NODE.apply("C")));
+    }
+
+    @Test
+    void shouldUnescapeQuotesInIds() {
+        String dot = "graph { \"Say \\\"hi\\\"\" -- \"B\"; }";
+
+        SocialGraph<Node> graph = GraphvizDeserializer.deserialize(dot, NODE);
+
+        assertTrue(graph.hasEdge(NODE.apply("Say \"hi\""), NODE.apply("B")));
+    }
+
+    @Test
+    void shouldDeserializeFromReader() throws IOException {
+        StringBuilder dot = new StringBuilder("graph {\n");
+        for (int i = 0; i < 20_000; i++) {
+            dot.append("  \"").append(i).append("\" -- \"").append(i + 1).append("\";\n");
+        }
+        dot.append("}\n");
+
+        SocialGraph<Node> graph = GraphvizDeserializer.deserialize(new StringReader(dot.toString()), NODE);
+
+        assertEquals(20_001, graph.getAllNodes().size());
+        assertTrue(graph.hasEdge(NODE.apply("19999"), NODE.apply("20000")));
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphvizDeserializer.deserialize("graph { \"A; }", NODE));
+    }
+
+    @Test
+    void labeledDialectShouldRoundTripLosslessly() {
+        SocialGraph<Node> graph = new SocialGraph<>();
+        Node lena = new Node("7", "Лена");
+        Node nastya = new Node("9", "Настя (староста)");
+        graph.addNode(lena);
+        graph.addNode(nastya);
+        graph.addEdge(lena, nastya);
+
+        String dot = GraphvizSerializer.serializeWithLabels(graph);
+        SocialGraph<Node> once = GraphvizDeserializer.deserializeWithLabels(dot);
+        SocialGraph<Node> twice = GraphvizDeserializer.deserializeWithLabels(GraphvizSerializer.serializeWithLabels(once));
+
+        assertTrue(dot.contains("\"7\" [label=\"Лена\"];"));
+        assertTrue(dot.contains("\"7\" -- \"9\"") || dot.contains("\"9\" -- \"7\""));
+        for (SocialGraph<Node> restored : List.of(once, twice)) {
+            assertEquals(Set.of(lena, nastya), restored.getAllNodes());
+            assertTrue(restored.hasEdge(lena, nastya));
+            for (Node node : restored.getAllNodes()) {
+                assertEquals(node.equals(lena) ? "Лена" : "Настя (староста)", node.getName());
+            }
+        }
+    }
+
+    @Test
+    void labeledDialectShouldReadLegacyFiles() {
+        String dot = """
+                graph SocialGraph {
+                    "Лена (7) (Лена (7))";
+                    "User 11 (user11)";
+                    "Боб";
+                    "Лена (7) (Лена (7))" -- "User 11 (user11)";
+                    "Боб" -- "Лена (7) (Лена (7))";
+                }
+                """;
+
+        SocialGraph<Node> graph = GraphvizDeserializer.deserializeWithLabels(dot);
+
+        Node lena = new Node("7", "");
+        assertEquals(Set.of(lena, new Node("user11", ""), new Node("Боб", "")), graph.getAllNodes());
+        assertEquals(Set.of(new Node("user11", ""), new Node("Боб", "")), graph.getConnections(lena));
+        for (Node node : graph.getAllNodes()) {
+            if (node.equals(lena)) assertEquals("Лена", node.getName());
+        }
+    }
+
+    @Test
+    void labeledDialectShouldKeepLabelDeclaredAfterEdge() {
+        String dot = """
+                graph SocialGraph {
+                    "7" -- "9";
+                    "7" [label="Лена"];
+                    "9" [label="Настя"];
+                    "9" [label="Не Настя"];
+                }
+                """;
+
+        SocialGraph<Node> graph = GraphvizDeserializer.deserializeWithLabels(dot);
+
+        Node lena = new Node("7", "");
+        Node nastya = new Node("9", "");
+        assertEquals(Set.of(lena, nastya), graph.getAllNodes());
+        assertTrue(graph.hasEdge(lena, nastya));
+        for (Node node : graph.getAllNodes()) {
+            assertEquals(node.equals(lena) ? "Лена" : "Настя", node.getName());
+        }
+        for (Node neighbor : graph.getConnections(lena)) {
+            assertEquals("Настя", neighbor.getName());
+        }
+    }
 }
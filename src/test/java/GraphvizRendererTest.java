@@ -0,0 +1,120 @@
+import com.example.socialgraph.GraphvizRenderer;
+import com.example.socialgraph.GraphvizSerializer;
+import com.example.socialgraph.SocialGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class GraphvizRendererTest {
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        assumeTrue(Files.isExecutable(Path.of("/bin/sh")), "нужна POSIX-оболочка для поддельного dot");
+    }
+
+    /**
+     * Создает поддельный dot: сценарий оболочки, который получает аргумент -Tformat.
+     */
+    private String fakeDot(String body) throws IOException {
+        Path script = tempDir.resolve("dot-" + System.nanoTime() + ".sh");
+        Files.writeString(script, "#!/bin/sh\n" + body + "\n");
+        Files.setPosixFilePermissions(script, PosixFilePermissions.fromString("rwx------"));
+        return script.toString();
+    }
+
+    private static SocialGraph<Integer> chain(int length) {
+        SocialGraph<Integer> graph = new SocialGraph<>();
+        for (int i = 0; i < length; i++) {
+            graph.addNode(i);
+            if (i > 0) graph.addEdge(i - 1, i);
+        }
+        return graph;
+    }
+
+    @Test
+    void render_shouldStreamDotThroughStdinAndReturnStdout() throws Exception {
+        // Граф больше буфера канала: запись и чтение должны идти одновременно
+        SocialGraph<Integer> graph = chain(20_000);
+        GraphvizRenderer renderer = new GraphvizRenderer(fakeDot("cat"), Duration.ofSeconds(30));
+
+        byte[] image = renderer.render(graph, "png");
+
+        assertEquals(GraphvizSerializer.serialize(graph), new String(image, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void render_shouldPassFormatAndAcceptRawDot() throws Exception {
+        GraphvizRenderer renderer = new GraphvizRenderer(fakeDot("cat > /dev/null; echo \"$1\""), Duration.ofSeconds(30));
+
+        byte[] output = renderer.render(new StringReader("graph { a -- b }"), "svg");
+
+        assertEquals("-Tsvg\n", new String(output, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void render_shouldReportExitCodeAndStderr() throws Exception {
+        GraphvizRenderer renderer = new GraphvizRenderer(
+                fakeDot("cat > /dev/null; echo 'syntax error' >&2; exit 3"), Duration.ofSeconds(30));
+
+        IOException e = assertThrows(IOException.class, () -> renderer.render(chain(3), "png"));
+
+        assertTrue(e.getMessage().contains("код 3"));
+        assertTrue(e.getMessage().contains("syntax error"));
+    }
+
+    @Test
+    void render_shouldStopProcessOnTimeout() throws Exception {
+        GraphvizRenderer renderer = new GraphvizRenderer(fakeDot("exec sleep 30"), Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        assertThrows(IOException.class, () -> renderer.render(chain(3), "png"));
+
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(10).toNanos());
+    }
+
+    @Test
+    void renderAll_shouldRenderEveryGraphAndCollectFailures() throws Exception {
+        GraphvizRenderer renderer = new GraphvizRenderer(
+                fakeDot("input=$(cat); case \"$input\" in *'\"13\"'*) exit 1;; esac; printf '%s' \"$input\""),
+                Duration.ofSeconds(30));
+        Map<Integer, SocialGraph<Integer>> graphs = new HashMap<>();
+        for (int i = 1; i <= 20; i++) {
+            graphs.put(i, chain(i));
+        }
+        Map<Integer, byte[]> images = new ConcurrentHashMap<>();
+
+        Map<Integer, Exception> failures = renderer.renderAll(graphs, "png", 4, images::put);
+
+        // Только графы с 14 и более узлами содержат узел "13"
+        assertEquals(7, failures.size());
+        assertEquals(13, images.size());
+        for (Map.Entry<Integer, byte[]> entry : images.entrySet()) {
+            assertTrue(entry.getKey() <= 13);
+            assertEquals(GraphvizSerializer.serialize(graphs.get(entry.getKey())),
+                    new String(entry.getValue(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new GraphvizRenderer(" ", Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new GraphvizRenderer("dot", Duration.ZERO));
+    }
+}
@@ -1,8 +1,12 @@
+import com.example.socialgraph.GraphvizDeserializer;
 import com.example.socialgraph.GraphvizSerializer;
 import com.example.socialgraph.Node;
 import com.example.socialgraph.SocialGraph;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -53,4 +57,53 @@ class GraphvizSerializerTest {
 
         assertEquals(1, edgeCount, "Ребро должно присутствовать ровно один раз");
     }
+
+    @Test
+    void serializeToStreamMatchesStringForm() throws IOException {
+        SocialGraph<String> graph = new SocialGraph<>();
+        for (String node : new String[]{"Алиса", "Боб", "Катя"}) {
+            graph.addNode(node);
+        }
+        graph.addEdge("Алиса", "Боб");
+        graph.addEdge("Боб", "Катя");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GraphvizSerializer.serialize(graph, out);
+
+        assertEquals(GraphvizSerializer.serialize(graph), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void serializeEscapesQuotesAndRoundTrips() {
+        SocialGraph<String> graph = new SocialGraph<>();
+        graph.addNode("Say \"hi\"");
+        graph.addNode("C:\\dir");
+        graph.addEdge("Say \"hi\"", "C:\\dir");
+        graph.addNode("Две\nстроки");
+        graph.addNode("C:\\new");
+        graph.addEdge("Две\nстроки", "C:\\new");
+
+        String dot = GraphvizSerializer.serialize(graph);
+        SocialGraph<String> parsed = GraphvizDeserializer.deserialize(dot, s -> s);
+
+        assertTrue(dot.contains("\"Say \\\"hi\\\"\""));
+        assertTrue(dot.contains("\"Две\\nстроки\""), "перевод строки должен экранироваться");
+        assertEquals(graph.getAllNodes(), parsed.getAllNodes());
+        assertTrue(parsed.hasEdge("Say \"hi\"", "C:\\dir"));
+        assertTrue(parsed.hasEdge("Две\nстроки", "C:\\new"));
+    }
+
+    @Test
+    void serializeCsrGraphEmitsEachEdgeOnce() {
+        SocialGraph<String> graph = new SocialGraph<>();
+        graph.addNode("A");
+        graph.addNode("B");
+        graph.addNode("C");
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+
+        String dot = GraphvizSerializer.serialize(graph.freeze());
+
+        assertEquals(2, Arrays.stream(dot.split("\\R")).filter(l -> l.contains("--")).count());
+    }
 }
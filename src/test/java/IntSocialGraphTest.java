@@ -0,0 +1,104 @@
+import com.example.socialgraph.GraphGenerator;
+import com.example.socialgraph.GraphvizDeserializer;
+import com.example.socialgraph.IntSocialGraph;
+import com.example.socialgraph.Node;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntSocialGraphTest {
+
+    private IntSocialGraph graph;
+    private final Node alice = new Node("1", "Alice");
+    private final Node bob = new Node("2", "Bob");
+    private final Node carol = new Node("3", "Carol");
+
+    @BeforeEach
+    public void setUp() {
+        graph = new IntSocialGraph();
+    }
+
+    @Test
+    void getOrAddIndex_shouldAssignDenseIndices() {
+        assertEquals(0, graph.getOrAddIndex(alice));
+        assertEquals(1, graph.getOrAddIndex(bob));
+        assertEquals(0, graph.getOrAddIndex(new Node("1", "Другое имя")));
+        assertEquals(2, graph.nodeCount());
+        assertSame(alice, graph.nodeAt(0));
+        assertEquals(-1, graph.indexOf(carol));
+    }
+
+    @Test
+    void addNode_shouldFollowGraphContract() {
+        assertTrue(graph.addNode(alice));
+        assertFalse(graph.addNode(alice));
+        assertFalse(graph.addNode(null));
+        assertEquals(Set.of(alice), graph.getAllNodes());
+    }
+
+    @Test
+    void addEdge_byIndex_shouldBeUndirected() {
+        int a = graph.getOrAddIndex(alice);
+        int b = graph.getOrAddIndex(bob);
+
+        assertTrue(graph.addEdge(a, b));
+        assertFalse(graph.addEdge(b, a));
+        assertFalse(graph.addEdge(a, a));
+        assertFalse(graph.addEdge(a, 42));
+
+        assertTrue(graph.hasEdge(a, b));
+        assertTrue(graph.hasEdge(b, a));
+        assertArrayEquals(new int[]{b}, graph.getConnections(a));
+        assertEquals(1, graph.edgeCount());
+    }
+
+    @Test
+    void addEdge_byNode_shouldMatchSocialGraphSemantics() {
+        graph.addNode(alice);
+        graph.addNode(bob);
+
+        assertTrue(graph.addEdge(alice, bob));
+        assertFalse(graph.addEdge(alice, carol));
+        assertFalse(graph.addEdge(null, bob));
+        assertEquals(Set.of(bob), graph.getConnections(alice));
+        assertTrue(graph.getConnections(carol).isEmpty());
+        assertTrue(graph.getConnections(null).isEmpty());
+    }
+
+    @Test
+    void adjacency_shouldGrowBeyondInitialCapacity() {
+        int hub = graph.getOrAddIndex(new Node("hub", "Hub"));
+        for (int i = 0; i < 1000; i++) {
+            int leaf = graph.getOrAddIndex(new Node("n" + i, "N" + i));
+            assertTrue(graph.addEdge(hub, leaf));
+        }
+
+        assertEquals(1000, graph.degree(hub));
+        assertEquals(1000, graph.getConnections(graph.nodeAt(hub)).size());
+        int[] neighbors = graph.getConnections(hub);
+        Arrays.sort(neighbors);
+        for (int i = 0; i < neighbors.length; i++) {
+            assertEquals(i + 1, neighbors[i]);
+        }
+    }
+
+    @Test
+    void shouldServeAsDeserializerAndGeneratorTarget() {
+        String dot = """
+                graph {
+                  "A";
+                  "B";
+                  "A" -- "B";
+                }
+                """;
+        IntSocialGraph parsed = GraphvizDeserializer.deserialize(dot, s -> new Node(s, s), new IntSocialGraph());
+        assertTrue(parsed.hasEdge(new Node("A", "A"), new Node("B", "B")));
+
+        IntSocialGraph generated = GraphGenerator.generateRandomGraph(10, 3, new IntSocialGraph());
+        assertEquals(10, generated.nodeCount());
+    }
+}
@@ -0,0 +1,127 @@
+import com.example.socialgraph.JournaledGraph;
+import com.example.socialgraph.Node;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledGraphTest {
+
+    @TempDir
+    Path dir;
+
+    private final Node alice = new Node("1", "Alice");
+    private final Node bob = new Node("2", "Bob");
+    private final Node carol = new Node("3", "Carol");
+
+    @Test
+    void changesShouldSurviveReopen() throws IOException {
+        Path snapshot = dir.resolve("graph.sgb");
+        Path log = dir.resolve("graph.log");
+
+        try (JournaledGraph graph = JournaledGraph.open(snapshot, log)) {
+            assertTrue(graph.addNode(alice));
+            assertTrue(graph.addNode(bob));
+            assertTrue(graph.addEdge(alice, bob));
+            assertFalse(graph.addEdge(bob, alice));
+            assertEquals(3, graph.pendingRecords());
+        }
+        assertFalse(Files.exists(snapshot));
+
+        try (JournaledGraph graph = JournaledGraph.open(snapshot, log)) {
+            assertEquals(Set.of(alice, bob), graph.getAllNodes());
+            assertTrue(graph.hasEdge(bob, alice));
+            Node restored = graph.getConnections(alice).iterator().next();
+            assertEquals("Bob", restored.getName());
+        }
+    }
+
+    @Test
+    void compactShouldMoveLogIntoSnapshot() throws IOException {
+        Path snapshot = dir.resolve("graph.sgb");
+        Path log = dir.resolve("graph.log");
+
+        try (JournaledGraph graph = JournaledGraph.open(snapshot, log)) {
+            graph.addNode(alice);
+            graph.addNode(bob);
+            graph.addEdge(alice, bob);
+            graph.compact();
+            assertEquals(0, graph.pendingRecords());
+            assertEquals(0, Files.size(log));
+
+            graph.addNode(carol);
+            graph.addEdge(carol, alice);
+        }
+
+        try (JournaledGraph graph = JournaledGraph.open(snapshot, log)) {
+            assertEquals(Set.of(alice, bob, carol), graph.getAllNodes());
+            assertEquals(Set.of(bob, carol), graph.getConnections(alice));
+            assertEquals(2, graph.pendingRecords());
+        }
+    }
+
+    @Test
+    void thresholdShouldTriggerCompaction() throws IOException {
+        Path snapshot = dir.resolve("graph.sgb");
+        Path log = dir.resolve("graph.log");
+
+        try (JournaledGraph graph = JournaledGraph.open(snapshot, log, 2)) {
+            graph.addNode(alice);
+            graph.addNode(bob);
+            assertTrue(Files.exists(snapshot));
+            assertEquals(0, graph.pendingRecords());
+        }
+    }
+
+    @Test
+    void failedLogWriteShouldLeaveGraphUnchanged() throws IOException {
+        Path snapshot = dir.resolve("graph.sgb");
+        Path log = dir.resolve("graph.log");
+
+        JournaledGraph graph = JournaledGraph.open(snapshot, log);
+        graph.addNode(alice);
+        graph.addNode(bob);
+        graph.close();
+
+        assertThrows(UncheckedIOException.class, () -> graph.addNode(carol));
+        assertThrows(UncheckedIOException.class, () -> graph.addEdge(alice, bob));
+        assertEquals(Set.of(alice, bob), graph.getAllNodes());
+        assertFalse(graph.hasEdge(alice, bob));
+        assertEquals(2, graph.pendingRecords());
+
+        // Операции, которые ничего не меняют, журнал не трогают
+        assertFalse(graph.addNode(alice));
+        assertFalse(graph.addEdge(alice, alice));
+        assertFalse(graph.addEdge(alice, carol));
+    }
+
+    @Test
+    void tornTailShouldBeDiscarded() throws IOException {
+        Path snapshot = dir.resolve("graph.sgb");
+        Path log = dir.resolve("graph.log");
+
+        try (JournaledGraph graph = JournaledGraph.open(snapshot, log)) {
+            graph.addNode(alice);
+            graph.addNode(bob);
+        }
+        long intact = Files.size(log);
+        Files.write(log, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        try (JournaledGraph graph = JournaledGraph.open(snapshot, log)) {
+            assertEquals(Set.of(alice, bob), graph.getAllNodes());
+            assertEquals(intact, Files.size(log));
+            graph.addEdge(alice, bob);
+        }
+
+        try (JournaledGraph graph = JournaledGraph.open(snapshot, log)) {
+            assertTrue(graph.hasEdge(alice, bob));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+import com.example.socialgraph.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedGraphTest {
+
+    @TempDir
+    Path dir;
+
+    private static SocialGraph<Node> sampleGraph() {
+        GraphBuilder<Node> builder = new GraphBuilder<>();
+        for (int i = 0; i < 300; i++) {
+            builder.addNode(new Node("id-" + i, "Имя " + i));
+        }
+        for (int i = 0; i < 300; i++) {
+            builder.addEdgeByIndex(i, (i + 1) % 300);
+            builder.addEdgeByIndex(i, (i * 11 + 4) % 300);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void openedGraphShouldAnswerLikeTheOriginal() throws IOException {
+        SocialGraph<Node> graph = sampleGraph();
+        Path file = dir.resolve("graph.sgm");
+        GraphFileWriter.writeMapped(graph, file);
+
+        MappedGraph mapped = GraphFileReader.openMapped(file);
+
+        assertEquals(300, mapped.nodeCount());
+        assertEquals(graph.getAllNodes(), mapped.getAllNodes());
+        for (Node node : graph.getAllNodes()) {
+            assertEquals(graph.getConnections(node), mapped.getConnections(node));
+            Node restored = mapped.nodeAt(mapped.indexOf(node));
+            assertEquals(node.getName(), restored.getName());
+        }
+        Node a = new Node("id-0", "");
+        assertTrue(mapped.hasEdge(a, new Node("id-1", "")));
+        assertFalse(mapped.hasEdge(a, new Node("id-2", "")));
+        assertTrue(mapped.getConnections(new Node("нет", "")).isEmpty());
+        assertEquals(-1, mapped.indexOf(null));
+    }
+
+    @Test
+    void mappedGraphShouldBeReadOnly() throws IOException {
+        Path file = dir.resolve("small.sgm");
+        SocialGraph<Node> graph = new SocialGraph<>();
+        Node alice = new Node("1", "Alice");
+        Node bob = new Node("2", "Bob");
+        graph.addNode(alice);
+        graph.addNode(bob);
+        graph.addEdge(alice, bob);
+        MappedGraph.write(graph, file);
+
+        MappedGraph mapped = MappedGraph.open(file);
+
+        assertEquals(Set.of(bob), mapped.getConnections(alice));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addNode(new Node("3", "Carol")));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addEdge(alice, bob));
+    }
+
+    @Test
+    void openShouldRejectForeignFiles() throws IOException {
+        Path file = dir.resolve("foreign.sgm");
+        Files.write(file, new byte[128]);
+
+        assertThrows(IOException.class, () -> MappedGraph.open(file));
+    }
+
+    @Test
+    void openShouldRejectTruncatedOrCorruptedFiles() throws IOException {
+        Path file = dir.resolve("graph.sgm");
+        MappedGraph.write(sampleGraph(), file);
+        byte[] original = Files.readAllBytes(file);
+
+        Path truncated = dir.resolve("truncated.sgm");
+        Files.write(truncated, Arrays.copyOf(original, original.length - 10));
+        assertThrows(StreamCorruptedException.class, () -> MappedGraph.open(truncated));
+
+        Path headerOnly = dir.resolve("header.sgm");
+        Files.write(headerOnly, Arrays.copyOf(original, 30));
+        assertThrows(StreamCorruptedException.class, () -> MappedGraph.open(headerOnly));
+
+        // Заголовок: магия (4), n (int), targetCount, offsetsPos, targetsPos, dictIndexPos, ... (long)
+        assertCorrupted(original, bytes -> bytes.putInt(4, -1));
+        assertCorrupted(original, bytes -> bytes.putLong(24, bytes.getLong(16)));
+        assertCorrupted(original, bytes -> bytes.putLong(8, bytes.getLong(8) + 1));
+        // offsets идут сразу за заголовком; offsets[1] больше offsets[2]
+        assertCorrupted(original, bytes -> bytes.putInt(64 + 4, 1_000));
+    }
+
+    private void assertCorrupted(byte[] original, Consumer<ByteBuffer> corruption) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(original.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        corruption.accept(bytes);
+        Path file = Files.createTempFile(dir, "corrupted", ".sgm");
+        Files.write(file, bytes.array());
+        assertThrows(StreamCorruptedException.class, () -> MappedGraph.open(file));
+    }
+}
@@ -0,0 +1,79 @@
+import com.example.socialgraph.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelBfsTest {
+
+    /** Расстояния обычным последовательным поиском в ширину. */
+    private static int[] plainDistances(CsrGraph<?> graph, int... seeds) {
+        int[] distances = new int[graph.nodeCount()];
+        Arrays.fill(distances, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int seed : seeds) {
+            if (distances[seed] < 0) {
+                distances[seed] = 0;
+                queue.add(seed);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int next : graph.neighbors(node)) {
+                if (distances[next] < 0) {
+                    distances[next] = distances[node] + 1;
+                    queue.add(next);
+                }
+            }
+        }
+        return distances;
+    }
+
+    @Test
+    void distancesShouldMatchPlainSearchInBothDirections() {
+        // Граф с хабами: широкие уровни включают шаги снизу вверх
+        CsrGraph<Node> graph = GraphGenerator.generateBarabasiAlbert(100_000, 4, 3L);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[] seeds = {0, 77_777};
+            assertArrayEquals(plainDistances(graph, seeds), ParallelBfs.distances(graph, seeds, pool));
+
+            // Кольцо: узкая граница, только шаги сверху вниз
+            CsrGraph<Node> ring = GraphGenerator.generateWattsStrogatz(10_000, 2, 0.0, 1L);
+            assertArrayEquals(plainDistances(ring, 5), ParallelBfs.distances(ring, new int[]{5}, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void histogramShouldCountNodesAtEachHop() {
+        SocialGraph<String> graph = new SocialGraph<>();
+        for (String node : List.of("A", "B", "C", "D", "E", "X")) {
+            graph.addNode(node);
+        }
+        graph.addEdge("A", "B");
+        graph.addEdge("A", "C");
+        graph.addEdge("B", "D");
+        graph.addEdge("C", "D");
+        graph.addEdge("D", "E");
+
+        assertArrayEquals(new long[]{1, 2, 1, 1}, ParallelBfs.hopHistogram(graph, List.of("A")));
+        assertArrayEquals(new long[]{2, 2, 1}, ParallelBfs.hopHistogram(graph, List.of("B", "C", "missing")));
+        assertArrayEquals(new long[0], ParallelBfs.hopHistogram(graph, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> ParallelBfs.hopHistogram(graph, null));
+    }
+
+    @Test
+    void histogramShouldCoverWholeConnectedGraph() {
+        CsrGraph<Node> graph = GraphGenerator.generateBarabasiAlbert(50_000, 3, 9L);
+
+        long[] histogram = ParallelBfs.hopHistogram(graph, List.of(graph.nodeAt(123)));
+
+        assertEquals(50_000, Arrays.stream(histogram).sum());
+        int[] expected = plainDistances(graph, 123);
+        assertEquals(Arrays.stream(expected).max().orElse(0) + 1, histogram.length);
+    }
+}
@@ -0,0 +1,75 @@
+import com.example.socialgraph.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingGraphGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    private static long edgeCount(Graph<Node> graph) {
+        long degrees = 0;
+        for (Node node : graph.getAllNodes()) {
+            degrees += graph.getConnections(node).size();
+        }
+        return degrees / 2;
+    }
+
+    @Test
+    void binaryFileShouldBeReadableAndReproducible() throws IOException {
+        Path first = dir.resolve("first.sgb");
+        Path second = dir.resolve("second.sgb");
+
+        long edges = StreamingGraphGenerator.writeBinary(20_000, 8, 42L, first);
+        StreamingGraphGenerator.writeBinary(20_000, 8, 42L, second);
+
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+        // Ожидается 20 000 * 8 / 2 = 80 000 ребер
+        assertTrue(Math.abs(edges - 80_000) < 2_000, "ребер: " + edges);
+
+        SocialGraph<Node> graph = GraphFileReader.readBinary(first);
+        assertEquals(20_000, graph.getAllNodes().size());
+        assertEquals(edges, edgeCount(graph));
+    }
+
+    @Test
+    void dotAndEdgeListShouldDescribeSameGraph() throws IOException {
+        Path dot = dir.resolve("graph.dot");
+        Path edgeList = dir.resolve("graph.txt");
+
+        long dotEdges = StreamingGraphGenerator.writeDot(500, 4, 7L, dot);
+        long listEdges = StreamingGraphGenerator.writeEdgeList(500, 4, 7L, edgeList);
+        assertEquals(dotEdges, listEdges);
+
+        SocialGraph<Node> graph = GraphFileReader.readLabeledDotFile(dot);
+        assertEquals(500, graph.getAllNodes().size());
+        assertEquals(dotEdges, edgeCount(graph));
+
+        List<String> lines = Files.readAllLines(edgeList);
+        assertEquals(listEdges, lines.size());
+        for (String line : lines) {
+            String[] ends = line.split(" ");
+            int from = Integer.parseInt(ends[0]);
+            int to = Integer.parseInt(ends[1]);
+            assertTrue(from < to);
+            Node node = new Node(ends[0], "");
+            assertTrue(graph.getConnections(node).contains(new Node(ends[1], "")));
+        }
+    }
+
+    @Test
+    void completeGraphShouldContainEveryPair() throws IOException {
+        Path path = dir.resolve("complete.txt");
+
+        assertEquals(45, StreamingGraphGenerator.writeEdgeList(10, 9, 1L, path));
+        assertThrows(IllegalArgumentException.class, () -> StreamingGraphGenerator.writeEdgeList(10, 10, 1L, path));
+        assertThrows(IllegalArgumentException.class, () -> StreamingGraphGenerator.writeDot(0, 1, 1L, path));
+    }
+}
@@ -0,0 +1,75 @@
+import com.example.socialgraph.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TriangleCounterTest {
+
+    @Test
+    void shouldCountTrianglesAndCoefficientsOnSmallGraph() {
+        // Треугольник A-B-C, к которому C присоединяет висячий узел D
+        SocialGraph<String> graph = new SocialGraph<>();
+        for (String node : List.of("A", "B", "C", "D")) {
+            graph.addNode(node);
+        }
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "A");
+        graph.addEdge("C", "D");
+
+        TriangleCounter.Result<String> result = TriangleCounter.count(graph);
+
+        assertEquals(1, result.triangleCount());
+        assertEquals(1, result.triangles("A"));
+        assertEquals(1, result.triangles("C"));
+        assertEquals(0, result.triangles("D"));
+        assertEquals(1.0, result.clusteringCoefficient("A"));
+        assertEquals(1.0 / 3, result.clusteringCoefficient("C"), 1e-12);
+        assertEquals(0.0, result.clusteringCoefficient("D"));
+        assertEquals((1 + 1 + 1.0 / 3) / 4, result.averageClustering(), 1e-12);
+        // 3 треугольника-вершины из 5 путей длины 2 (по одному у A и B, три у C)
+        assertEquals(3.0 / 5, result.transitivity(), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> TriangleCounter.count(null));
+    }
+
+    @Test
+    void completeGraphShouldHaveUnitClustering() {
+        CsrGraph<Node> complete = GraphGenerator.generateStochasticBlockModel(new int[]{12}, new double[][]{{1.0}}, 1L);
+
+        TriangleCounter.Result<Node> result = TriangleCounter.count(complete);
+
+        assertEquals(12L * 11 * 10 / 6, result.triangleCount());
+        assertEquals(1.0, result.transitivity(), 1e-12);
+        assertEquals(1.0, result.averageClustering(), 1e-12);
+    }
+
+    @Test
+    void shouldMatchBruteForceOnGraphWithHubs() {
+        CsrGraph<Node> graph = GraphGenerator.generateBarabasiAlbert(4_000, 6, 2L);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        TriangleCounter.Result<Node> result;
+        try {
+            result = TriangleCounter.count(graph, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        long[] perNode = result.trianglesByIndex();
+        long sum = 0;
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            int[] neighbors = graph.neighbors(v);
+            long expected = 0;
+            for (int i = 0; i < neighbors.length; i++) {
+                for (int j = i + 1; j < neighbors.length; j++) {
+                    if (graph.hasEdgeByIndex(neighbors[i], neighbors[j])) expected++;
+                }
+            }
+            assertEquals(expected, perNode[v], "узел " + v);
+            sum += expected;
+        }
+        assertEquals(sum / 3, result.triangleCount());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.socialgraph.vizual;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Сетка пакетная, поэтому тест лежит в ее пакете
+class EdgeGridTest {
+
+    @Test
+    void farViewportShouldNotVisitEdges() {
+        EdgeGrid grid = new EdgeGrid(256);
+        // 100 000 коротких ребер в квадрате 0..10 000
+        int id = 0;
+        for (int x = 0; x < 10_000; x += 32) {
+            for (int y = 0; y < 10_000; y += 32) {
+                grid.add(id++, x, y, x + 20, y + 10);
+            }
+        }
+        int[] visited = {0};
+
+        grid.candidates(new Rectangle(50_000, 50_000, 800, 600), edge -> visited[0]++);
+        assertEquals(0, visited[0]);
+
+        grid.candidates(new Rectangle(5_000, 5_000, 400, 300), edge -> visited[0]++);
+        assertTrue(visited[0] > 0);
+        assertTrue(visited[0] < id / 50, "просматриваются только ребра ячеек видимой области: " + visited[0]);
+    }
+
+    @Test
+    void candidatesShouldIncludeCrossingSegmentsOnce() {
+        EdgeGrid grid = new EdgeGrid(100);
+        grid.add(0, -5_000, 50, 5_000, 60);     // горизонтальное, концы далеко за областью
+        grid.add(1, -3_000, -3_000, 3_000, 3_000); // диагональное через область
+        grid.add(2, 40, -5_000, 40, 5_000);      // вертикальное
+        grid.add(3, 2_000, 2_000, 2_100, 2_100); // в стороне
+
+        List<Integer> found = new ArrayList<>();
+        grid.candidates(new Rectangle(0, 0, 100, 100), found::add);
+
+        assertEquals(List.of(0, 1, 2), found.stream().sorted().toList());
+    }
+}